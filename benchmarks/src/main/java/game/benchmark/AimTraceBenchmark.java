@@ -0,0 +1,358 @@
+package game.benchmark;
+
+import game.controller.AimFilter;
+import game.controller.InputEvent;
+import game.replay.InputLogReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import motej.event.CoreButtonEvent;
+
+public class AimTraceBenchmark {
+
+    private static final int REPORT_INTERVAL = 10;
+    private static final int CYCLES = 6;
+    private static final int REST_TIME = 8000;
+    private static final int MOTION_TIME = 6000;
+    private static final int RECENTER_TIME = 1000;
+
+    private static final double ROLL_AMPLITUDE = 15;
+    private static final double PITCH_AMPLITUDE = 8;
+    private static final double ROLL_FREQUENCY = 0.5;
+    private static final double PITCH_FREQUENCY = 1.0 / 3;
+
+    private static final double ROLL_BIAS = 1.5;
+    private static final double PITCH_BIAS = -1;
+    private static final double RATE_NOISE = 0.8;
+    private static final double ACCELERATION_NOISE = 20;
+    private static final double ACCELERATION_STEP = AimFilter.ONE_G / 26.0;
+    private static final double HAND_ACCELERATION = 150;
+
+    private static final int SETTLE_REPORTS = 50;
+
+    private static final int ITERATIONS = 50;
+
+    private final String name;
+
+    private int size;
+    private int[] types = new int[1024];
+    private long[] times = new long[1024];
+    private double[] values = new double[3 * 1024];
+    private boolean[] rest = new boolean[1024];
+    private double[] truth = null;
+
+    private double roll;
+    private double pitch;
+    private long lastMotionTime;
+    private boolean buttonDown;
+
+    private double drift;
+    private double jitter;
+    private double rmsError;
+    private double lag;
+
+    public AimTraceBenchmark(String name) {
+        this.name = name;
+    }
+
+    private void add(InputEvent event) {
+        switch (event.getType()) {
+        case InputEvent.MOTION_PLUS:
+            add(event.getType(), event.getTime(), event.getRollSpeed(),
+                    event.getPitchSpeed(), event.getYawSpeed());
+            break;
+        case InputEvent.NUNCHUK_ACCELEROMETER:
+        case InputEvent.REMOTE_ACCELEROMETER:
+            add(event.getType(), event.getTime(), event.getX(), event.getY(),
+                    event.getZ());
+            break;
+        default:
+            add(event.getType(), event.getTime(), event.getButtons(), 0, 0);
+            break;
+        }
+    }
+
+    private void add(int type, long time, double a, double b, double c) {
+        if (size == types.length) {
+            int capacity = 2 * size;
+            types = Arrays.copyOf(types, capacity);
+            times = Arrays.copyOf(times, capacity);
+            values = Arrays.copyOf(values, 3 * capacity);
+            rest = Arrays.copyOf(rest, capacity);
+            if (truth != null) {
+                truth = Arrays.copyOf(truth, 4 * capacity);
+            }
+        }
+        types[size] = type;
+        times[size] = time;
+        values[3 * size] = a;
+        values[3 * size + 1] = b;
+        values[3 * size + 2] = c;
+        size++;
+    }
+
+    private void load(File file) throws IOException {
+        InputLogReader reader = new InputLogReader(file);
+        while (reader.next()) {
+            if (reader.isEvent() && reader.getPlayer() == 0) {
+                add(reader.getEvent());
+            }
+        }
+
+        AimFilter filter = new AimFilter();
+        for (int i = 0; i < size; i++) {
+            update(filter, i);
+            rest[i] = filter.isAtRest();
+        }
+    }
+
+    private void generate() {
+        Random random = new Random(1);
+        truth = new double[4 * types.length];
+
+        int duration = CYCLES * (REST_TIME + MOTION_TIME);
+        for (int time = 0; time <= duration; time += REPORT_INTERVAL) {
+            int cycleTime = time % (REST_TIME + MOTION_TIME);
+            boolean moving = cycleTime >= REST_TIME;
+            double t = moving ? (cycleTime - REST_TIME) / 1000.0 : 0;
+
+            double trueRoll = ROLL_AMPLITUDE
+                    * Math.sin(2 * Math.PI * ROLL_FREQUENCY * t);
+            double truePitch = PITCH_AMPLITUDE
+                    * Math.sin(2 * Math.PI * PITCH_FREQUENCY * t);
+            double rollRate = moving ? ROLL_AMPLITUDE * 2 * Math.PI
+                    * ROLL_FREQUENCY
+                    * Math.cos(2 * Math.PI * ROLL_FREQUENCY * t) : 0;
+            double pitchRate = moving ? PITCH_AMPLITUDE * 2 * Math.PI
+                    * PITCH_FREQUENCY
+                    * Math.cos(2 * Math.PI * PITCH_FREQUENCY * t) : 0;
+
+            if (time == RECENTER_TIME || time == RECENTER_TIME + 100) {
+                add(InputEvent.CORE_BUTTONS, time,
+                        time == RECENTER_TIME ? CoreButtonEvent.BUTTON_A : 0,
+                        0, 0);
+                setTruth(size - 1, trueRoll, truePitch, rollRate, pitchRate,
+                        !moving);
+            }
+
+            add(InputEvent.MOTION_PLUS, time, rollRate + ROLL_BIAS
+                    + random.nextGaussian() * RATE_NOISE, pitchRate
+                    + PITCH_BIAS + random.nextGaussian() * RATE_NOISE, 0);
+            setTruth(size - 1, trueRoll, truePitch, rollRate, pitchRate,
+                    !moving);
+
+            double r = Math.toRadians(trueRoll);
+            double p = Math.toRadians(truePitch);
+            double hand = moving ? HAND_ACCELERATION
+                    * Math.sin(2 * Math.PI * 1.1 * t) : 0;
+            add(InputEvent.REMOTE_ACCELEROMETER, time,
+                    quantize(-Math.sin(r) * Math.cos(p) * AimFilter.ONE_G
+                            + hand + random.nextGaussian()
+                            * ACCELERATION_NOISE),
+                    quantize(-Math.sin(p) * AimFilter.ONE_G
+                            + random.nextGaussian() * ACCELERATION_NOISE),
+                    quantize(Math.cos(r) * Math.cos(p) * AimFilter.ONE_G
+                            + random.nextGaussian() * ACCELERATION_NOISE));
+            setTruth(size - 1, trueRoll, truePitch, rollRate, pitchRate,
+                    !moving);
+        }
+    }
+
+    private void setTruth(int i, double trueRoll, double truePitch,
+            double rollRate, double pitchRate, boolean atRest) {
+        truth[4 * i] = trueRoll;
+        truth[4 * i + 1] = truePitch;
+        truth[4 * i + 2] = rollRate;
+        truth[4 * i + 3] = pitchRate;
+        rest[i] = atRest;
+    }
+
+    private static int quantize(double value) {
+        return (int) (Math.round(value / ACCELERATION_STEP)
+                * ACCELERATION_STEP);
+    }
+
+    private void update(AimFilter filter, int i) {
+        switch (types[i]) {
+        case InputEvent.CORE_BUTTONS:
+            int buttons = (int) values[3 * i];
+            boolean down = (buttons & CoreButtonEvent.BUTTON_A) != 0;
+            if (down && !buttonDown) {
+                if (filter != null) {
+                    filter.recenter();
+                } else {
+                    roll = 0;
+                    pitch = 0;
+                }
+            }
+            buttonDown = down;
+            break;
+        case InputEvent.MOTION_PLUS:
+            if (filter != null) {
+                filter.updateRates(times[i], values[3 * i], values[3 * i + 1]);
+            } else {
+                integrate(i);
+            }
+            break;
+        case InputEvent.REMOTE_ACCELEROMETER:
+            if (filter != null) {
+                filter.updateGravity((int) values[3 * i],
+                        (int) values[3 * i + 1], (int) values[3 * i + 2]);
+            }
+            break;
+        default:
+            break;
+        }
+    }
+
+    private void integrate(int i) {
+        if (lastMotionTime >= 0) {
+            double duration = (double) (times[i] - lastMotionTime) / 1000;
+            roll += values[3 * i] * duration;
+            pitch += values[3 * i + 1] * duration;
+        }
+        lastMotionTime = times[i];
+    }
+
+    private void evaluate(boolean fused, boolean gravity) {
+        AimFilter filter = fused ? new AimFilter() : null;
+        if (fused) {
+            filter.setGravityFusion(gravity);
+        }
+        roll = 0;
+        pitch = 0;
+        lastMotionTime = -1;
+        buttonDown = false;
+
+        double truthRoll = 0;
+        double truthPitch = 0;
+        double restStartRoll = 0;
+        double restStartPitch = 0;
+        long restStart = -1;
+        double driftSum = 0;
+        double driftTime = 0;
+        double prevRoll = 0;
+        double prevPitch = 0;
+        double prevRollDelta = 0;
+        double prevPitchDelta = 0;
+        int restSamples = 0;
+        double jitterSum = 0;
+        int jitterCount = 0;
+        double errorSum = 0;
+        int errorCount = 0;
+        double lagSum = 0;
+        double speedSum = 0;
+
+        for (int i = 0; i < size; i++) {
+            update(filter, i);
+            if (types[i] == InputEvent.CORE_BUTTONS && buttonDown) {
+                restSamples = 0;
+                if (truth != null) {
+                    truthRoll = truth[4 * i];
+                    truthPitch = truth[4 * i + 1];
+                }
+            }
+            if (types[i] != InputEvent.MOTION_PLUS) {
+                continue;
+            }
+
+            double aimRoll = fused ? filter.getRoll() : roll;
+            double aimPitch = fused ? filter.getPitch() : pitch;
+            double rollDelta = aimRoll - prevRoll;
+            double pitchDelta = aimPitch - prevPitch;
+            restSamples = rest[i] ? restSamples + 1 : 0;
+            if (restSamples > SETTLE_REPORTS) {
+                jitterSum += square(rollDelta - prevRollDelta)
+                        + square(pitchDelta - prevPitchDelta);
+                jitterCount++;
+            }
+            if (rest[i] && restStart < 0) {
+                restStart = times[i];
+                restStartRoll = aimRoll;
+                restStartPitch = aimPitch;
+            } else if (!rest[i] && restStart >= 0) {
+                driftSum += Math.sqrt(square(prevRoll - restStartRoll)
+                        + square(prevPitch - restStartPitch));
+                driftTime += (double) (times[i] - restStart) / 1000;
+                restStart = -1;
+            }
+
+            if (truth != null && times[i] >= RECENTER_TIME) {
+                double rollError = truth[4 * i] - truthRoll - aimRoll;
+                double pitchError = truth[4 * i + 1] - truthPitch - aimPitch;
+                errorSum += square(rollError) + square(pitchError);
+                errorCount++;
+                if (!rest[i]) {
+                    lagSum += rollError * truth[4 * i + 2] + pitchError
+                            * truth[4 * i + 3];
+                    speedSum += square(truth[4 * i + 2])
+                            + square(truth[4 * i + 3]);
+                }
+            }
+
+            prevRoll = aimRoll;
+            prevPitch = aimPitch;
+            prevRollDelta = rollDelta;
+            prevPitchDelta = pitchDelta;
+        }
+
+        drift = driftTime > 0 ? driftSum / driftTime : 0;
+        jitter = jitterCount > 0 ? Math.sqrt(jitterSum / (6 * jitterCount))
+                : 0;
+        rmsError = errorCount > 0 ? Math.sqrt(errorSum / errorCount)
+                : Double.NaN;
+        lag = speedSum > 0 ? 1000 * lagSum / speedSum : Double.NaN;
+    }
+
+    private static double square(double value) {
+        return value * value;
+    }
+
+    private void run() {
+        int reports = 0;
+        for (int i = 0; i < size; i++) {
+            if (types[i] == InputEvent.MOTION_PLUS
+                    || types[i] == InputEvent.REMOTE_ACCELEROMETER) {
+                reports++;
+            }
+        }
+        System.out.printf("trace=%s events=%d duration=%.1fs%n", name, size,
+                size > 0 ? (times[size - 1] - times[0]) / 1000.0 : 0.0);
+        measure("integration", false, false, reports);
+        measure("fused", true, false, reports);
+        measure("gravity", true, true, reports);
+    }
+
+    private void measure(String label, boolean fused, boolean gravity,
+            int reports) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            evaluate(fused, gravity);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            evaluate(fused, gravity);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("  %-12s drift=%.3f deg/s jitter=%.4f deg"
+                + " rmsError=%.3f deg lag=%.1f ms cost=%.1f ns/report%n",
+                label, drift, jitter, rmsError, lag, (double) elapsed
+                        / ITERATIONS / Math.max(reports, 1));
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            AimTraceBenchmark benchmark = new AimTraceBenchmark("synthetic");
+            benchmark.generate();
+            benchmark.run();
+        }
+        for (String arg : args) {
+            AimTraceBenchmark benchmark = new AimTraceBenchmark(arg);
+            benchmark.load(new File(arg));
+            benchmark.run();
+        }
+    }
+}
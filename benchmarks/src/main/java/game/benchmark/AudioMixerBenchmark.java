@@ -0,0 +1,173 @@
+package game.benchmark;
+
+import game.Game;
+import game.audio.AudioMixer;
+import game.audio.Sound;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+import com.jme3.asset.AssetManager;
+import com.jme3.audio.AudioKey;
+import com.jme3.audio.AudioNode;
+import com.jme3.system.JmeSystem;
+
+public class AudioMixerBenchmark {
+
+    private static final float TIME_PER_FRAME = 1f / 60;
+    private static final long FRAME_NANOS = (long) (TIME_PER_FRAME * 1e9);
+
+    private static final float SHOTS_PER_SECOND = 3;
+    private static final float HIT_CHANCE = 0.7f;
+    private static final float TARGET_TIME = 0.5f;
+    private static final float BURST_TIME = 2;
+    private static final int BURST_HITS = 24;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory
+                    .getThreadMXBean();
+
+    private interface Player {
+        void play(Sound sound);
+
+        void endFrame();
+    }
+
+    static class Result {
+        private int requests;
+        private long renderThreadBytes;
+    }
+
+    static AssetManager newAssetManager() {
+        return JmeSystem.newAssetManager(Thread.currentThread()
+                .getContextClassLoader()
+                .getResource("com/jme3/asset/Desktop.cfg"));
+    }
+
+    static Result runDirect(AssetManager assetManager,
+            final SourceCountingAudioRenderer renderer, float seconds)
+            throws InterruptedException {
+        final Map<Sound, AudioNode> nodes = new EnumMap<Sound, AudioNode>(
+                Sound.class);
+        for (Sound sound : Sound.values()) {
+            AudioKey key = new AudioKey(sound.getPath(), false);
+            AudioNode node = new AudioNode(assetManager.loadAudio(key), key);
+            node.setPositional(false);
+            nodes.put(sound, node);
+        }
+        return run(new Player() {
+            @Override
+            public void play(Sound sound) {
+                renderer.playSourceInstance(nodes.get(sound));
+            }
+
+            @Override
+            public void endFrame() {
+            }
+        }, renderer, seconds);
+    }
+
+    static Result runMixer(final AudioMixer mixer,
+            SourceCountingAudioRenderer renderer, float seconds)
+            throws InterruptedException {
+        mixer.initialize(null, null);
+        try {
+            return run(new Player() {
+                @Override
+                public void play(Sound sound) {
+                    mixer.play(sound);
+                }
+
+                @Override
+                public void endFrame() {
+                    mixer.update(TIME_PER_FRAME);
+                }
+            }, renderer, seconds);
+        } finally {
+            mixer.cleanup();
+        }
+    }
+
+    private static Result run(Player player,
+            SourceCountingAudioRenderer renderer, float seconds)
+            throws InterruptedException {
+        Random random = new Random(1);
+        Result result = new Result();
+        int frames = (int) (seconds / TIME_PER_FRAME);
+        float shotChance = SHOTS_PER_SECOND * TIME_PER_FRAME;
+        int targetFrames = (int) (TARGET_TIME / TIME_PER_FRAME);
+        int burstFrames = (int) (BURST_TIME / TIME_PER_FRAME);
+        int countdownFrames = (int) (1 / TIME_PER_FRAME);
+
+        long thread = Thread.currentThread().getId();
+        long next = System.nanoTime();
+        for (int frame = 0; frame < frames; frame++) {
+            long allocated = THREADS.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < Game.MAX_PLAYERS; i++) {
+                if (random.nextFloat() < shotChance) {
+                    player.play(Sound.SHOOT);
+                    result.requests++;
+                    if (random.nextFloat() < HIT_CHANCE) {
+                        player.play(Sound.HIT);
+                        result.requests++;
+                    }
+                }
+            }
+            if (frame % burstFrames < BURST_HITS) {
+                player.play(Sound.SHOOT);
+                player.play(Sound.HIT);
+                player.play(Sound.TARGET);
+                result.requests += 3;
+            }
+            if (frame % targetFrames == 0) {
+                player.play(Sound.TARGET);
+                result.requests++;
+            }
+            if (frame % countdownFrames == 0) {
+                player.play(Sound.GAME_COUNTDOWN);
+                result.requests++;
+            }
+            player.endFrame();
+            result.renderThreadBytes += THREADS
+                    .getThreadAllocatedBytes(thread) - allocated;
+
+            renderer.update(TIME_PER_FRAME);
+            next += FRAME_NANOS;
+            long sleep = next - System.nanoTime();
+            if (sleep > 0) {
+                Thread.sleep(sleep / 1000000, (int) (sleep % 1000000));
+            }
+        }
+        return result;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        float seconds = args.length > 0 ? Float.parseFloat(args[0]) : 10;
+
+        AssetManager assetManager = newAssetManager();
+
+        SourceCountingAudioRenderer directRenderer =
+                new SourceCountingAudioRenderer();
+        Result direct = runDirect(assetManager, directRenderer, seconds);
+
+        SourceCountingAudioRenderer mixerRenderer =
+                new SourceCountingAudioRenderer();
+        AudioMixer mixer = new AudioMixer(assetManager, mixerRenderer);
+        Result mixed = runMixer(mixer, mixerRenderer, seconds);
+
+        System.out.printf("playInstance requests=%d peakSources=%d "
+                + "overLimit=%d renderThreadBytes=%d%n", direct.requests,
+                directRenderer.getPeak(), directRenderer.getExhausted(),
+                direct.renderThreadBytes);
+        System.out.printf("mixer        requests=%d peakSources=%d "
+                + "overLimit=%d renderThreadBytes=%d voices=%d%n",
+                mixed.requests, mixerRenderer.getPeak(),
+                mixerRenderer.getExhausted(), mixed.renderThreadBytes,
+                mixer.getVoices());
+        System.out.printf("mixer        played=%d coalesced=%d stolen=%d "
+                + "dropped=%d%n", mixer.getPlayed(), mixer.getCoalesced(),
+                mixer.getStolen(), mixer.getDropped());
+    }
+}
@@ -0,0 +1,171 @@
+package game.benchmark;
+
+import game.Game;
+import game.controller.GameController;
+import game.controller.InputSource;
+import game.target.DebrisPool;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+import com.jme3.app.state.AbstractAppState;
+import com.jme3.audio.Listener;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import com.jme3.system.AppSettings;
+import com.jme3.system.JmeContext;
+
+public class DebrisSoakBenchmark extends AbstractAppState {
+
+    private static final float TIME_PER_FRAME = 1f / 60;
+    private static final int UNLIMITED_FRAME_RATE = 1000000;
+
+    private static final int SAMPLES = 10;
+    private static final float FIELD_X = 30;
+    private static final float FIELD_Y = 15;
+    private static final float FIELD_Z = 80;
+
+    private final Game game;
+    private final int hits;
+    private final float hitsPerFrame;
+
+    private final Random random = new Random(1);
+    private final Vector3f location = new Vector3f();
+    private BufferPoolMXBean directPool;
+
+    private float pending;
+    private int emitted;
+    private int sampled;
+
+    private int firstSpatials;
+    private long firstHeap;
+    private long firstDirect;
+    private int maxSpatials;
+    private long maxHeap;
+    private long maxDirect;
+
+    public DebrisSoakBenchmark(Game game, int hits, float hitsPerSecond) {
+        this.game = game;
+        this.hits = hits;
+        this.hitsPerFrame = hitsPerSecond * TIME_PER_FRAME;
+
+        for (BufferPoolMXBean pool : ManagementFactory
+                .getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if (pool.getName().equals("direct")) {
+                directPool = pool;
+            }
+        }
+    }
+
+    @Override
+    public void update(float tpf) {
+        DebrisPool pool = game.getDebrisPool();
+        pending += hitsPerFrame;
+        while (pending >= 1 && emitted < hits) {
+            pending--;
+            location.set((random.nextFloat() * 2 - 1) * FIELD_X,
+                    random.nextFloat() * FIELD_Y, -random.nextFloat()
+                            * FIELD_Z);
+            pool.emit(location);
+            emitted++;
+            if (emitted % (hits / SAMPLES) == 0) {
+                sample(pool);
+            }
+        }
+        if (emitted == hits) {
+            report(pool);
+            game.stop();
+        }
+    }
+
+    private void sample(DebrisPool pool) {
+        int spatials = countSpatials(game.getRootNode());
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        long heap = runtime.totalMemory() - runtime.freeMemory();
+        long direct = directPool != null ? directPool.getMemoryUsed() : 0;
+        if (sampled == 0) {
+            firstSpatials = spatials;
+            firstHeap = heap;
+            firstDirect = direct;
+        }
+        maxSpatials = Math.max(maxSpatials, spatials);
+        maxHeap = Math.max(maxHeap, heap);
+        maxDirect = Math.max(maxDirect, direct);
+        sampled++;
+        System.out.printf("hits=%6d spatials=%4d heap=%7.2fMB "
+                + "direct=%7.2fMB free=%2d steals=%d%n", emitted, spatials,
+                heap / 1e6, direct / 1e6, pool.getFree(), pool.getSteals());
+    }
+
+    private void report(DebrisPool pool) {
+        System.out.printf("emitters=%d bursts=%d steals=%d%n",
+                pool.getSize(), pool.getBursts(), pool.getSteals());
+        System.out.printf("growth: spatials=%d heap=%.2fMB direct=%.2fMB%n",
+                maxSpatials - firstSpatials, (maxHeap - firstHeap) / 1e6,
+                (maxDirect - firstDirect) / 1e6);
+    }
+
+    private static int countSpatials(Spatial spatial) {
+        int count = 1;
+        if (spatial instanceof Node) {
+            List<Spatial> children = ((Node) spatial).getChildren();
+            for (int i = 0; i < children.size(); i++) {
+                count += countSpatials(children.get(i));
+            }
+        }
+        return count;
+    }
+
+    public static void main(String[] args) {
+        int hits = 10000;
+        float hitsPerSecond = 10;
+        if (args.length > 0) {
+            hits = Integer.parseInt(args[0]);
+        }
+        if (args.length > 1) {
+            hitsPerSecond = Float.parseFloat(args[1]);
+        }
+
+        final Game game = new Game() {
+            @Override
+            public void simpleInitApp() {
+                audioRenderer = new NullAudioRenderer();
+                listener = new Listener();
+                super.simpleInitApp();
+            }
+        };
+
+        AppSettings settings = new AppSettings(true);
+        settings.setResolution(1280, 720);
+        settings.setVSync(false);
+        settings.setFrameRate(UNLIMITED_FRAME_RATE);
+        settings.setAudioRenderer(null);
+
+        final DebrisSoakBenchmark benchmark = new DebrisSoakBenchmark(game,
+                hits, hitsPerSecond);
+
+        game.setSettings(settings);
+        game.setShowSettings(false);
+        game.setDisplayFps(false);
+        game.setDisplayStatView(false);
+        game.setTimer(new FixedStepTimer(TIME_PER_FRAME));
+        game.setInputSource(new InputSource() {
+            @Override
+            public void feed(long tick, GameController controller) {
+            }
+        });
+        game.enqueue(new Callable<Void>() {
+            @Override
+            public Void call() {
+                game.getStateManager().attach(benchmark);
+                return null;
+            }
+        });
+        game.start(JmeContext.Type.Headless);
+    }
+}
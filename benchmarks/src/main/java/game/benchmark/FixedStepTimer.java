@@ -0,0 +1,48 @@
+package game.benchmark;
+
+import com.jme3.system.Timer;
+
+public class FixedStepTimer extends Timer {
+
+    private static final long RESOLUTION = 1000000000L;
+
+    private final float timePerFrame;
+    private final long ticksPerFrame;
+
+    private long time;
+
+    public FixedStepTimer(float timePerFrame) {
+        this.timePerFrame = timePerFrame;
+        this.ticksPerFrame = (long) (timePerFrame * RESOLUTION);
+    }
+
+    @Override
+    public long getTime() {
+        return time;
+    }
+
+    @Override
+    public long getResolution() {
+        return RESOLUTION;
+    }
+
+    @Override
+    public float getFrameRate() {
+        return 1 / timePerFrame;
+    }
+
+    @Override
+    public float getTimePerFrame() {
+        return timePerFrame;
+    }
+
+    @Override
+    public void update() {
+        time += ticksPerFrame;
+    }
+
+    @Override
+    public void reset() {
+        time = 0;
+    }
+}
@@ -0,0 +1,333 @@
+package game.benchmark;
+
+import game.Game;
+import game.state.GameRunningState;
+import game.state.ScoreScreenState;
+import game.state.StartScreenState;
+import game.target.TargetRendering;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+
+import com.jme3.app.Application;
+import com.jme3.app.state.AbstractAppState;
+import com.jme3.app.state.AppState;
+import com.jme3.app.state.AppStateManager;
+import com.jme3.audio.Listener;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import com.jme3.system.AppSettings;
+import com.jme3.system.JmeContext;
+import com.sun.management.GarbageCollectorMXBean;
+import com.sun.management.GcInfo;
+
+public class GameBenchmark extends AbstractAppState {
+
+    private static final float TIME_PER_FRAME = 1f / 60;
+    private static final int UNLIMITED_FRAME_RATE = 1000000;
+    private static final int TRANSITION_FRAMES = 2;
+
+    private final Game game;
+    private final int cycles;
+    private final String output;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory
+                    .getThreadMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory
+            .getPlatformMXBeans(GarbageCollectorMXBean.class);
+    private BufferPoolMXBean directPool;
+
+    private AppStateManager stateManager;
+    private SyntheticController controller;
+
+    private long[] frameTimes = new long[16384];
+    private int frames;
+    private long lastFrameTime;
+
+    private long startTime;
+    private long startAllocated;
+    private long startGcCount;
+    private long startGcTime;
+    private long lastGcCount;
+    private long maxGcPause;
+    private long peakDirectMemory;
+    private int peakFloorTileLights;
+
+    private long lastAllocated;
+    private AppState lastScreen;
+    private int transitionFrames;
+    private int transitions;
+    private long transitionAllocated;
+
+    private boolean scoring;
+    private int completed;
+    private int[] rootNodeCounts;
+    private int[] guiNodeCounts;
+
+    public GameBenchmark(Game game, int cycles, String output) {
+        this.game = game;
+        this.cycles = cycles;
+        this.output = output;
+        this.rootNodeCounts = new int[cycles];
+        this.guiNodeCounts = new int[cycles];
+
+        for (BufferPoolMXBean pool : ManagementFactory
+                .getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if (pool.getName().equals("direct")) {
+                directPool = pool;
+            }
+        }
+    }
+
+    public void setController(SyntheticController controller) {
+        this.controller = controller;
+    }
+
+    @Override
+    public void initialize(AppStateManager stateManager, Application app) {
+        super.initialize(stateManager, app);
+        this.stateManager = stateManager;
+
+        startTime = System.nanoTime();
+        lastFrameTime = startTime;
+        startAllocated = allocatedBytes();
+        lastAllocated = startAllocated;
+        lastScreen = getScreen();
+        startGcCount = gcCount();
+        startGcTime = gcTime();
+        lastGcCount = startGcCount;
+    }
+
+    @Override
+    public void update(float tpf) {
+        long now = System.nanoTime();
+        if (frames == frameTimes.length) {
+            frameTimes = Arrays.copyOf(frameTimes, frames * 2);
+        }
+        frameTimes[frames++] = now - lastFrameTime;
+        lastFrameTime = now;
+
+        sampleGc();
+        sampleTransition();
+        if (directPool != null) {
+            peakDirectMemory = Math.max(peakDirectMemory,
+                    directPool.getMemoryUsed());
+        }
+
+        peakFloorTileLights = Math.max(peakFloorTileLights, game.getFloor()
+                .getTileLightCount());
+
+        boolean scoreScreen = stateManager
+                .getState(ScoreScreenState.class) != null;
+        if (scoring && !scoreScreen) {
+            rootNodeCounts[completed] = countSpatials(game.getRootNode());
+            guiNodeCounts[completed] = countSpatials(game.getGuiNode());
+            completed++;
+            if (completed == cycles) {
+                report(now);
+                game.stop();
+            }
+        }
+        scoring = scoreScreen;
+    }
+
+    private void sampleTransition() {
+        long allocated = allocatedBytes();
+        long frameAllocated = allocated - lastAllocated;
+        lastAllocated = allocated;
+
+        AppState screen = getScreen();
+        if (screen != lastScreen) {
+            lastScreen = screen;
+            transitions++;
+            transitionFrames = TRANSITION_FRAMES;
+        }
+        if (transitionFrames > 0) {
+            transitionAllocated += frameAllocated;
+            transitionFrames--;
+        }
+    }
+
+    private AppState getScreen() {
+        AppState screen = stateManager.getState(StartScreenState.class);
+        if (screen == null) {
+            screen = stateManager.getState(GameRunningState.class);
+        }
+        if (screen == null) {
+            screen = stateManager.getState(ScoreScreenState.class);
+        }
+        return screen;
+    }
+
+    private long allocatedBytes() {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            count += Math.max(collector.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    private long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            time += Math.max(collector.getCollectionTime(), 0);
+        }
+        return time;
+    }
+
+    private void sampleGc() {
+        long count = gcCount();
+        if (count == lastGcCount) {
+            return;
+        }
+        lastGcCount = count;
+        for (GarbageCollectorMXBean collector : collectors) {
+            GcInfo info = collector.getLastGcInfo();
+            if (info != null) {
+                maxGcPause = Math.max(maxGcPause, info.getDuration());
+            }
+        }
+    }
+
+    private static int countSpatials(Spatial spatial) {
+        int count = 1;
+        if (spatial instanceof Node) {
+            List<Spatial> children = ((Node) spatial).getChildren();
+            for (int i = 0; i < children.size(); i++) {
+                count += countSpatials(children.get(i));
+            }
+        }
+        return count;
+    }
+
+    private void report(long now) {
+        long[] sorted = Arrays.copyOf(frameTimes, frames);
+        Arrays.sort(sorted);
+        double seconds = (now - startTime) / 1e9;
+        long allocated = allocatedBytes() - startAllocated;
+
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append(String.format(Locale.ROOT,
+                "  \"rendering\": \"%s\",\n  \"swarm\": %b,\n",
+                game.getTargetRendering(), game.isSwarm()));
+        json.append(String.format(Locale.ROOT,
+                "  \"cycles\": %d,\n  \"frames\": %d,\n"
+                        + "  \"wallSeconds\": %.3f,\n  \"shots\": %d,\n",
+                cycles, frames, seconds, controller.getShots()));
+        json.append(String.format(Locale.ROOT, "  \"frameTimeMs\": {"
+                + "\"mean\": %.4f, \"p50\": %.4f, \"p90\": %.4f, "
+                + "\"p99\": %.4f, \"p999\": %.4f, \"max\": %.4f},\n",
+                seconds * 1e3 / frames, percentile(sorted, 0.5),
+                percentile(sorted, 0.9), percentile(sorted, 0.99),
+                percentile(sorted, 0.999), sorted[frames - 1] / 1e6));
+        json.append(String.format(Locale.ROOT, "  \"allocation\": {"
+                + "\"bytes\": %d, \"bytesPerFrame\": %.1f, "
+                + "\"mbPerSecond\": %.3f},\n", allocated,
+                (double) allocated / frames, allocated / seconds / 1e6));
+        json.append(String.format(Locale.ROOT, "  \"transitions\": {"
+                + "\"count\": %d, \"bytes\": %d, \"bytesPerTransition\": "
+                + "%.1f},\n", transitions, transitionAllocated,
+                (double) transitionAllocated / Math.max(transitions, 1)));
+        json.append(String.format(Locale.ROOT, "  \"gc\": {\"count\": %d, "
+                + "\"timeMs\": %d, \"maxPauseMs\": %d},\n", gcCount()
+                - startGcCount, gcTime() - startGcTime, maxGcPause));
+        json.append(String.format(Locale.ROOT,
+                "  \"peakDirectMemoryBytes\": %d,\n", peakDirectMemory));
+        json.append(String.format(Locale.ROOT, "  \"floor\": {\"tiles\": %d, "
+                + "\"peakTileLights\": %d},\n", game.getFloor().getTileCount(),
+                peakFloorTileLights));
+        json.append("  \"rootNodeSpatials\": ")
+                .append(Arrays.toString(rootNodeCounts)).append(",\n");
+        json.append("  \"guiNodeSpatials\": ")
+                .append(Arrays.toString(guiNodeCounts)).append("\n");
+        json.append("}\n");
+
+        if (output == null) {
+            System.out.print(json);
+            return;
+        }
+        try {
+            Writer writer = new FileWriter(output);
+            try {
+                writer.write(json.toString());
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    public static void main(String[] args) {
+        int cycles = 3;
+        String output = null;
+        JmeContext.Type type = JmeContext.Type.Headless;
+
+        final Game game = new Game() {
+            @Override
+            public void simpleInitApp() {
+                audioRenderer = new NullAudioRenderer();
+                listener = new Listener();
+                super.simpleInitApp();
+            }
+        };
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("-batched")) {
+                game.setTargetRendering(TargetRendering.BATCHED);
+            } else if (arg.equals("-swarm")) {
+                game.setTargetRendering(TargetRendering.BATCHED);
+                game.setSwarm(true);
+            } else if (arg.equals("-offscreen")) {
+                type = JmeContext.Type.OffscreenSurface;
+            } else if (arg.equals("-out") && i + 1 < args.length) {
+                output = args[++i];
+            } else {
+                cycles = Integer.parseInt(arg);
+            }
+        }
+
+        AppSettings settings = new AppSettings(true);
+        settings.setResolution(1280, 720);
+        settings.setVSync(false);
+        settings.setFrameRate(UNLIMITED_FRAME_RATE);
+        settings.setAudioRenderer(null);
+
+        final SyntheticController controller = new SyntheticController(game);
+        final GameBenchmark benchmark = new GameBenchmark(game, cycles, output);
+        benchmark.setController(controller);
+
+        game.setSettings(settings);
+        game.setShowSettings(false);
+        game.setDisplayFps(false);
+        game.setDisplayStatView(false);
+        game.setTimer(new FixedStepTimer(TIME_PER_FRAME));
+        game.setInputSource(controller);
+        game.enqueue(new Callable<Void>() {
+            @Override
+            public Void call() {
+                game.getStateManager().attach(benchmark);
+                return null;
+            }
+        });
+        game.start(type);
+    }
+}
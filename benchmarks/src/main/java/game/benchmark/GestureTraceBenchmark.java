@@ -0,0 +1,549 @@
+package game.benchmark;
+
+import game.controller.DrawGesture;
+import game.controller.InputEvent;
+import game.controller.ShootState;
+import game.replay.InputLogReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import motejx.extensions.nunchuk.NunchukButtonEvent;
+
+public class GestureTraceBenchmark {
+
+    private static final int TRIALS = 1000;
+    private static final double CANCEL_CHANCE = 0.2;
+    private static final double SPIKE_CHANCE = 0.3;
+    private static final double STALL_CHANCE = 0.02;
+
+    private static final int REST_ACCELERATION = 125;
+    private static final int READY_ACCELERATION = 122;
+    private static final int DRAW_THRESHOLD = 140;
+    private static final double NOISE = 3;
+    private static final int SPIKE = 25;
+
+    private static final int SAMPLE_INTERVAL = 10;
+    private static final int SAMPLE_JITTER = 4;
+    private static final int STALL_TIME = 40;
+    private static final int STALL_BURST = 4;
+
+    private static final int LABEL_MEDIAN = 2;
+    private static final long LABEL_DRAW_TIME = 30;
+    private static final int LABEL_READY_THRESHOLD = 130;
+    private static final long LABEL_SETTLE_TIME = 60;
+    private static final int LABEL_SETTLE_BAND = 6;
+    private static final long READY_TIMEOUT = 1000;
+
+    private static final int LEGACY_DRAWING_ACCELERATION = 140;
+    private static final int LEGACY_READY_ACCELERATION = 130;
+    private static final long LEGACY_READY_TIMEOUT = 1000;
+
+    private static final int ITERATIONS = 20;
+
+    abstract static class Recognizer {
+        abstract void start(long time);
+
+        abstract void cancel();
+
+        abstract ShootState update(long time, int y);
+    }
+
+    static class LegacyRecognizer extends Recognizer {
+        private ShootState state = ShootState.NOT_SHOOTING;
+        private long loadTime;
+
+        @Override
+        void start(long time) {
+            state = ShootState.LOADING;
+            loadTime = time;
+        }
+
+        @Override
+        void cancel() {
+            state = ShootState.NOT_SHOOTING;
+        }
+
+        @Override
+        ShootState update(long time, int y) {
+            if (state == ShootState.LOADING
+                    && y > LEGACY_DRAWING_ACCELERATION) {
+                state = ShootState.DRAWING;
+            }
+            if (state == ShootState.DRAWING && y < LEGACY_READY_ACCELERATION) {
+                state = ShootState.READY;
+            }
+            if ((state == ShootState.LOADING || state == ShootState.DRAWING)
+                    && time - loadTime > LEGACY_READY_TIMEOUT) {
+                state = ShootState.READY;
+            }
+            return state;
+        }
+    }
+
+    static class GestureRecognizer extends Recognizer {
+        private final DrawGesture gesture = new DrawGesture();
+
+        @Override
+        void start(long time) {
+            gesture.start(time);
+        }
+
+        @Override
+        void cancel() {
+            gesture.cancel();
+        }
+
+        @Override
+        ShootState update(long time, int y) {
+            return gesture.update(time, y);
+        }
+    }
+
+    static class Result {
+        int presses;
+        int shots;
+        int falseDraws;
+        int earlyReady;
+        int falseShots;
+        int missedShots;
+        long readySum;
+
+        private final long[] drawLatencies;
+        private final long[] readyLatencies;
+        private int drawCount;
+        private int readyCount;
+
+        private Result(int trials) {
+            drawLatencies = new long[trials];
+            readyLatencies = new long[trials];
+        }
+
+        boolean hasFalseTriggers() {
+            return falseDraws > 0 || falseShots > 0;
+        }
+
+        long drawLatency(int percentile) {
+            return percentile(drawLatencies, drawCount, percentile);
+        }
+
+        long readyLatency(int percentile) {
+            return percentile(readyLatencies, readyCount, percentile);
+        }
+    }
+
+    private final String name;
+
+    private int size;
+    private int[] types = new int[1024];
+    private long[] times = new long[1024];
+    private int[] values = new int[1024];
+
+    private long[] drawTimes = new long[TRIALS];
+    private long[] readyTimes = new long[TRIALS];
+    private int trials;
+
+    public GestureTraceBenchmark(String name) {
+        this.name = name;
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    int getType(int i) {
+        return types[i];
+    }
+
+    long getTime(int i) {
+        return times[i];
+    }
+
+    int getValue(int i) {
+        return values[i];
+    }
+
+    long getDrawTime(int trial) {
+        return drawTimes[trial];
+    }
+
+    long getReadyTime(int trial) {
+        return readyTimes[trial];
+    }
+
+    int getTrials() {
+        return trials;
+    }
+
+    private void add(int type, long time, int value) {
+        if (size == types.length) {
+            types = Arrays.copyOf(types, 2 * size);
+            times = Arrays.copyOf(times, 2 * size);
+            values = Arrays.copyOf(values, 2 * size);
+        }
+        types[size] = type;
+        times[size] = time;
+        values[size] = value;
+        size++;
+    }
+
+    private void addTrial(long drawTime, long readyTime) {
+        if (trials == drawTimes.length) {
+            drawTimes = Arrays.copyOf(drawTimes, 2 * trials);
+            readyTimes = Arrays.copyOf(readyTimes, 2 * trials);
+        }
+        drawTimes[trials] = drawTime;
+        readyTimes[trials] = readyTime;
+        trials++;
+    }
+
+    void load(File file) throws IOException {
+        InputLogReader reader = new InputLogReader(file);
+        while (reader.next()) {
+            if (!reader.isEvent() || reader.getPlayer() != 0) {
+                continue;
+            }
+            InputEvent event = reader.getEvent();
+            switch (event.getType()) {
+            case InputEvent.NUNCHUK_BUTTONS:
+                add(event.getType(), event.getTime(), event.getButtons());
+                break;
+            case InputEvent.NUNCHUK_ACCELEROMETER:
+                add(event.getType(), event.getTime(), event.getY());
+                break;
+            default:
+                break;
+            }
+        }
+        label();
+    }
+
+    void label() {
+        trials = 0;
+        int press = -1;
+        for (int i = 0; i < size; i++) {
+            if (types[i] != InputEvent.NUNCHUK_BUTTONS) {
+                continue;
+            }
+            boolean down = isDown(values[i]);
+            if (down && press < 0) {
+                press = i;
+            } else if (!down && press >= 0) {
+                labelPress(press, i);
+                press = -1;
+            }
+        }
+    }
+
+    private void labelPress(int press, int release) {
+        long pressTime = times[press];
+        long releaseTime = times[release];
+
+        int draw = -1;
+        for (int i = nextSample(press, release); i >= 0; i = nextSample(i,
+                release)) {
+            if (median(i, press, release) <= DRAW_THRESHOLD) {
+                draw = -1;
+            } else if (draw < 0) {
+                draw = i;
+            } else if (times[i] - times[draw] >= LABEL_DRAW_TIME) {
+                break;
+            }
+        }
+        if (draw >= 0 && releaseTime - times[draw] < LABEL_DRAW_TIME) {
+            draw = -1;
+        }
+
+        long readyTime = -1;
+        if (draw >= 0) {
+            for (int i = nextSample(draw, release); i >= 0; i = nextSample(i,
+                    release)) {
+                if (median(i, press, release) < LABEL_READY_THRESHOLD
+                        && isSettled(i, press, release)) {
+                    readyTime = times[i];
+                    break;
+                }
+            }
+        }
+        if (readyTime < 0 && releaseTime - pressTime > READY_TIMEOUT) {
+            readyTime = pressTime + READY_TIMEOUT;
+        }
+        addTrial(draw >= 0 ? times[draw] : -1, readyTime);
+    }
+
+    private int nextSample(int i, int end) {
+        for (i++; i < end; i++) {
+            if (types[i] == InputEvent.NUNCHUK_ACCELEROMETER) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int previousSample(int i, int start) {
+        for (i--; i > start; i--) {
+            if (types[i] == InputEvent.NUNCHUK_ACCELEROMETER) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int median(int i, int start, int end) {
+        int[] window = new int[2 * LABEL_MEDIAN + 1];
+        int count = 0;
+        window[count++] = values[i];
+        int before = i;
+        int after = i;
+        for (int j = 0; j < LABEL_MEDIAN; j++) {
+            before = before >= 0 ? previousSample(before, start) : -1;
+            after = after >= 0 ? nextSample(after, end) : -1;
+            if (before >= 0) {
+                window[count++] = values[before];
+            }
+            if (after >= 0) {
+                window[count++] = values[after];
+            }
+        }
+        Arrays.sort(window, 0, count);
+        return window[count / 2];
+    }
+
+    private boolean isSettled(int i, int start, int end) {
+        int reference = median(i, start, end);
+        for (int j = i; j >= 0 && times[j] - times[i] <= LABEL_SETTLE_TIME;
+                j = nextSample(j, end)) {
+            if (Math.abs(median(j, start, end) - reference)
+                    > LABEL_SETTLE_BAND) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDown(int buttons) {
+        return (buttons & (NunchukButtonEvent.BUTTON_C
+                | NunchukButtonEvent.BUTTON_Z)) != 0;
+    }
+
+    void generate() {
+        generate(1);
+    }
+
+    void generate(long seed) {
+        Random random = new Random(seed);
+        long time = 0;
+        for (int trial = 0; trial < TRIALS; trial++) {
+            boolean draw = random.nextDouble() >= CANCEL_CHANCE;
+            long press = time + 200 + random.nextInt(300);
+            long drawStart = press + 100 + random.nextInt(200);
+            int peak = 150 + random.nextInt(20);
+            long drawEnd = drawStart + 80;
+            long settleStart = drawEnd + 150 + random.nextInt(250);
+            long settleEnd = settleStart + 60;
+            long release = settleEnd + 100 + random.nextInt(200);
+            if (!draw) {
+                release = press + 300 + random.nextInt(400);
+            }
+
+            addTrial(draw ? drawStart + 80
+                    * (DRAW_THRESHOLD - REST_ACCELERATION)
+                    / (peak - REST_ACCELERATION) : -1, draw ? settleEnd : -1);
+            long releaseTime = release;
+
+            long spikeTime = random.nextDouble() < SPIKE_CHANCE ? press
+                    + random.nextInt((int) (release - press)) : -1;
+            long stallTime = random.nextDouble() < STALL_CHANCE ? press
+                    + random.nextInt((int) (release - press)) : -1;
+
+            boolean pressed = false;
+            while (time < release + 200) {
+                if (!pressed && time >= press) {
+                    pressed = true;
+                    add(InputEvent.NUNCHUK_BUTTONS, time,
+                            NunchukButtonEvent.BUTTON_C);
+                }
+                if (pressed && time >= release) {
+                    pressed = false;
+                    release = Long.MAX_VALUE;
+                    add(InputEvent.NUNCHUK_BUTTONS, time, 0);
+                }
+
+                double y = REST_ACCELERATION;
+                if (draw && time >= drawStart && time < settleEnd) {
+                    if (time < drawEnd) {
+                        y += (peak - REST_ACCELERATION)
+                                * (double) (time - drawStart) / 80;
+                    } else if (time < settleStart) {
+                        y = peak;
+                    } else {
+                        y = peak - (peak - READY_ACCELERATION)
+                                * (double) (time - settleStart) / 60;
+                    }
+                } else if (draw && time >= settleEnd && time < releaseTime) {
+                    y = READY_ACCELERATION;
+                }
+                y += random.nextGaussian() * NOISE;
+                if (spikeTime >= 0 && time >= spikeTime) {
+                    y += draw && time >= drawEnd ? -SPIKE : SPIKE;
+                    spikeTime = -1;
+                }
+
+                if (stallTime >= 0 && time >= stallTime) {
+                    stallTime = -1;
+                    time += STALL_TIME;
+                    for (int i = 0; i < STALL_BURST; i++) {
+                        add(InputEvent.NUNCHUK_ACCELEROMETER, time + i / 2,
+                                (int) Math.round(y));
+                    }
+                } else {
+                    add(InputEvent.NUNCHUK_ACCELEROMETER, time,
+                            (int) Math.round(y));
+                }
+                time += SAMPLE_INTERVAL - SAMPLE_JITTER / 2
+                        + random.nextInt(SAMPLE_JITTER + 1);
+            }
+        }
+    }
+
+    Result evaluate(Recognizer recognizer) {
+        Result result = new Result(trials);
+        int trial = -1;
+        boolean pressed = false;
+        ShootState state = ShootState.NOT_SHOOTING;
+        long pressTime = 0;
+        long drawDetected = -1;
+        long readyDetected = -1;
+
+        for (int i = 0; i < size; i++) {
+            long time = times[i];
+            if (types[i] == InputEvent.NUNCHUK_BUTTONS) {
+                boolean down = isDown(values[i]);
+                if (down && !pressed) {
+                    trial++;
+                    pressTime = time;
+                    drawDetected = -1;
+                    readyDetected = -1;
+                    recognizer.start(time);
+                    state = ShootState.LOADING;
+                } else if (!down && pressed) {
+                    if (state == ShootState.READY) {
+                        result.shots++;
+                        result.readySum += readyDetected - pressTime;
+                    }
+                    if (trial < trials) {
+                        boolean shot = readyTimes[trial] >= 0;
+                        if (state == ShootState.READY && !shot) {
+                            result.falseShots++;
+                        } else if (state != ShootState.READY && shot) {
+                            result.missedShots++;
+                        }
+                    }
+                    recognizer.cancel();
+                    state = ShootState.NOT_SHOOTING;
+                }
+                pressed = down;
+                continue;
+            }
+
+            ShootState next = recognizer.update(time, values[i]);
+            if (next == state) {
+                continue;
+            }
+            if (next == ShootState.DRAWING && drawDetected < 0) {
+                drawDetected = time;
+                if (trial < trials) {
+                    if (drawTimes[trial] < 0 || time < drawTimes[trial]) {
+                        result.falseDraws++;
+                    } else {
+                        result.drawLatencies[result.drawCount++] = time
+                                - drawTimes[trial];
+                    }
+                }
+            }
+            if (next == ShootState.READY && readyDetected < 0) {
+                readyDetected = time;
+                if (trial < trials && readyTimes[trial] >= 0) {
+                    if (time < readyTimes[trial]) {
+                        result.earlyReady++;
+                    } else {
+                        result.readyLatencies[result.readyCount++] = time
+                                - readyTimes[trial];
+                    }
+                }
+            }
+            state = next;
+        }
+        result.presses = trial + 1;
+        return result;
+    }
+
+    private static long percentile(long[] values, int count, int percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        return sorted[Math.min(count - 1, count * percentile / 100)];
+    }
+
+    private boolean run() {
+        int samples = 0;
+        for (int i = 0; i < size; i++) {
+            if (types[i] == InputEvent.NUNCHUK_ACCELEROMETER) {
+                samples++;
+            }
+        }
+        System.out.printf("trace=%s events=%d samples=%d%n", name, size,
+                samples);
+        measure("threshold", new LegacyRecognizer(), samples);
+        return measure("gesture", new GestureRecognizer(), samples)
+                .hasFalseTriggers();
+    }
+
+    private Result measure(String label, Recognizer recognizer, int samples) {
+        System.out.printf("  %s%n", label);
+        Result result = evaluate(recognizer);
+        System.out.printf("    presses=%d shots=%d meanPressToReady=%.1fms%n",
+                result.presses, result.shots, result.shots > 0
+                        ? (double) result.readySum / result.shots : 0.0);
+        System.out.printf("    falseDraws=%d earlyReady=%d falseShots=%d"
+                + " missedShots=%d%n", result.falseDraws, result.earlyReady,
+                result.falseShots, result.missedShots);
+        System.out.printf("    drawLatency p50=%dms p90=%dms"
+                + " readyLatency p50=%dms p90=%dms%n",
+                result.drawLatency(50), result.drawLatency(90),
+                result.readyLatency(50), result.readyLatency(90));
+
+        int shots = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            shots += evaluate(recognizer).shots;
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("    cost=%.1f ns/sample (shots=%d)%n",
+                (double) elapsed / ITERATIONS / Math.max(samples, 1), shots);
+        return result;
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean falseTriggers = false;
+        if (args.length == 0) {
+            GestureTraceBenchmark benchmark = new GestureTraceBenchmark(
+                    "synthetic");
+            benchmark.generate();
+            falseTriggers |= benchmark.run();
+        }
+        for (String arg : args) {
+            GestureTraceBenchmark benchmark = new GestureTraceBenchmark(arg);
+            benchmark.load(new File(arg));
+            falseTriggers |= benchmark.run();
+        }
+        if (falseTriggers) {
+            System.out.println("Gesture recognizer false triggers");
+            System.exit(1);
+        }
+    }
+}
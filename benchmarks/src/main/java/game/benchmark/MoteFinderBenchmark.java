@@ -0,0 +1,137 @@
+package game.benchmark;
+
+import game.GameMoteFinder;
+import game.remote.FakeMoteConnector;
+import game.remote.MoteAddressCache;
+import game.remote.MoteSearch;
+import game.remote.Remote;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+public class MoteFinderBenchmark {
+
+    private static final float TIME_SCALE = 50;
+    private static final int TRIALS = 20;
+
+    private static final String REMOTE = "0019FD000001";
+    private static final String OTHER_REMOTE = "0019FD000002";
+    private static final String STALE_REMOTE = "0019FD000003";
+
+    private static final long MIN_CONNECT_TIME = 800;
+    private static final long MAX_CONNECT_TIME = 1500;
+    private static final long MIN_DISCOVERY_TIME = 2000;
+    private static final long MAX_DISCOVERY_TIME = 10000;
+
+    private static enum Scenario {
+        COLD, KNOWN, STALE, RACE, CANCEL
+    }
+
+    private final Random random = new Random(1);
+    private final File cacheFile;
+
+    private final long[] times = new long[TRIALS];
+    private int failures;
+
+    public MoteFinderBenchmark(File cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    private long randomTime(long min, long max) {
+        return min + (long) (random.nextDouble() * (max - min));
+    }
+
+    private void addRemote(FakeMoteConnector connector, String address,
+            boolean available) {
+        connector.addDevice(address,
+                randomTime(MIN_CONNECT_TIME, MAX_CONNECT_TIME),
+                randomTime(MIN_DISCOVERY_TIME, MAX_DISCOVERY_TIME),
+                available);
+    }
+
+    private long trial(Scenario scenario) throws InterruptedException {
+        cacheFile.delete();
+        MoteAddressCache cache = new MoteAddressCache(cacheFile);
+        FakeMoteConnector connector = new FakeMoteConnector(TIME_SCALE);
+
+        switch (scenario) {
+        case COLD:
+            addRemote(connector, REMOTE, true);
+            break;
+        case KNOWN:
+        case CANCEL:
+            addRemote(connector, REMOTE, true);
+            cache.remember(REMOTE);
+            break;
+        case STALE:
+            addRemote(connector, REMOTE, true);
+            addRemote(connector, STALE_REMOTE, false);
+            cache.remember(STALE_REMOTE);
+            break;
+        case RACE:
+            addRemote(connector, REMOTE, true);
+            addRemote(connector, OTHER_REMOTE, true);
+            cache.remember(REMOTE);
+            cache.remember(OTHER_REMOTE);
+            break;
+        }
+
+        GameMoteFinder<Remote> finder = new GameMoteFinder<Remote>(
+                connector, cache);
+        MoteSearch<Remote> search = finder.findMote(null);
+        Remote mote = null;
+        long time = -1;
+        try {
+            if (scenario == Scenario.CANCEL) {
+                Thread.sleep((long) (MIN_CONNECT_TIME / 2 / TIME_SCALE));
+                search.cancel(true);
+                search.get();
+            } else {
+                mote = search.get();
+                time = (long) (search.getConnectTime() * TIME_SCALE);
+            }
+        } catch (CancellationException e) {
+            time = 0;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+
+        Thread.sleep((long) (2 * MAX_CONNECT_TIME / TIME_SCALE));
+        int expected = scenario == Scenario.CANCEL ? 0 : 1;
+        if (connector.getOpenConnections() != expected) {
+            failures++;
+        }
+        if (mote != null
+                && !new MoteAddressCache(cacheFile).getAddresses().get(0)
+                        .equals(mote.getAddress())) {
+            failures++;
+        }
+        return time;
+    }
+
+    private void run(Scenario scenario) throws InterruptedException {
+        failures = 0;
+        for (int i = 0; i < TRIALS; i++) {
+            times[i] = trial(scenario);
+        }
+        Arrays.sort(times);
+        System.out.printf("%-6s p50=%5dms p90=%5dms max=%5dms failures=%d%n",
+                scenario.name().toLowerCase(), times[TRIALS / 2],
+                times[TRIALS * 9 / 10], times[TRIALS - 1], failures);
+    }
+
+    public static void main(String[] args) throws IOException,
+            InterruptedException {
+        File cacheFile = File.createTempFile("motes", ".txt");
+        cacheFile.deleteOnExit();
+        MoteFinderBenchmark benchmark = new MoteFinderBenchmark(cacheFile);
+        for (Scenario scenario : Scenario.values()) {
+            benchmark.run(scenario);
+        }
+        cacheFile.delete();
+    }
+}
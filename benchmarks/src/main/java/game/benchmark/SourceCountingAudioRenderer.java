@@ -0,0 +1,99 @@
+package game.benchmark;
+
+import com.jme3.audio.AudioBuffer;
+import com.jme3.audio.AudioSource;
+import com.jme3.audio.AudioSource.Status;
+
+public class SourceCountingAudioRenderer extends NullAudioRenderer {
+
+    private static final int MAX_SOURCES = 64;
+    private static final int CAPACITY = 1024;
+
+    private final AudioSource[] sources = new AudioSource[CAPACITY];
+    private final long[] endTimes = new long[CAPACITY];
+    private int count;
+
+    private int peak;
+    private int exhausted;
+    private long calls;
+
+    @Override
+    public synchronized void playSourceInstance(AudioSource src) {
+        calls++;
+        add(null, src);
+    }
+
+    @Override
+    public synchronized void playSource(AudioSource src) {
+        calls++;
+        if (src.getStatus() == Status.Playing) {
+            return;
+        }
+        if (add(src, src)) {
+            src.setStatus(Status.Playing);
+        }
+    }
+
+    @Override
+    public synchronized void stopSource(AudioSource src) {
+        calls++;
+        for (int i = 0; i < count; i++) {
+            if (sources[i] == src) {
+                remove(i);
+                break;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void update(float tpf) {
+        long now = System.nanoTime();
+        for (int i = count - 1; i >= 0; i--) {
+            if (endTimes[i] - now <= 0) {
+                remove(i);
+            }
+        }
+    }
+
+    private boolean add(AudioSource owner, AudioSource src) {
+        if (count >= MAX_SOURCES) {
+            exhausted++;
+        }
+        if (count == CAPACITY) {
+            return false;
+        }
+        float duration = ((AudioBuffer) src.getAudioData()).getDuration();
+        sources[count] = owner;
+        endTimes[count] = System.nanoTime() + (long) (duration * 1e9);
+        count++;
+        peak = Math.max(peak, count);
+        return true;
+    }
+
+    private void remove(int i) {
+        AudioSource src = sources[i];
+        if (src != null) {
+            src.setStatus(Status.Stopped);
+        }
+        count--;
+        sources[i] = sources[count];
+        endTimes[i] = endTimes[count];
+        sources[count] = null;
+    }
+
+    public synchronized int getSources() {
+        return count;
+    }
+
+    public synchronized int getPeak() {
+        return peak;
+    }
+
+    public synchronized int getExhausted() {
+        return exhausted;
+    }
+
+    public synchronized long getCalls() {
+        return calls;
+    }
+}
@@ -0,0 +1,159 @@
+package game.benchmark;
+
+import game.Game;
+import game.controller.GameController;
+import game.controller.InputEvent;
+import game.controller.InputSource;
+import game.state.SimulationClock;
+
+import java.util.List;
+
+import motejx.extensions.nunchuk.NunchukButtonEvent;
+
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.Camera;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+
+public class SyntheticController implements InputSource {
+
+    private static enum Phase {
+        AIMING, LOADING, DRAWING, READY, COOLDOWN
+    }
+
+    private static final int DRAWING_ACCELERATION = 150;
+    private static final int READY_ACCELERATION = 120;
+    private static final int RESTING_ACCELERATION = 125;
+
+    private static final double AIM_TOLERANCE = 0.25;
+    private static final int DRAW_TICKS = 12;
+    private static final int COOLDOWN_TICKS = 30;
+
+    private final Game game;
+    private final Node targetNode;
+    private final SimulationClock clock;
+
+    private Camera cam;
+    private float width;
+    private float height;
+
+    private final InputEvent event = new InputEvent();
+    private final Vector3f screen = new Vector3f();
+
+    private boolean started;
+    private Phase phase = Phase.AIMING;
+    private long phaseTick;
+    private long lastTime = -1;
+
+    private int shots;
+
+    public SyntheticController(Game game) {
+        this.game = game;
+        this.targetNode = game.getTargetNode();
+        this.clock = game.getSimulationClock();
+    }
+
+    public int getShots() {
+        return shots;
+    }
+
+    @Override
+    public void feed(long tick, GameController controller) {
+        if (!started) {
+            started = true;
+            cam = game.getCamera();
+            width = cam.getWidth();
+            height = cam.getHeight();
+            game.doStart();
+            return;
+        }
+
+        long time = (long) (clock.getTime() * 1000);
+        boolean aimed = aim(time, controller);
+
+        switch (phase) {
+        case AIMING:
+            if (aimed) {
+                controller.apply(event.setButtons(InputEvent.NUNCHUK_BUTTONS,
+                        time, NunchukButtonEvent.BUTTON_C));
+                setPhase(Phase.LOADING, tick);
+            }
+            break;
+        case LOADING:
+            controller.apply(event.setAccelerometer(
+                    InputEvent.NUNCHUK_ACCELEROMETER, time, 0,
+                    DRAWING_ACCELERATION, 0));
+            if (tick - phaseTick >= DRAW_TICKS) {
+                setPhase(Phase.DRAWING, tick);
+            }
+            break;
+        case DRAWING:
+            controller.apply(event.setAccelerometer(
+                    InputEvent.NUNCHUK_ACCELEROMETER, time, 0,
+                    READY_ACCELERATION, 0));
+            if (tick - phaseTick >= DRAW_TICKS) {
+                setPhase(Phase.READY, tick);
+            }
+            break;
+        case READY:
+            controller.apply(event.setButtons(InputEvent.NUNCHUK_BUTTONS,
+                    time, 0));
+            shots++;
+            setPhase(Phase.COOLDOWN, tick);
+            break;
+        case COOLDOWN:
+            controller.apply(event.setAccelerometer(
+                    InputEvent.NUNCHUK_ACCELEROMETER, time, 0,
+                    RESTING_ACCELERATION, 0));
+            if (tick - phaseTick > COOLDOWN_TICKS) {
+                setPhase(Phase.AIMING, tick);
+            }
+            break;
+        }
+    }
+
+    private void setPhase(Phase phase, long tick) {
+        this.phase = phase;
+        this.phaseTick = tick;
+    }
+
+    private boolean aim(long time, GameController controller) {
+        Spatial target = findTarget();
+        double rollSpeed = 0;
+        double pitchSpeed = 0;
+        boolean aimed = false;
+        if (target != null && lastTime >= 0 && time > lastTime) {
+            double roll = screen.getX() * 2 * Game.ROLL_MAX / width
+                    - Game.ROLL_MAX;
+            double pitch = Game.PITCH_MAX - screen.getY() * 2
+                    * Game.PITCH_MAX / height;
+            double duration = (double) (time - lastTime) / 1000;
+            double rollError = roll - controller.getRollVal();
+            double pitchError = pitch - controller.getPitchVal();
+            rollSpeed = rollError / duration;
+            pitchSpeed = pitchError / duration;
+            aimed = Math.abs(rollError) < AIM_TOLERANCE
+                    && Math.abs(pitchError) < AIM_TOLERANCE;
+        }
+        if (lastTime < 0 || time > lastTime) {
+            controller.apply(event.setMotionPlus(time, rollSpeed, pitchSpeed,
+                    0));
+            lastTime = time;
+        }
+        return aimed;
+    }
+
+    private Spatial findTarget() {
+        List<Spatial> children = targetNode.getChildren();
+        for (int i = 0; i < children.size(); i++) {
+            Spatial target = children.get(i);
+            cam.getScreenCoordinates(target.getWorldTranslation(), screen);
+            if (screen.getZ() > 0 && screen.getZ() < 1
+                    && screen.getX() >= 0 && screen.getX() < width
+                    && screen.getY() >= 0 && screen.getY() < height) {
+                return target;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,231 @@
+package game.benchmark;
+
+import game.mesh.TargetBatchMesh;
+import game.target.Target;
+import game.target.TargetPool;
+import game.target.TargetRendering;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import com.jme3.app.SimpleApplication;
+import com.jme3.app.state.AppState;
+import com.jme3.bounding.BoundingBox;
+import com.jme3.light.AmbientLight;
+import com.jme3.light.DirectionalLight;
+import com.jme3.material.Material;
+import com.jme3.material.RenderState.BlendMode;
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.Quaternion;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.Statistics;
+import com.jme3.renderer.queue.RenderQueue.Bucket;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial.CullHint;
+import com.jme3.system.AppSettings;
+import com.jme3.system.JmeContext;
+
+public class TargetRenderBenchmark extends SimpleApplication {
+
+    private static final float TARGET_SIZE = 1.5f;
+    private static final ColorRGBA TARGET_COLOR = new ColorRGBA(1, 0.7f, 0,
+            0.6f);
+
+    private static final float FIELD_X = 40;
+    private static final float FIELD_Y = 20;
+    private static final float FIELD_Z = 100;
+
+    private static final int WARMUP_FRAMES = 120;
+
+    private final int targetCount;
+    private final int frames;
+
+    private final Random random = new Random(1);
+    private final Quaternion rotation = new Quaternion();
+    private final Quaternion spin = new Quaternion();
+
+    private final Node geometryNode = new Node("Geometry Targets");
+    private Target[] targets;
+    private TargetBatchMesh batchMesh;
+    private Geometry batch;
+
+    private float[] posX;
+    private float[] posY;
+    private float[] posZ;
+    private float[] rotX;
+    private float[] rotY;
+    private float[] rotZ;
+    private float[] rotW;
+
+    private Statistics statistics;
+    private String[] statLabels;
+    private int[] statData;
+    private int objectsIndex;
+
+    private TargetRendering rendering = TargetRendering.GEOMETRY;
+    private int frame;
+    private long lastFrameTime;
+    private long[] frameTimes;
+    private long drawCalls;
+
+    public TargetRenderBenchmark(int targetCount, int frames) {
+        super((AppState[]) null);
+        this.targetCount = targetCount;
+        this.frames = frames;
+    }
+
+    @Override
+    public void simpleInitApp() {
+        cam.setLocation(new Vector3f(0, 8, 1));
+
+        AmbientLight ambientLight = new AmbientLight();
+        ambientLight.setColor(ColorRGBA.White);
+        rootNode.addLight(ambientLight);
+
+        DirectionalLight directionalLight = new DirectionalLight();
+        directionalLight.setDirection(new Vector3f(0, -1, -1));
+        directionalLight.setColor(ColorRGBA.White.mult(0.5f));
+        rootNode.addLight(directionalLight);
+
+        Material targetMat = new Material(assetManager,
+                "Common/MatDefs/Light/Lighting.j3md");
+        targetMat.setBoolean("UseMaterialColors", true);
+        targetMat.setColor("Ambient", TARGET_COLOR);
+        targetMat.setColor("Diffuse", TARGET_COLOR);
+        targetMat.getAdditionalRenderState().setBlendMode(BlendMode.Alpha);
+
+        posX = new float[targetCount];
+        posY = new float[targetCount];
+        posZ = new float[targetCount];
+        rotX = new float[targetCount];
+        rotY = new float[targetCount];
+        rotZ = new float[targetCount];
+        rotW = new float[targetCount];
+
+        TargetPool pool = new TargetPool(targetCount, TARGET_SIZE, targetMat);
+        targets = new Target[targetCount];
+        for (int i = 0; i < targetCount; i++) {
+            posX[i] = (random.nextFloat() * 2 - 1) * FIELD_X;
+            posY[i] = random.nextFloat() * FIELD_Y;
+            posZ[i] = -random.nextFloat() * FIELD_Z;
+            rotW[i] = 1;
+            targets[i] = pool.acquire();
+            geometryNode.attachChild(targets[i]);
+        }
+
+        batchMesh = new TargetBatchMesh(targetCount, TARGET_SIZE,
+                new BoundingBox(new Vector3f(0, FIELD_Y / 2, -FIELD_Z / 2),
+                        FIELD_X + TARGET_SIZE, FIELD_Y / 2 + TARGET_SIZE,
+                        FIELD_Z / 2 + TARGET_SIZE));
+        Material batchMat = targetMat.clone();
+        batchMat.setBoolean("UseVertexColor", true);
+        batch = new Geometry("Target Batch", batchMesh);
+        batch.setMaterial(batchMat);
+        batch.setQueueBucket(Bucket.Transparent);
+        batch.setCullHint(CullHint.Never);
+
+        statistics = renderer.getStatistics();
+        statistics.setEnabled(true);
+        statLabels = statistics.getLabels();
+        statData = new int[statLabels.length];
+        objectsIndex = Arrays.asList(statLabels).indexOf("Objects");
+
+        frameTimes = new long[frames];
+        startPhase(TargetRendering.GEOMETRY);
+    }
+
+    @Override
+    public void simpleUpdate(float tpf) {
+        long now = System.nanoTime();
+        statistics.getData(statData);
+        statistics.clearFrame();
+
+        int measured = frame - WARMUP_FRAMES;
+        if (measured >= 0 && measured < frames) {
+            frameTimes[measured] = now - lastFrameTime;
+            drawCalls += statData[objectsIndex];
+        }
+        lastFrameTime = now;
+        frame++;
+
+        if (measured + 1 == frames) {
+            report();
+            if (rendering == TargetRendering.GEOMETRY) {
+                startPhase(TargetRendering.BATCHED);
+            } else {
+                stop();
+            }
+            return;
+        }
+
+        spin.fromAngles(tpf, tpf / 2, tpf / 3);
+        for (int i = 0; i < targetCount; i++) {
+            rotation.set(rotX[i], rotY[i], rotZ[i], rotW[i]);
+            rotation.multLocal(spin);
+            rotX[i] = rotation.getX();
+            rotY[i] = rotation.getY();
+            rotZ[i] = rotation.getZ();
+            rotW[i] = rotation.getW();
+        }
+
+        if (rendering == TargetRendering.GEOMETRY) {
+            for (int i = 0; i < targetCount; i++) {
+                targets[i].setLocalTranslation(posX[i], posY[i], posZ[i]);
+                rotation.set(rotX[i], rotY[i], rotZ[i], rotW[i]);
+                targets[i].setLocalRotation(rotation);
+            }
+        } else {
+            for (int i = 0; i < targetCount; i++) {
+                batchMesh.setInstance(i, posX[i], posY[i], posZ[i], rotX[i],
+                        rotY[i], rotZ[i], rotW[i], 1);
+            }
+            batchMesh.setInstanceCount(targetCount);
+        }
+    }
+
+    private void startPhase(TargetRendering rendering) {
+        this.rendering = rendering;
+        rootNode.detachAllChildren();
+        if (rendering == TargetRendering.GEOMETRY) {
+            rootNode.attachChild(geometryNode);
+        } else {
+            rootNode.attachChild(batch);
+        }
+        frame = 0;
+        drawCalls = 0;
+        lastFrameTime = System.nanoTime();
+    }
+
+    private void report() {
+        long[] sorted = frameTimes.clone();
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long frameTime : sorted) {
+            total += frameTime;
+        }
+        System.out.printf(
+                "%s targets=%d frames=%d drawCalls/frame=%.1f "
+                        + "mean=%.3fms p50=%.3fms p99=%.3fms%n",
+                rendering, targetCount, frames, (double) drawCalls / frames,
+                total / 1e6 / frames, sorted[frames / 2] / 1e6,
+                sorted[frames * 99 / 100] / 1e6);
+    }
+
+    public static void main(String[] args) {
+        int targetCount = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 600;
+
+        AppSettings settings = new AppSettings(true);
+        settings.setResolution(1280, 720);
+        settings.setVSync(false);
+        settings.setFrameRate(-1);
+        settings.setAudioRenderer(null);
+
+        TargetRenderBenchmark benchmark = new TargetRenderBenchmark(
+                targetCount, frames);
+        benchmark.setSettings(settings);
+        benchmark.setShowSettings(false);
+        benchmark.start(JmeContext.Type.OffscreenSurface);
+    }
+}
@@ -0,0 +1,94 @@
+package game.benchmark;
+
+import game.Game;
+import game.controller.GameController;
+import game.controller.ShootState;
+import game.remote.SyntheticRemoteScript;
+import game.remote.VirtualRemote;
+
+public class VirtualRemoteBenchmark {
+
+    private static final int[] RATES = { 100, 1000, 2000, 4000, 8000 };
+    private static final int[] REMOTES = { 1, Game.MAX_PLAYERS };
+    private static final long PHASE = 1700;
+    private static final long DURATION = 3000;
+    private static final long FRAME_TIME = 16666667;
+
+    private static class HeadlessGame extends Game {
+        private int shots;
+
+        @Override
+        public void updateCrosshair(int player, ShootState shootState) {
+        }
+
+        @Override
+        public void showCrosshair(int player) {
+        }
+
+        @Override
+        public void shoot(int player, float timeOffset) {
+            shots++;
+        }
+    }
+
+    private static void run(int rate, int count) throws InterruptedException {
+        HeadlessGame game = new HeadlessGame();
+        VirtualRemote[] remotes = new VirtualRemote[count];
+        GameController[] controllers = new GameController[count];
+        for (int i = 0; i < count; i++) {
+            remotes[i] = new VirtualRemote(String.format("%012X", i + 1));
+            remotes[i].activateMotionPlusNunchuk();
+        }
+        for (int i = 0; i < count; i++) {
+            while (!remotes[i].isExtensionActive()) {
+                Thread.sleep(10);
+            }
+            controllers[i] = new GameController(game, i, remotes[i]);
+        }
+
+        long frames = 0;
+        long maxDrain = 0;
+        long totalDrain = 0;
+        for (int i = 0; i < count; i++) {
+            remotes[i].start(new SyntheticRemoteScript(i * PHASE), rate);
+        }
+        long start = System.nanoTime();
+        long next = start;
+        while (System.nanoTime() - start < DURATION * 1000000) {
+            next += FRAME_TIME;
+            long sleep = next - System.nanoTime();
+            if (sleep > 0) {
+                Thread.sleep(sleep / 1000000, (int) (sleep % 1000000));
+            }
+            long drainStart = System.nanoTime();
+            for (GameController controller : controllers) {
+                controller.drain();
+            }
+            long drain = System.nanoTime() - drainStart;
+            maxDrain = Math.max(maxDrain, drain);
+            totalDrain += drain;
+            frames++;
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        long reports = 0;
+        int dropped = 0;
+        for (int i = 0; i < count; i++) {
+            remotes[i].disconnect();
+            reports += remotes[i].getReports();
+            dropped += controllers[i].getDroppedEvents();
+        }
+
+        System.out.printf("remotes=%d rate=%5d reports/s=%7.0f dropped=%d"
+                + " shots=%d drain mean=%.1fus max=%.1fus%n", count, rate,
+                reports / elapsed, dropped, game.shots, totalDrain / 1e3
+                        / frames, maxDrain / 1e3);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int count : REMOTES) {
+            for (int rate : RATES) {
+                run(rate, count);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package game.benchmark.jmh;
+
+import game.mesh.FloorQuad;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FloorQuadBenchmark {
+
+    @Param({ "20x50", "120x100", "240x200" })
+    public String room;
+
+    private int width;
+    private int height;
+    private FloorQuad floorQuad;
+
+    @Setup
+    public void setup() {
+        String[] size = room.split("x");
+        width = Integer.parseInt(size[0]);
+        height = Integer.parseInt(size[1]);
+        floorQuad = new FloorQuad(width, height);
+    }
+
+    @Benchmark
+    public FloorQuad updateGeometry() {
+        floorQuad.updateGeometry(width, height);
+        return floorQuad;
+    }
+
+    @Benchmark
+    public FloorQuad newFloorQuad() {
+        return new FloorQuad(width, height);
+    }
+}
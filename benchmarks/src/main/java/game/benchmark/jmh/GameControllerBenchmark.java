@@ -0,0 +1,114 @@
+package game.benchmark.jmh;
+
+import game.controller.GameController;
+import game.controller.InputEvent;
+import game.controller.InputSource;
+import game.remote.RemoteReport;
+
+import java.util.concurrent.TimeUnit;
+
+import motejx.extensions.nunchuk.NunchukButtonEvent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameControllerBenchmark {
+
+    private static final int BATCH = 64;
+    private static final int DRAW_SAMPLES = 10;
+
+    private static final int DRAWING_ACCELERATION = 150;
+    private static final int READY_ACCELERATION = 120;
+    private static final int RESTING_ACCELERATION = 125;
+
+    private NoOpGame game;
+    private GameController controller;
+
+    private final RemoteReport[] motionPlusReports = new RemoteReport[BATCH];
+    private final RemoteReport[] nunchukReports = new RemoteReport[BATCH];
+    private final InputEvent event = new InputEvent();
+
+    private long time;
+
+    @Setup
+    public void setup() {
+        game = new NoOpGame();
+        controller = new GameController(game, (InputSource) null);
+
+        for (int i = 0; i < BATCH; i++) {
+            motionPlusReports[i] = new RemoteReport().clear(i)
+                    .setMotionPlus(i % 5 - 2, 0, i % 7 - 3, false, false,
+                            false);
+            nunchukReports[i] = new RemoteReport().clear(i).setNunchuk(0, 0,
+                    READY_ACCELERATION + i % 20, 0);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public double motionPlusReport() {
+        for (int i = 0; i < BATCH; i++) {
+            controller.reportReceived(motionPlusReports[i]);
+        }
+        controller.drain();
+        return controller.getRollVal();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public double motionPlusIntegration() {
+        for (int i = 0; i < BATCH; i++) {
+            time += 10;
+            controller.apply(event.setMotionPlus(time, i % 7 - 3, i % 5 - 2,
+                    0));
+        }
+        return controller.getRollVal();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public double nunchukReport() {
+        for (int i = 0; i < BATCH; i++) {
+            controller.reportReceived(nunchukReports[i]);
+        }
+        controller.drain();
+        return controller.getPitchVal();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(3 * DRAW_SAMPLES + 2)
+    public int shotStateMachine() {
+        time += 10;
+        controller.apply(event.setButtons(InputEvent.NUNCHUK_BUTTONS, time,
+                NunchukButtonEvent.BUTTON_C));
+        accelerate(DRAWING_ACCELERATION);
+        accelerate(READY_ACCELERATION);
+        controller.apply(event.setButtons(InputEvent.NUNCHUK_BUTTONS, time,
+                0));
+        accelerate(RESTING_ACCELERATION);
+        return game.getShots();
+    }
+
+    private void accelerate(int y) {
+        for (int i = 0; i < DRAW_SAMPLES; i++) {
+            time += 10;
+            controller.apply(event.setAccelerometer(
+                    InputEvent.NUNCHUK_ACCELEROMETER, time, 0, y, 0));
+        }
+    }
+}
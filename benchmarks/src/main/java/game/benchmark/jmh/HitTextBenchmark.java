@@ -0,0 +1,74 @@
+package game.benchmark.jmh;
+
+import game.state.HitTextState;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jme3.asset.AssetManager;
+import com.jme3.font.BitmapFont;
+import com.jme3.math.ColorRGBA;
+import com.jme3.scene.Node;
+import com.jme3.system.JmeSystem;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HitTextBenchmark {
+
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 720;
+    private static final int SLOTS = 32;
+    private static final float FONT_SIZE = 70;
+    private static final float TIME = 1;
+    private static final float SPEED = 30;
+    private static final float TIME_PER_FRAME = 1f / 60;
+    private static final int BONUS_MAX = 5;
+
+    @Param({ "0", "1", "8", "32" })
+    public int hitsPerFrame;
+
+    private final Random random = new Random(1);
+    private final Node guiNode = new Node("Gui Node");
+    private HitTextState hitTextState;
+    private int bonus;
+
+    @Setup
+    public void setup() {
+        AssetManager assetManager = JmeSystem.newAssetManager(Thread
+                .currentThread().getContextClassLoader()
+                .getResource("com/jme3/asset/Desktop.cfg"));
+        BitmapFont font = assetManager
+                .loadFont("Interface/Fonts/digital.fnt");
+        hitTextState = new HitTextState(guiNode, font, SLOTS, WIDTH, HEIGHT,
+                FONT_SIZE, TIME, SPEED);
+        hitTextState.stateAttached(null);
+    }
+
+    @Benchmark
+    public int frame() {
+        for (int i = 0; i < hitsPerFrame; i++) {
+            bonus = bonus % BONUS_MAX + 1;
+            hitTextState.show(random.nextFloat() * WIDTH, random.nextFloat()
+                    * HEIGHT, ColorRGBA.Cyan, bonus);
+        }
+        hitTextState.update(TIME_PER_FRAME);
+        guiNode.updateGeometricState();
+        return hitTextState.getActive();
+    }
+}
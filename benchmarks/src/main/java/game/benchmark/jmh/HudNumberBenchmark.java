@@ -0,0 +1,97 @@
+package game.benchmark.jmh;
+
+import game.mesh.HudNumber;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jme3.asset.AssetManager;
+import com.jme3.font.BitmapFont;
+import com.jme3.font.BitmapText;
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.FastMath;
+import com.jme3.system.JmeSystem;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HudNumberBenchmark {
+
+    private static final float FONT_SIZE = 140;
+    private static final float TIME_PER_FRAME = 1f / 60;
+    private static final int GAME_TIME = 30;
+    private static final int FRAMES_PER_HIT = 20;
+
+    private HudNumber timeNumber;
+    private HudNumber scoreNumber;
+    private BitmapText timeText;
+    private BitmapText scoreText;
+
+    private int frame;
+    private int score;
+
+    @Setup
+    public void setup() {
+        AssetManager assetManager = JmeSystem.newAssetManager(Thread
+                .currentThread().getContextClassLoader()
+                .getResource("com/jme3/asset/Desktop.cfg"));
+        BitmapFont font = assetManager
+                .loadFont("Interface/Fonts/digital.fnt");
+        timeNumber = new HudNumber("Time", font, 2, 2, FONT_SIZE,
+                ColorRGBA.White);
+        scoreNumber = new HudNumber("Score", font, 4, 1, FONT_SIZE,
+                ColorRGBA.White);
+        timeText = new BitmapText(font);
+        timeText.setSize(FONT_SIZE);
+        scoreText = new BitmapText(font);
+        scoreText.setSize(FONT_SIZE);
+    }
+
+    private float gameTime() {
+        frame++;
+        return GAME_TIME - frame % (int) (GAME_TIME / TIME_PER_FRAME)
+                * TIME_PER_FRAME;
+    }
+
+    private boolean hit() {
+        if (frame % FRAMES_PER_HIT == 0) {
+            score = (score + 5) % 10000;
+            return true;
+        }
+        return false;
+    }
+
+    @Benchmark
+    public int hudNumber() {
+        timeNumber.setValue((int) FastMath.ceil(gameTime()));
+        if (hit()) {
+            scoreNumber.setValue(score);
+        }
+        return timeNumber.getValue() + scoreNumber.getValue();
+    }
+
+    @Benchmark
+    public int bitmapText() {
+        timeText.setText(String.format("%02d",
+                (int) FastMath.ceil(gameTime())));
+        timeText.updateLogicalState(TIME_PER_FRAME);
+        if (hit()) {
+            scoreText.setText(String.format("%d", score));
+            scoreText.updateLogicalState(TIME_PER_FRAME);
+        }
+        return timeText.getLineCount() + scoreText.getLineCount();
+    }
+}
@@ -0,0 +1,52 @@
+package game.benchmark.jmh;
+
+import game.controller.InputEvent;
+import game.controller.InputRing;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InputRingBenchmark {
+
+    private final InputRing ring = new InputRing();
+    private final InputEvent event = new InputEvent();
+
+    private long time;
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public boolean offer() {
+        time++;
+        return ring.offerMotionPlus(time, 1, -1, 0);
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public long drain() {
+        long sum = 0;
+        int count = ring.size();
+        for (int i = 0; i < count && ring.poll(event); i++) {
+            sum += event.getTime();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,32 @@
+package game.benchmark.jmh;
+
+import game.Game;
+import game.controller.ShootState;
+
+public class NoOpGame extends Game {
+
+    private int crosshairUpdates;
+    private int shots;
+
+    @Override
+    public void updateCrosshair(int player, ShootState shootState) {
+        crosshairUpdates++;
+    }
+
+    @Override
+    public void showCrosshair(int player) {
+    }
+
+    @Override
+    public void shoot(int player, float timeOffset) {
+        shots++;
+    }
+
+    public int getCrosshairUpdates() {
+        return crosshairUpdates;
+    }
+
+    public int getShots() {
+        return shots;
+    }
+}
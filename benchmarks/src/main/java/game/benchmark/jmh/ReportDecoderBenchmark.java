@@ -0,0 +1,234 @@
+package game.benchmark.jmh;
+
+import game.remote.RemoteReport;
+import game.remote.ReportDecoder;
+import game.remote.ReportListener;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.event.EventListenerList;
+
+import motej.Mote;
+import motej.event.AccelerometerEvent;
+import motej.event.AccelerometerListener;
+import motej.event.CoreButtonEvent;
+import motej.event.CoreButtonListener;
+import motej.request.ReportModeRequest;
+import motejx.extensions.motionplus.MotionPlusEvent;
+import motejx.extensions.motionplus.MotionPlusListener;
+import motejx.extensions.motionplusnunchuk.MotionPlusNunchuk;
+import motejx.extensions.nunchuk.Nunchuk;
+import motejx.extensions.nunchuk.NunchukButtonEvent;
+import motejx.extensions.nunchuk.NunchukButtonListener;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportDecoderBenchmark {
+
+    private static final int BATCH = 200;
+    private static final int REPORT_LENGTH = 23;
+    private static final int EXTENSION_OFFSET = 7;
+    private static final int EXTENSION_LENGTH = 16;
+    private static final double REPORT_TIME = 0.01;
+
+    private static final int GYRO_ZERO = 8192;
+    private static final double SLOW_SCALE = 20;
+    private static final double ROLL_AMPLITUDE = 15;
+    private static final double ROLL_PERIOD = 4;
+    private static final double PITCH_AMPLITUDE = 7;
+    private static final double PITCH_PERIOD = 3;
+
+    private final byte[][] reports = new byte[BATCH][];
+    private final EventListenerList moteListeners = new EventListenerList();
+    private final MotionPlusNunchuk motionPlusNunchuk =
+            new MotionPlusNunchuk();
+    private ReportDecoder decoder;
+
+    private long sum;
+
+    @Setup
+    public void setup() {
+        decoder = new ReportDecoder(reportListener);
+        moteListeners.add(CoreButtonListener.class, coreButtonListener);
+        moteListeners.add(AccelerometerListener.class, accelerometerListener);
+        motionPlusNunchuk.addMotionPlusEventListener(motionPlusListener);
+        motionPlusNunchuk.addAccelerometerListener(
+                nunchukAccelerometerListener);
+        motionPlusNunchuk.addNunchukButtonListener(nunchukButtonListener);
+        motionPlusNunchuk.newCalibration();
+
+        byte[] still = new byte[REPORT_LENGTH];
+        for (int i = 0; i < ReportDecoder.CALIBRATION_SAMPLES; i++) {
+            encodeMotionPlus(still, GYRO_ZERO + i % 3, GYRO_ZERO,
+                    GYRO_ZERO - i % 2);
+            decoder.decode(still, 0);
+            motionPlusNunchuk.parseExtensionData(extension(still));
+        }
+
+        for (int i = 0; i < BATCH; i++) {
+            double seconds = i * REPORT_TIME;
+            byte[] report = new byte[REPORT_LENGTH];
+            if (i % 2 == 0) {
+                double roll = ROLL_AMPLITUDE * 2 * Math.PI / ROLL_PERIOD
+                        * Math.cos(2 * Math.PI * seconds / ROLL_PERIOD);
+                double pitch = PITCH_AMPLITUDE * 2 * Math.PI / PITCH_PERIOD
+                        * Math.cos(2 * Math.PI * seconds / PITCH_PERIOD);
+                encodeMotionPlus(report, gyro(roll), gyro(pitch), GYRO_ZERO);
+            } else {
+                encodeNunchuk(report, i % 150 < 60
+                        ? NunchukButtonEvent.BUTTON_C : 0, 128, 120 + i % 40,
+                        150);
+            }
+            reports[i] = report;
+        }
+    }
+
+    private static int gyro(double speed) {
+        return GYRO_ZERO + (int) Math.round(speed * SLOW_SCALE);
+    }
+
+    private static void encodeCore(byte[] report) {
+        report[0] = (byte) 0xa1;
+        report[1] = ReportModeRequest.DATA_REPORT_0x35;
+        report[2] = 0;
+        report[3] = 0;
+        report[4] = (byte) 128;
+        report[5] = (byte) 130;
+        report[6] = (byte) 154;
+    }
+
+    private static void encodeMotionPlus(byte[] report, int roll, int pitch,
+            int yaw) {
+        encodeCore(report);
+        int i = EXTENSION_OFFSET;
+        report[i] = (byte) yaw;
+        report[i + 1] = (byte) roll;
+        report[i + 2] = (byte) pitch;
+        report[i + 3] = (byte) ((yaw >> 6 & 0xfc) | 0x03);
+        report[i + 4] = (byte) ((roll >> 6 & 0xfc) | 0x03);
+        report[i + 5] = (byte) ((pitch >> 6 & 0xfc) | 0x02);
+    }
+
+    private static void encodeNunchuk(byte[] report, int buttons, int x,
+            int y, int z) {
+        encodeCore(report);
+        int i = EXTENSION_OFFSET;
+        report[i] = (byte) 128;
+        report[i + 1] = (byte) 128;
+        report[i + 2] = (byte) x;
+        report[i + 3] = (byte) y;
+        report[i + 4] = (byte) (z & 0xfe);
+        report[i + 5] = (byte) ((z & 0x01) << 7 | (~buttons & 0x03) << 2);
+    }
+
+    private static byte[] extension(byte[] report) {
+        byte[] extension = new byte[EXTENSION_LENGTH];
+        System.arraycopy(report, EXTENSION_OFFSET, extension, 0,
+                EXTENSION_LENGTH);
+        return extension;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long decode() {
+        for (int i = 0; i < BATCH; i++) {
+            decoder.decode(reports[i], i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    @SuppressWarnings("unchecked")
+    public long motejEvents() {
+        for (int i = 0; i < BATCH; i++) {
+            byte[] report = reports[i];
+            CoreButtonEvent buttons = new CoreButtonEvent(null,
+                    (report[2] & 0xff) ^ (report[3] & 0xff) << 8);
+            for (CoreButtonListener listener : moteListeners
+                    .getListeners(CoreButtonListener.class)) {
+                listener.buttonPressed(buttons);
+            }
+            AccelerometerEvent<Mote> acceleration =
+                    new AccelerometerEvent<Mote>(null, report[4] & 0xff,
+                            report[5] & 0xff, report[6] & 0xff);
+            for (AccelerometerListener<Mote> listener : moteListeners
+                    .getListeners(AccelerometerListener.class)) {
+                listener.accelerometerChanged(acceleration);
+            }
+            motionPlusNunchuk.parseExtensionData(extension(report));
+        }
+        return sum;
+    }
+
+    private final ReportListener reportListener = new ReportListener() {
+        @Override
+        public void reportReceived(RemoteReport report) {
+            sum += report.getButtons() + report.getX();
+            if (report.has(RemoteReport.NUNCHUK)) {
+                sum += report.getNunchukButtons() + report.getNunchukY();
+            }
+            if (report.has(RemoteReport.MOTION_PLUS)) {
+                sum += (long) (report.getRollSpeed() + report.getPitchSpeed());
+            }
+        }
+    };
+
+    private final CoreButtonListener coreButtonListener =
+            new CoreButtonListener() {
+                @Override
+                public void buttonPressed(CoreButtonEvent evt) {
+                    sum += evt.getButton();
+                }
+            };
+
+    private final AccelerometerListener<Mote> accelerometerListener =
+            new AccelerometerListener<Mote>() {
+                @Override
+                public void accelerometerChanged(AccelerometerEvent<Mote> evt) {
+                    sum += evt.getX();
+                }
+            };
+
+    private final AccelerometerListener<Nunchuk> nunchukAccelerometerListener =
+            new AccelerometerListener<Nunchuk>() {
+                @Override
+                public void accelerometerChanged(
+                        AccelerometerEvent<Nunchuk> evt) {
+                    sum += evt.getY();
+                }
+            };
+
+    private final NunchukButtonListener nunchukButtonListener =
+            new NunchukButtonListener() {
+                @Override
+                public void buttonPressed(NunchukButtonEvent evt) {
+                    sum += evt.getButton();
+                }
+            };
+
+    private final MotionPlusListener motionPlusListener =
+            new MotionPlusListener() {
+                @Override
+                public void speedChanged(MotionPlusEvent evt) {
+                    sum += (long) (evt.getRollLeftSpeed()
+                            + evt.getPitchDownSpeed());
+                }
+            };
+}
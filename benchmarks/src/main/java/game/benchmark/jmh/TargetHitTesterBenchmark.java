@@ -0,0 +1,148 @@
+package game.benchmark.jmh;
+
+import game.target.Target;
+import game.target.TargetHitTester;
+import game.target.TargetPool;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jme3.collision.CollisionResults;
+import com.jme3.material.Material;
+import com.jme3.math.Quaternion;
+import com.jme3.math.Ray;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Node;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TargetHitTesterBenchmark {
+
+    private static final float TARGET_SIZE = 1.5f;
+
+    private static final float FIELD_X = 40;
+    private static final float FIELD_Y = 30;
+    private static final float FIELD_Z = 100;
+
+    private static final Vector3f CAMERA = new Vector3f(0, 8, 1);
+
+    private static final int RAYS = 256;
+
+    @Param({ "5", "500", "5000" })
+    public int targetCount;
+
+    private final Random random = new Random(1);
+
+    private float[] posX;
+    private float[] posY;
+    private float[] posZ;
+    private float[] rotX;
+    private float[] rotY;
+    private float[] rotZ;
+    private float[] rotW;
+    private final Node targetNode = new Node("Targets Node");
+    private TargetHitTester hitTester;
+
+    private final Vector3f[] directions = new Vector3f[RAYS];
+    private final Ray ray = new Ray();
+    private final CollisionResults results = new CollisionResults();
+    private final Vector3f contactPoint = new Vector3f();
+
+    @Setup
+    public void setup() {
+        posX = new float[targetCount];
+        posY = new float[targetCount];
+        posZ = new float[targetCount];
+        rotX = new float[targetCount];
+        rotY = new float[targetCount];
+        rotZ = new float[targetCount];
+        rotW = new float[targetCount];
+
+        TargetPool pool = new TargetPool(targetCount, TARGET_SIZE,
+                new Material());
+        Quaternion rotation = new Quaternion();
+        for (int i = 0; i < targetCount; i++) {
+            posX[i] = (random.nextFloat() * 2 - 1) * FIELD_X;
+            posY[i] = random.nextFloat() * FIELD_Y;
+            posZ[i] = -3 - random.nextFloat() * FIELD_Z;
+            rotation.fromAngles(random.nextFloat() * 6, random.nextFloat() * 6,
+                    random.nextFloat() * 6);
+            rotX[i] = rotation.getX();
+            rotY[i] = rotation.getY();
+            rotZ[i] = rotation.getZ();
+            rotW[i] = rotation.getW();
+
+            Target target = pool.acquire();
+            target.setLocalTranslation(posX[i], posY[i], posZ[i]);
+            target.setLocalRotation(rotation);
+            targetNode.attachChild(target);
+        }
+        targetNode.updateGeometricState();
+
+        hitTester = new TargetHitTester(TARGET_SIZE, -FIELD_X - 2
+                * TARGET_SIZE, -2 * TARGET_SIZE, -FIELD_Z - 3 - 2
+                * TARGET_SIZE, FIELD_X + 2 * TARGET_SIZE, FIELD_Y + 2
+                * TARGET_SIZE, 2 * TARGET_SIZE);
+        hitTester.build(targetCount, posX, posY, posZ);
+
+        for (int i = 0; i < RAYS; i++) {
+            int aim = random.nextInt(targetCount);
+            directions[i] = new Vector3f(posX[aim] + random.nextFloat() * 4
+                    - 2, posY[aim] + random.nextFloat() * 4 - 2, posZ[aim])
+                    .subtractLocal(CAMERA).normalizeLocal();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public int hitTester() {
+        int hits = 0;
+        for (int i = 0; i < RAYS; i++) {
+            if (hitTester.intersect(CAMERA, directions[i], posX, posY, posZ,
+                    rotX, rotY, rotZ, rotW, contactPoint) >= 0) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int rebuildAndHitTester() {
+        hitTester.build(targetCount, posX, posY, posZ);
+        return hitTester.intersect(CAMERA, directions[0], posX, posY, posZ,
+                rotX, rotY, rotZ, rotW, contactPoint);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public int collideWith() {
+        int hits = 0;
+        for (int i = 0; i < RAYS; i++) {
+            ray.setOrigin(CAMERA);
+            ray.setDirection(directions[i]);
+            results.clear();
+            targetNode.collideWith(ray, results);
+            if (results.size() > 0) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,86 @@
+package game.benchmark.jmh;
+
+import game.Game;
+import game.state.TargetSimulationState;
+import game.target.TargetHit;
+import game.target.TargetPool;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jme3.material.Material;
+import com.jme3.math.Quaternion;
+import com.jme3.math.Vector3f;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TargetPickBenchmark {
+
+    private static final float TARGET_SIZE = 1.5f;
+    private static final float TARGET_SPEED = 25;
+    private static final float TIME_OFFSET = 0.02f;
+
+    private static final Vector3f CAMERA = new Vector3f(0, 8, 1);
+
+    @Param({ "5", "500", "5000" })
+    public int targets;
+
+    private final Random random = new Random(1);
+
+    private final Vector3f direction = new Vector3f();
+    private final TargetHit hit = new TargetHit();
+
+    private TargetSimulationState targetSimulationState;
+
+    @Setup
+    public void setup() {
+        TargetPool targetPool = new TargetPool(targets, TARGET_SIZE,
+                new Material());
+        targetSimulationState = new TargetSimulationState(new Game(), null,
+                targets, TARGET_SIZE);
+
+        Vector3f position = new Vector3f();
+        Vector3f velocity = new Vector3f();
+        Quaternion rotation = new Quaternion();
+        Vector3f spin = new Vector3f();
+        for (int i = 0; i < targets; i++) {
+            position.set(random.nextFloat() * 70 - 35,
+                    random.nextFloat() * 20 + 3, -random.nextFloat() * 90 - 5);
+            velocity.set(random.nextBoolean() ? 4 : -4,
+                    random.nextFloat() * 10, 0).subtractLocal(position)
+                    .normalizeLocal().multLocal(TARGET_SPEED);
+            rotation.fromAngles(random.nextFloat(), random.nextFloat(),
+                    random.nextFloat());
+            targetSimulationState.add(targetPool.acquire(), position,
+                    velocity, rotation, spin);
+        }
+        direction.set(0, 0, -1);
+    }
+
+    @Benchmark
+    public boolean pick() {
+        return targetSimulationState.pick(CAMERA, direction, 0, hit);
+    }
+
+    @Benchmark
+    public boolean pickRewound() {
+        return targetSimulationState.pick(CAMERA, direction, TIME_OFFSET,
+                hit);
+    }
+}
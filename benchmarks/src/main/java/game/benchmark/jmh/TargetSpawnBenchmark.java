@@ -0,0 +1,93 @@
+package game.benchmark.jmh;
+
+import game.Game;
+import game.mesh.TiledFloor;
+import game.state.TargetSimulationState;
+import game.state.TargetSpawner;
+import game.target.Target;
+import game.target.TargetPool;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jme3.material.Material;
+import com.jme3.math.Vector2f;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.Camera;
+import com.jme3.scene.Node;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TargetSpawnBenchmark {
+
+    private static final float TARGET_SIZE = 1.5f;
+
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 720;
+    private static final float CAMERA_HEIGHT = 8;
+
+    private static final int ROOM_X = 60;
+    private static final int ROOM_Z = 100;
+    private static final int FLOOR_TILE_SIZE = 20;
+
+    @Param({ "5", "200", "2000" })
+    public int wave;
+
+    @Param({ "true", "false" })
+    public boolean lights;
+
+    private final Node targetNode = new Node("Targets Node");
+
+    private TargetSimulationState targetSimulationState;
+    private TargetSpawner targetSpawner;
+    private Target[] spawned;
+
+    @Setup
+    public void setup() {
+        TiledFloor floor = new TiledFloor("Floor", 2 * ROOM_X, ROOM_Z,
+                FLOOR_TILE_SIZE, new Material(), new Vector2f(3, 3));
+        TargetPool targetPool = new TargetPool(wave, TARGET_SIZE,
+                new Material());
+        Game game = new Game();
+        targetSimulationState = new TargetSimulationState(game, null, wave,
+                TARGET_SIZE);
+        targetSpawner = new TargetSpawner(targetPool, targetSimulationState,
+                floor, targetNode, game.getTargetLightColor(), lights,
+                new Random(1));
+
+        Camera cam = new Camera(WIDTH, HEIGHT);
+        cam.setFrustumPerspective(45, (float) WIDTH / HEIGHT, 1, 1000);
+        cam.setLocation(new Vector3f(0, CAMERA_HEIGHT, 1));
+        targetSpawner.initBounds(cam, ROOM_X, ROOM_Z, HEIGHT);
+
+        spawned = new Target[wave];
+    }
+
+    @Benchmark
+    public int spawnWave() {
+        for (int i = 0; i < wave; i++) {
+            spawned[i] = targetSpawner.spawn();
+        }
+        int count = targetSimulationState.getCount();
+        for (int i = 0; i < wave; i++) {
+            targetSpawner.remove(spawned[i]);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,142 @@
+package game.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import game.audio.AudioMixer;
+import game.audio.Sound;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.jme3.asset.AssetManager;
+import com.jme3.audio.AudioSource;
+
+public class AudioMixerTest {
+
+    private static final float SECONDS = 4;
+    private static final float TIME_PER_FRAME = 1f / 60;
+    private static final int FRAMES = 60;
+    private static final long FRAME_LIMIT_NANOS = 2000000;
+    private static final long TIMEOUT = 1000;
+
+    private static AssetManager assetManager;
+
+    @BeforeClass
+    public static void loadAssets() {
+        assetManager = AudioMixerBenchmark.newAssetManager();
+    }
+
+    @Test
+    public void burstStaysWithinVoicePool() throws InterruptedException {
+        SourceCountingAudioRenderer direct = new SourceCountingAudioRenderer();
+        AudioMixerBenchmark.runDirect(assetManager, direct, SECONDS);
+
+        SourceCountingAudioRenderer renderer =
+                new SourceCountingAudioRenderer();
+        AudioMixer mixer = new AudioMixer(assetManager, renderer);
+        AudioMixerBenchmark.runMixer(mixer, renderer, SECONDS);
+
+        assertTrue("playInstance peak " + direct.getPeak()
+                + " should exceed the voice pool", direct.getPeak() > mixer
+                .getVoices());
+        assertTrue("mixer peak " + renderer.getPeak() + " exceeds "
+                + mixer.getVoices() + " voices",
+                renderer.getPeak() <= mixer.getVoices());
+        assertEquals(0, renderer.getExhausted());
+    }
+
+    @Test
+    public void mixerParksWhileIdle() throws InterruptedException {
+        SourceCountingAudioRenderer renderer =
+                new SourceCountingAudioRenderer();
+        AudioMixer mixer = new AudioMixer(assetManager, renderer);
+        mixer.initialize(null, null);
+        try {
+            Thread thread = findThread("Audio Mixer");
+            assertTrue(awaitState(thread, Thread.State.WAITING));
+
+            mixer.play(Sound.SHOOT);
+            mixer.update(TIME_PER_FRAME);
+            long end = System.nanoTime()
+                    + TimeUnit.MILLISECONDS.toNanos(TIMEOUT);
+            while (mixer.getPlayed() == 0 && System.nanoTime() < end) {
+                Thread.sleep(1);
+            }
+            assertEquals(1, mixer.getPlayed());
+            assertTrue(awaitState(thread, Thread.State.WAITING));
+        } finally {
+            mixer.cleanup();
+        }
+    }
+
+    @Test
+    public void updateDoesNotWaitForRenderer() throws InterruptedException {
+        BlockingAudioRenderer renderer = new BlockingAudioRenderer();
+        AudioMixer mixer = new AudioMixer(assetManager, renderer);
+        mixer.initialize(null, null);
+        try {
+            mixer.play(Sound.SHOOT);
+            mixer.update(TIME_PER_FRAME);
+            assertTrue(renderer.blocked.await(TIMEOUT,
+                    TimeUnit.MILLISECONDS));
+
+            long slowest = 0;
+            for (int i = 0; i < FRAMES; i++) {
+                long start = System.nanoTime();
+                mixer.play(Sound.SHOOT);
+                mixer.play(Sound.HIT);
+                mixer.play(Sound.TARGET);
+                mixer.update(TIME_PER_FRAME);
+                slowest = Math.max(slowest, System.nanoTime() - start);
+            }
+            assertTrue("update took " + slowest + " ns",
+                    slowest < FRAME_LIMIT_NANOS);
+        } finally {
+            renderer.release.countDown();
+            mixer.cleanup();
+        }
+    }
+
+    private static Thread findThread(String name) {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals(name)) {
+                return thread;
+            }
+        }
+        throw new AssertionError("No thread named " + name);
+    }
+
+    private static boolean awaitState(Thread thread, Thread.State state)
+            throws InterruptedException {
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT);
+        while (thread.getState() != state) {
+            if (System.nanoTime() > end) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    private static class BlockingAudioRenderer extends NullAudioRenderer {
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public synchronized void playSource(AudioSource src) {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public synchronized void update(float tpf) {
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package game.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import game.benchmark.GestureTraceBenchmark.Result;
+import game.controller.InputEvent;
+import game.replay.InputRecorder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class GestureTraceTest {
+
+    private static final int SEEDS = 8;
+    private static final long DRAW_TOLERANCE = 20;
+    private static final long READY_TOLERANCE = 20;
+    private static final long MAX_LABEL_ERROR = 60;
+    private static final int RECORDED_EVENTS = 10000;
+
+    private GestureTraceBenchmark synthetic;
+
+    @Before
+    public void generate() {
+        synthetic = new GestureTraceBenchmark("synthetic");
+        synthetic.generate();
+    }
+
+    @Test
+    public void syntheticTraceHasNoFalseTriggers() {
+        for (int seed = 1; seed <= SEEDS; seed++) {
+            GestureTraceBenchmark trace = new GestureTraceBenchmark(
+                    "synthetic");
+            trace.generate(seed);
+            Result gesture = trace.evaluate(
+                    new GestureTraceBenchmark.GestureRecognizer());
+            assertEquals("seed " + seed, 0, gesture.falseDraws);
+            assertEquals("seed " + seed, 0, gesture.falseShots);
+            assertEquals("seed " + seed, 0, gesture.earlyReady);
+            assertEquals("seed " + seed, 0, gesture.missedShots);
+        }
+
+        Result legacy = synthetic.evaluate(
+                new GestureTraceBenchmark.LegacyRecognizer());
+        assertTrue(legacy.hasFalseTriggers());
+    }
+
+    @Test
+    public void labelsMatchSyntheticTruth() {
+        int trials = synthetic.getTrials();
+        long[] drawTimes = new long[trials];
+        long[] readyTimes = new long[trials];
+        for (int i = 0; i < trials; i++) {
+            drawTimes[i] = synthetic.getDrawTime(i);
+            readyTimes[i] = synthetic.getReadyTime(i);
+        }
+
+        synthetic.label();
+        assertEquals(trials, synthetic.getTrials());
+        long[] drawErrors = new long[trials];
+        long[] readyErrors = new long[trials];
+        int count = 0;
+        for (int i = 0; i < trials; i++) {
+            assertEquals("trial " + i + " draw", drawTimes[i] >= 0,
+                    synthetic.getDrawTime(i) >= 0);
+            assertEquals("trial " + i + " ready", readyTimes[i] >= 0,
+                    synthetic.getReadyTime(i) >= 0);
+            if (drawTimes[i] >= 0) {
+                drawErrors[count] = Math.abs(synthetic.getDrawTime(i)
+                        - drawTimes[i]);
+                readyErrors[count] = Math.abs(synthetic.getReadyTime(i)
+                        - readyTimes[i]);
+                count++;
+            }
+        }
+        assertLabelError("draw", drawErrors, count, DRAW_TOLERANCE);
+        assertLabelError("ready", readyErrors, count, READY_TOLERANCE);
+    }
+
+    private static void assertLabelError(String label, long[] errors,
+            int count, long tolerance) {
+        Arrays.sort(errors, 0, count);
+        long p90 = errors[count * 9 / 10];
+        long max = errors[count - 1];
+        assertTrue(label + " label p90 " + p90 + " ms", p90 <= tolerance);
+        assertTrue(label + " label max " + max + " ms",
+                max <= MAX_LABEL_ERROR);
+    }
+
+    @Test
+    public void recordedLogHasNoFalseTriggers() throws IOException {
+        File file = File.createTempFile("gestures", ".log");
+        try {
+            record(synthetic, file);
+            GestureTraceBenchmark recorded = new GestureTraceBenchmark(
+                    file.getName());
+            recorded.load(file);
+
+            assertEquals(RECORDED_EVENTS, recorded.getSize());
+            for (int i = 0; i < recorded.getSize(); i++) {
+                assertEquals(synthetic.getType(i), recorded.getType(i));
+                assertEquals(synthetic.getTime(i), recorded.getTime(i));
+                assertEquals(synthetic.getValue(i), recorded.getValue(i));
+            }
+            assertFalse(recorded.evaluate(
+                    new GestureTraceBenchmark.GestureRecognizer())
+                    .hasFalseTriggers());
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static void record(GestureTraceBenchmark trace, File file)
+            throws IOException {
+        InputRecorder recorder = new InputRecorder(file);
+        InputEvent event = new InputEvent();
+        recorder.begin(1, 1280, 720, 0);
+        for (int i = 0; i < RECORDED_EVENTS; i++) {
+            long time = trace.getTime(i);
+            if (trace.getType(i) == InputEvent.NUNCHUK_BUTTONS) {
+                event.setButtons(InputEvent.NUNCHUK_BUTTONS, time,
+                        trace.getValue(i));
+            } else {
+                event.setAccelerometer(InputEvent.NUNCHUK_ACCELEROMETER, time,
+                        128, trace.getValue(i), 128);
+            }
+            recorder.record(time, 0, event);
+        }
+        recorder.close();
+        assertEquals(0, recorder.getDropped());
+    }
+}
@@ -0,0 +1,160 @@
+package game.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import game.Game;
+import game.GameMoteFinder;
+import game.remote.FakeMoteConnector;
+import game.remote.MoteAddressCache;
+import game.remote.Remote;
+import game.remote.SyntheticRemoteScript;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jme3.audio.Listener;
+import com.jme3.system.AppSettings;
+import com.jme3.system.JmeContext;
+
+public class ReconnectTest {
+
+    private static final String REMOTE = "0019FD000001";
+    private static final long CONNECT_TIME = 1000;
+    private static final long DISCOVERY_TIME = 3000;
+    private static final int RATE = 100;
+
+    private static final int TRIALS = 3;
+    private static final long PLAY_TIME = 1000;
+    private static final long OFFLINE_TIME = 1000;
+    private static final long DETECT_LIMIT = 500;
+    private static final long RECONNECT_LIMIT = 2000;
+    private static final long TIMEOUT = 10000;
+    private static final long POLL_TIME = 5;
+
+    private static class HeadlessGame extends Game {
+        private volatile boolean started;
+        private volatile long pauseTime;
+        private volatile long resumeTime;
+        private volatile long pauseTick;
+        private volatile long resumeTick;
+
+        @Override
+        public void simpleInitApp() {
+            audioRenderer = new NullAudioRenderer();
+            listener = new Listener();
+            super.simpleInitApp();
+        }
+
+        @Override
+        public void doStart() {
+            super.doStart();
+            started = true;
+        }
+
+        @Override
+        public void setPaused(boolean paused) {
+            if (paused != isPaused()) {
+                long tick = getSimulationClock().getTick();
+                if (paused) {
+                    pauseTick = tick;
+                    pauseTime = System.nanoTime();
+                } else {
+                    resumeTick = tick;
+                    resumeTime = System.nanoTime();
+                }
+            }
+            super.setPaused(paused);
+        }
+    }
+
+    private File cacheFile;
+    private FakeMoteConnector connector;
+    private HeadlessGame game;
+
+    @Before
+    public void startGame() throws IOException, InterruptedException {
+        cacheFile = File.createTempFile("motes", ".txt");
+        MoteAddressCache cache = new MoteAddressCache(cacheFile);
+        cache.remember(REMOTE);
+
+        connector = new FakeMoteConnector(1);
+        connector.addDevice(REMOTE, CONNECT_TIME, DISCOVERY_TIME, true);
+        connector.setScript(REMOTE, new SyntheticRemoteScript(), RATE);
+
+        game = new HeadlessGame();
+        game.setMoteFinder(new GameMoteFinder<Remote>(connector, cache));
+
+        AppSettings settings = new AppSettings(true);
+        settings.setResolution(1280, 720);
+        settings.setFrameRate(60);
+        settings.setAudioRenderer(null);
+        game.setSettings(settings);
+        game.setShowSettings(false);
+        game.setDisplayFps(false);
+        game.setDisplayStatView(false);
+        game.start(JmeContext.Type.Headless);
+
+        long start = System.nanoTime();
+        while (!game.started) {
+            assertTrue("Remote did not connect",
+                    System.nanoTime() - start < nanos(TIMEOUT));
+            Thread.sleep(POLL_TIME);
+        }
+        game.enqueue(new Callable<Void>() {
+            @Override
+            public Void call() {
+                game.doGame();
+                return null;
+            }
+        });
+    }
+
+    @After
+    public void stopGame() {
+        if (game != null) {
+            game.stop();
+        }
+        cacheFile.delete();
+    }
+
+    @Test
+    public void droppedRemoteReconnects() throws InterruptedException {
+        for (int i = 0; i < TRIALS; i++) {
+            Thread.sleep(PLAY_TIME);
+            long dropTime = System.nanoTime();
+            connector.drop(REMOTE);
+            while (game.pauseTime - dropTime < 0
+                    && System.nanoTime() - dropTime < nanos(TIMEOUT)) {
+                Thread.sleep(POLL_TIME);
+            }
+            long detectTime = game.pauseTime - dropTime;
+            assertTrue("pause took " + detectTime / 1000000 + " ms",
+                    detectTime >= 0 && detectTime < nanos(DETECT_LIMIT));
+
+            Thread.sleep(OFFLINE_TIME);
+            long availableTime = System.nanoTime();
+            connector.setAvailable(REMOTE, true);
+            while (game.resumeTime - availableTime < 0
+                    && System.nanoTime() - availableTime < nanos(TIMEOUT)) {
+                Thread.sleep(POLL_TIME);
+            }
+            long reconnectTime = game.resumeTime - availableTime;
+            assertTrue("reconnect took " + reconnectTime / 1000000 + " ms",
+                    reconnectTime >= 0
+                            && reconnectTime < nanos(RECONNECT_LIMIT));
+            assertEquals("simulation ran while paused", game.pauseTick,
+                    game.resumeTick);
+        }
+        assertEquals(1, connector.getOpenConnections());
+    }
+
+    private static long nanos(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -0,0 +1,201 @@
+package game.remote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MoteSearchTest {
+
+    private static final String REMOTE = "0019FD000001";
+    private static final String OTHER_REMOTE = "0019FD000002";
+
+    private static final float TIME_SCALE = 10;
+    private static final long CONNECT_TIME = 800;
+    private static final long DISCOVERY_TIME = 3000;
+    private static final long TIMEOUT = 5000;
+
+    private File cacheFile;
+    private MoteAddressCache cache;
+
+    @Before
+    public void createCache() throws IOException {
+        cacheFile = File.createTempFile("motes", ".txt");
+        cacheFile.delete();
+        cache = new MoteAddressCache(cacheFile);
+    }
+
+    @After
+    public void deleteCache() {
+        cacheFile.delete();
+    }
+
+    private MoteSearch<Remote> search(FakeMoteConnector connector) {
+        MoteSearch<Remote> search = new MoteSearch<Remote>(connector, cache,
+                Collections.<String> emptyList(), null);
+        search.start();
+        return search;
+    }
+
+    @Test
+    public void cachedAddressWinsOverDiscovery() throws Exception {
+        FakeMoteConnector connector = new FakeMoteConnector(TIME_SCALE);
+        connector.addDevice(REMOTE, CONNECT_TIME, DISCOVERY_TIME, true);
+        connector.addDevice(OTHER_REMOTE, CONNECT_TIME, DISCOVERY_TIME / 2,
+                true);
+        cache.remember(REMOTE);
+
+        MoteSearch<Remote> search = search(connector);
+        Remote mote = search.get(TIMEOUT, TimeUnit.MILLISECONDS);
+
+        assertEquals(REMOTE, mote.getAddress());
+        assertTrue(search.getConnectTime() * TIME_SCALE < DISCOVERY_TIME / 2);
+        assertEquals(REMOTE, cache.getAddresses().get(0));
+        awaitThreadsStopped();
+        assertEquals(1, connector.getOpenConnections());
+    }
+
+    @Test
+    public void cancelStopsConnectAndDiscovery() throws Exception {
+        FakeMoteConnector connector = new FakeMoteConnector(1);
+        connector.addDevice(REMOTE, CONNECT_TIME, DISCOVERY_TIME, false);
+        cache.remember(REMOTE);
+
+        MoteSearch<Remote> search = search(connector);
+        List<Thread> threads = awaitThreads("Mote Connect", "Mote Discovery",
+                "Fake Inquiry");
+        assertTrue(search.cancel(true));
+
+        for (Thread thread : threads) {
+            thread.join(TIMEOUT);
+            assertFalse(thread.getName() + " still running",
+                    thread.isAlive());
+        }
+        assertTrue(search.isCancelled());
+        try {
+            search.get(TIMEOUT, TimeUnit.MILLISECONDS);
+            fail("Cancelled search returned a remote");
+        } catch (CancellationException e) {
+            assertEquals(0, connector.getOpenConnections());
+        }
+    }
+
+    @Test
+    public void lateConnectionIsDisconnected() throws Exception {
+        LatchConnector connector = new LatchConnector();
+        cache.remember(REMOTE);
+
+        MoteSearch<String> search = new MoteSearch<String>(connector, cache,
+                Collections.<String> emptyList(), null);
+        search.start();
+        assertTrue(connector.connecting.await(TIMEOUT,
+                TimeUnit.MILLISECONDS));
+        assertTrue(connector.discovering.await(TIMEOUT,
+                TimeUnit.MILLISECONDS));
+        connector.listener.moteFound(OTHER_REMOTE);
+        assertEquals(OTHER_REMOTE, search.get(TIMEOUT, TimeUnit.MILLISECONDS));
+
+        connector.connected.countDown();
+        awaitThreadsStopped();
+        assertEquals(Collections.singletonList(REMOTE),
+                connector.getDisconnected());
+        assertEquals(OTHER_REMOTE, cache.getAddresses().get(0));
+    }
+
+    private static List<Thread> findThreads(String... names) {
+        List<Thread> threads = new ArrayList<Thread>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            for (String name : names) {
+                if (thread.getName().equals(name) && thread.isAlive()) {
+                    threads.add(thread);
+                }
+            }
+        }
+        return threads;
+    }
+
+    private static List<Thread> awaitThreads(String... names)
+            throws InterruptedException {
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT);
+        while (System.nanoTime() < end) {
+            List<Thread> threads = findThreads(names);
+            if (threads.size() == names.length) {
+                return threads;
+            }
+            Thread.sleep(1);
+        }
+        throw new AssertionError("Search threads did not start");
+    }
+
+    private static void awaitThreadsStopped() throws InterruptedException {
+        for (Thread thread : findThreads("Mote Connect", "Mote Discovery",
+                "Fake Inquiry")) {
+            thread.join(TIMEOUT);
+            assertFalse(thread.getName() + " still running",
+                    thread.isAlive());
+        }
+    }
+
+    private static class LatchConnector implements MoteConnector<String> {
+        private final CountDownLatch connecting = new CountDownLatch(1);
+        private final CountDownLatch discovering = new CountDownLatch(1);
+        private final CountDownLatch connected = new CountDownLatch(1);
+        private final List<String> disconnected = new ArrayList<String>();
+        private volatile Listener<String> listener;
+
+        @Override
+        public String connect(String address) throws IOException {
+            connecting.countDown();
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    connected.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return address;
+        }
+
+        @Override
+        public void startDiscovery(Listener<String> listener) {
+            this.listener = listener;
+            discovering.countDown();
+        }
+
+        @Override
+        public void stopDiscovery(Listener<String> listener) {
+        }
+
+        @Override
+        public String getAddress(String mote) {
+            return mote;
+        }
+
+        @Override
+        public synchronized void disconnect(String mote) {
+            disconnected.add(mote);
+        }
+
+        private synchronized List<String> getDisconnected() {
+            return new ArrayList<String>(disconnected);
+        }
+    }
+}
@@ -1,21 +1,44 @@
 package game;
 
+import game.audio.AudioMixer;
+import game.audio.Sound;
 import game.controller.GameController;
+import game.controller.InputSource;
 import game.controller.ShootState;
-import game.mesh.FloorQuad;
+import game.latency.LatencyTracker;
+import game.mesh.TiledFloor;
+import game.remote.BluetoothMoteConnector;
+import game.remote.FakeMoteConnector;
+import game.remote.MoteAddressCache;
+import game.remote.MoteConnector;
+import game.remote.MotejMoteConnector;
+import game.remote.Remote;
+import game.remote.RemoteScript;
+import game.remote.SyntheticRemoteScript;
+import game.remote.TraceRemoteScript;
+import game.replay.InputRecorder;
+import game.replay.InputReplay;
 import game.state.GameRunningState;
+import game.state.InputState;
+import game.state.LatencyOverlayState;
 import game.state.MoteFinderScreenState;
+import game.state.PauseScreenState;
 import game.state.ScoreScreenState;
+import game.state.SimulationClock;
 import game.state.StartScreenState;
+import game.target.DebrisPool;
+import game.target.TargetHit;
+import game.target.TargetRendering;
 import tonegod.gui.core.Screen;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
 import com.jme3.app.FlyCamAppState;
 import com.jme3.app.SimpleApplication;
-import com.jme3.audio.AudioNode;
 import com.jme3.collision.CollisionResult;
 import com.jme3.collision.CollisionResults;
-import com.jme3.effect.ParticleEmitter;
-import com.jme3.effect.ParticleMesh;
 import com.jme3.font.BitmapFont;
 import com.jme3.input.KeyInput;
 import com.jme3.input.controls.ActionListener;
@@ -36,6 +59,7 @@ import com.jme3.scene.Node;
 import com.jme3.scene.shape.Box;
 import com.jme3.scene.shape.Quad;
 import com.jme3.system.AppSettings;
+import com.jme3.system.JmeSystem;
 import com.jme3.texture.Texture;
 import com.jme3.texture.Texture.WrapMode;
 import com.jme3.ui.Picture;
@@ -46,15 +70,35 @@ public class Game extends SimpleApplication {
         MOTE_FINDER, START, GAME, SCORE
     }
 
-    private static final int ROLL_MAX = 20;
-    private static final int PITCH_MAX = 10;
+    public static final int MAX_PLAYERS = 4;
+
+    public static final int ROLL_MAX = 20;
+    public static final int PITCH_MAX = 10;
 
     private static final float CAMERA_HEIGHT = 8;
 
     private static final float ROOM_DEPTH = 100;
 
+    private static final String CACHE_FOLDER = "wii-archery";
+    private static final String KNOWN_MOTES_FILE = "motes.txt";
+    private static final String VIRTUAL_MOTES_FILE = "virtual-motes.txt";
+
+    private static final long VIRTUAL_CONNECT_TIME = 500;
+    private static final long VIRTUAL_DISCOVERY_TIME = 2000;
+    private static final long VIRTUAL_DISCOVERY_SPACING = 1500;
+    private static final long VIRTUAL_PHASE = 1700;
+    private static final int VIRTUAL_RATE = 100;
+
+    private static final int FLOOR_TILE_SIZE = 20;
+    private static final Vector2f FLOOR_TEXTURE_SCALE = new Vector2f(3, 3);
+
     private static final int CROSSHAIR_SIZE = 120;
 
+    private static final int DEBRIS_BURSTS = 16;
+
+    private static final ColorRGBA[] PLAYER_COLORS = { ColorRGBA.White,
+            ColorRGBA.Cyan, ColorRGBA.Green, ColorRGBA.Magenta };
+
     private static final ColorRGBA LIGHT_COLOR = ColorRGBA.Cyan;
     private static final ColorRGBA LIGHT_GLOW_COLOR = ColorRGBA.Cyan.mult(0.9f);
 
@@ -64,24 +108,47 @@ public class Game extends SimpleApplication {
             0.2f, 0.95f);
     private static final ColorRGBA TARGET_LIGHT_COLOR = TARGET_COLOR.mult(2);
 
+    private TargetRendering targetRendering = TargetRendering.GEOMETRY;
+    private boolean swarm;
+    private boolean gravityAim;
+    private boolean motejTransport;
+    private boolean latencyLog;
+
     private Screen screen;
 
-    private GameController controller;
+    private GameMoteFinder<Remote> moteFinder;
+    private PlayerFinder playerFinder;
+    private final GameController[] controllers =
+            new GameController[MAX_PLAYERS];
+
+    private InputRecorder inputRecorder;
+    private InputReplay inputReplay;
+    private InputSource inputSource;
+
+    private long seed;
+    private Random seeds;
 
     private State state;
+    private boolean paused;
+    private int stalledPlayers;
+
+    private final LatencyTracker latencyTracker = new LatencyTracker();
+    private final InputState inputState = new InputState(this);
+    private final SimulationClock simulationClock = new SimulationClock();
 
     private MoteFinderScreenState moteFinderScreenState;
     private StartScreenState startScreenState;
     private GameRunningState gameRunningState;
     private ScoreScreenState scoreScreenState;
+    private LatencyOverlayState latencyOverlayState;
+    private PauseScreenState pauseScreenState;
 
-    private final Node floorNode = new Node("Floor Node");
+    private TiledFloor floor;
     private final Node roomNode = new Node("Room Node");
     private Node crosshairNode = new Node("Crosshair Node");
     private final Node targetNode = new Node("Targets Node");
 
-    private AudioNode shootSound;
-    private AudioNode hitSound;
+    private AudioMixer audioMixer;
 
     private int roomX;
     private int roomY;
@@ -96,9 +163,18 @@ public class Game extends SimpleApplication {
     private Material targetMat;
     private Material debrisMat;
 
-    private Picture crosshair;
-    private float crosshairX;
-    private float crosshairY;
+    private DebrisPool debrisPool;
+
+    private final Picture[] crosshairs = new Picture[MAX_PLAYERS];
+    private final float[] crosshairX = new float[MAX_PLAYERS];
+    private final float[] crosshairY = new float[MAX_PLAYERS];
+
+    private final Vector2f shotScreen = new Vector2f();
+    private final Vector3f shotOrigin = new Vector3f();
+    private final Vector3f shotDirection = new Vector3f();
+    private final Ray shotRay = new Ray();
+    private final CollisionResults shotResults = new CollisionResults();
+    private final TargetHit targetHit = new TargetHit();
 
     @Override
     public void simpleInitApp() {
@@ -107,6 +183,12 @@ public class Game extends SimpleApplication {
 
         inputManager.setCursorVisible(false);
 
+        stateManager.attach(inputState);
+        stateManager.attach(simulationClock);
+
+        seed = inputReplay != null ? inputReplay.getSeed() : System.nanoTime();
+        seeds = new Random(seed);
+
         initCamera();
         initLight();
         initSound();
@@ -116,48 +198,93 @@ public class Game extends SimpleApplication {
         initGlow();
         initCrosshair();
         initRoom();
+        initDebris();
 
         moteFinderScreenState = new MoteFinderScreenState(this);
         startScreenState = new StartScreenState(this);
         gameRunningState = new GameRunningState(this);
         scoreScreenState = new ScoreScreenState(this);
+        latencyOverlayState = new LatencyOverlayState(this);
+        pauseScreenState = new PauseScreenState(this);
 
         inputManager.addMapping("Action", new KeyTrigger(KeyInput.KEY_SPACE));
-        inputManager.addListener(actionListener, "Action");
+        inputManager.addMapping("Latency", new KeyTrigger(KeyInput.KEY_F3));
+        inputManager.addListener(actionListener, "Action", "Latency");
 
         rootNode.attachChild(targetNode);
 
-        doMoteFinder();
+        if (inputSource != null) {
+            state = State.MOTE_FINDER;
+            addController(new GameController(this, 0, inputSource));
+        } else {
+            doMoteFinder();
+        }
     }
 
     @Override
     public void simpleUpdate(float tpf) {
+        for (int i = 0; i < MAX_PLAYERS; i++) {
+            updateCrosshairPosition(i);
+        }
+        debrisPool.update();
+        latencyTracker.sceneUpdated(System.nanoTime());
+    }
+
+    @Override
+    public void destroy() {
+        super.destroy();
+        if (playerFinder != null) {
+            playerFinder.stop();
+        }
+        if (inputRecorder != null) {
+            inputRecorder.close();
+        }
+        for (GameController controller : controllers) {
+            if (controller != null && controller.getDroppedEvents() > 0) {
+                System.err.println("Player " + (controller.getPlayer() + 1)
+                        + " controller dropped "
+                        + controller.getDroppedEvents() + " input events");
+            }
+        }
+    }
+
+    private void updateCrosshairPosition(int player) {
+        GameController controller = controllers[player];
         if (controller != null) {
-            crosshairX = (float) (((controller.getRollVal() + ROLL_MAX) * settings
-                    .getWidth()) / (2 * ROLL_MAX));
-            crosshairY = (float) (((-controller.getPitchVal() + PITCH_MAX) * settings
-                    .getHeight()) / (2 * PITCH_MAX));
-        } else {
+            crosshairX[player] = (float) (((controller.getRollVal()
+                    + ROLL_MAX) * settings.getWidth()) / (2 * ROLL_MAX));
+            crosshairY[player] = (float) (((-controller.getPitchVal()
+                    + PITCH_MAX) * settings.getHeight()) / (2 * PITCH_MAX));
+        } else if (player == 0) {
             Vector2f cursorPosition = inputManager.getCursorPosition();
-            crosshairX = cursorPosition.getX();
-            crosshairY = cursorPosition.getY();
+            crosshairX[player] = cursorPosition.getX();
+            crosshairY[player] = cursorPosition.getY();
+        } else {
+            return;
         }
-        crosshair.setPosition(crosshairX - CROSSHAIR_SIZE / 2, crosshairY
-                - CROSSHAIR_SIZE / 2);
+        crosshairs[player].setPosition(crosshairX[player] - CROSSHAIR_SIZE
+                / 2, crosshairY[player] - CROSSHAIR_SIZE / 2);
     }
 
     private ActionListener actionListener = new ActionListener() {
         @Override
         public void onAction(String name, boolean keyPressed, float tpf) {
+            if (name.equals("Latency") && !keyPressed) {
+                if (stateManager.hasState(latencyOverlayState)) {
+                    stateManager.detach(latencyOverlayState);
+                } else {
+                    stateManager.attach(latencyOverlayState);
+                }
+            }
             if (name.equals("Action") && !keyPressed) {
                 switch (state) {
                 case MOTE_FINDER:
                     doStart();
                     break;
                 case START:
-                    showCrosshair();
+                    showCrosshair(0);
                 case GAME:
-                    shoot();
+                    shoot(0, 0);
                     break;
                 default:
                     break;
@@ -185,11 +312,8 @@ public class Game extends SimpleApplication {
     private void initSound() {
         listener.setLocation(cam.getLocation());
 
-        shootSound = new AudioNode(assetManager, "Sounds/shoot.wav");
-        shootSound.setPositional(false);
-
-        hitSound = new AudioNode(assetManager, "Sounds/hit.wav");
-        hitSound.setPositional(false);
+        audioMixer = new AudioMixer(assetManager, audioRenderer);
+        stateManager.attach(audioMixer);
     }
 
     private void initConstants() {
@@ -259,23 +383,22 @@ public class Game extends SimpleApplication {
     }
 
     private void initCrosshair() {
-        crosshair = new Picture("Crosshair");
-        crosshair.setImage(assetManager,
-                "Interface/crosshair_not_shooting.png", true);
-        crosshair.setWidth(CROSSHAIR_SIZE);
-        crosshair.setHeight(CROSSHAIR_SIZE);
-        crosshairNode.attachChild(crosshair);
+        for (int i = 0; i < MAX_PLAYERS; i++) {
+            Picture crosshair = new Picture("Crosshair " + (i + 1));
+            crosshair.setImage(assetManager,
+                    "Interface/crosshair_not_shooting.png", true);
+            crosshair.setWidth(CROSSHAIR_SIZE);
+            crosshair.setHeight(CROSSHAIR_SIZE);
+            crosshair.getMaterial().setColor("Color", PLAYER_COLORS[i]);
+            crosshairs[i] = crosshair;
+        }
+        crosshairNode.attachChild(crosshairs[0]);
     }
 
     private void initRoom() {
-        FloorQuad floorQuad = new FloorQuad(2 * roomX, roomZ);
-        floorQuad.scaleTextureCoordinates(new Vector2f(3, 3));
-        Geometry floor = new Geometry("Floor", floorQuad);
-        floor.setMaterial(floorMat);
-        floor.setLocalTranslation(-roomX, 0, 0);
-        floor.rotate(-FastMath.PI / 2, 0, 0);
-        floorNode.attachChild(floor);
-        roomNode.attachChild(floorNode);
+        floor = new TiledFloor("Floor", 2 * roomX, roomZ, FLOOR_TILE_SIZE,
+                floorMat, FLOOR_TEXTURE_SCALE);
+        roomNode.attachChild(floor);
 
         Quad leftWallQuad = new Quad(roomZ, roomY);
         leftWallQuad.scaleTextureCoordinates(new Vector2f(1, .5f));
@@ -317,50 +440,20 @@ public class Game extends SimpleApplication {
         roomNode.attachChild(backLight);
     }
 
-    private void initDebris(Vector3f loc) {
-        ParticleEmitter debris = new ParticleEmitter("Debris",
-                ParticleMesh.Type.Triangle, 8);
-        debris.setMaterial(debrisMat);
-
-        debris.setImagesX(10);
-        debris.setImagesY(1);
-        debris.setSelectRandomImage(true);
-
-        debris.setNumParticles(8);
-
-        debris.setParticlesPerSec(0);
-
-        debris.setStartSize(0.75f);
-        debris.setEndSize(1.25f);
-
-        debris.setStartColor(TARGET_COLOR);
-        debris.setEndColor(new ColorRGBA(TARGET_COLOR.getRed(), TARGET_COLOR
-                .getGreen(), TARGET_COLOR.getBlue(), 0.1f));
-
-        debris.getParticleInfluencer()
-                .setInitialVelocity(new Vector3f(2, 4, 0));
-        debris.getParticleInfluencer().setVelocityVariation(1);
-
-        debris.setLowLife(0.7f);
-        debris.setHighLife(1.4f);
-
-        debris.setRotateSpeed(3);
-        debris.setRandomAngle(true);
-
-        debris.setGravity(0, 10, 0);
-
-        debris.setLocalTranslation(loc);
-        rootNode.attachChild(debris);
-        debris.emitAllParticles();
+    private void initDebris() {
+        debrisPool = new DebrisPool(DEBRIS_BURSTS, debrisMat, TARGET_COLOR,
+                rootNode);
     }
 
-    public void showCrosshair() {
+    public void showCrosshair(int player) {
         if (state == State.START) {
+            crosshairNode.attachChild(crosshairs[player]);
             guiNode.attachChild(crosshairNode);
         }
     }
 
-    public void updateCrosshair(ShootState shootState) {
+    public void updateCrosshair(int player, ShootState shootState) {
+        Picture crosshair = crosshairs[player];
         switch (shootState) {
         case NOT_SHOOTING:
             crosshair.setImage(assetManager,
@@ -378,50 +471,116 @@ public class Game extends SimpleApplication {
         }
     }
 
-    public void shoot() {
-        shootSound.playInstance();
-
-        CollisionResults results = new CollisionResults();
-        Vector2f click2d = new Vector2f(crosshairX, crosshairY);
-        Vector3f click3d = cam.getWorldCoordinates(click2d, 0);
-        Vector3f dir = cam.getWorldCoordinates(click2d, 1).subtractLocal(
-                click3d);
-        Ray ray = new Ray(click3d, dir);
-        targetNode.collideWith(ray, results);
-        if (results.size() > 0) {
-            hit(results.getClosestCollision());
-        } else {
-            miss();
+    public void shoot(int player, float timeOffset) {
+        if (paused) {
+            return;
         }
-    };
+        latencyTracker.shotFired(System.nanoTime());
+        audioMixer.play(Sound.SHOOT);
 
-    private void hit(CollisionResult collision) {
-        hitSound.playInstance();
-        initDebris(collision.getContactPoint());
+        updateCrosshairPosition(player);
+        shotScreen.set(crosshairX[player], crosshairY[player]);
+        cam.getWorldCoordinates(shotScreen, 0, shotOrigin);
+        cam.getWorldCoordinates(shotScreen, 1, shotDirection)
+                .subtractLocal(shotOrigin).normalizeLocal();
 
         switch (state) {
-        case START:
-            startScreenState.hit(collision);
-            break;
         case GAME:
-            gameRunningState.hit(collision);
+            if (gameRunningState.pick(shotOrigin, shotDirection, timeOffset,
+                    targetHit)) {
+                hit(player, targetHit.getContactPoint());
+            } else {
+                gameRunningState.miss(player);
+            }
+            break;
+        case START:
+            shotRay.setOrigin(shotOrigin);
+            shotRay.setDirection(shotDirection);
+            shotResults.clear();
+            targetNode.collideWith(shotRay, shotResults);
+            if (shotResults.size() > 0) {
+                CollisionResult collision = shotResults.getClosestCollision();
+                hit(player, collision.getContactPoint());
+                startScreenState.hit(collision);
+            }
             break;
         default:
             break;
         }
+    };
+
+    private void hit(int player, Vector3f contactPoint) {
+        audioMixer.play(Sound.HIT);
+        debrisPool.emit(contactPoint);
+        if (state == State.GAME) {
+            gameRunningState.hit(player, targetHit);
+        }
     }
 
-    private void miss() {
-        switch (state) {
-        case GAME:
-            gameRunningState.miss();
-        default:
-            break;
+    public void checkControllers() {
+        long now = System.nanoTime();
+        int stalled = 0;
+        for (int i = 0; i < MAX_PLAYERS; i++) {
+            GameController controller = controllers[i];
+            if (controller == null) {
+                continue;
+            }
+            if (!controller.isReconnecting() && controller.isLost(now)) {
+                controller.setReconnecting(true);
+                getPlayerFinder().reconnect(i, controller.detach());
+            }
+            if (controller.isStalled(now)) {
+                stalled |= 1 << i;
+            }
+        }
+        if (stalled != stalledPlayers) {
+            stalledPlayers = stalled;
+            pauseScreenState.setPlayers(stalled);
+        }
+        setPaused(stalled != 0 && state == State.GAME);
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public void setPaused(boolean paused) {
+        if (paused == this.paused) {
+            return;
+        }
+        this.paused = paused;
+        simulationClock.setPaused(paused);
+        if (paused) {
+            stateManager.attach(pauseScreenState);
+        } else {
+            stateManager.detach(pauseScreenState);
         }
     }
 
-    public void setStats(GameStats stats) {
+    public void setStats(GameStats[] stats) {
         scoreScreenState.setStats(stats);
+        for (GameStats playerStats : stats) {
+            if (inputRecorder != null) {
+                inputRecorder.recordStats(simulationClock.getTick(),
+                        playerStats);
+            }
+            if (inputReplay != null) {
+                inputReplay.verify(playerStats);
+            }
+        }
+    }
+
+    public void replayState(int code) {
+        if (code == State.START.ordinal() && state == State.MOTE_FINDER) {
+            doStart();
+        }
+    }
+
+    private void recordState() {
+        if (inputRecorder != null) {
+            inputRecorder.recordState(simulationClock.getTick(),
+                    state.ordinal());
+        }
     }
 
     public void doMoteFinder() {
@@ -435,6 +594,7 @@ public class Game extends SimpleApplication {
         stateManager.detach(scoreScreenState);
         stateManager.attach(startScreenState);
         state = State.START;
+        recordState();
     }
 
     public void doGame() {
@@ -442,6 +602,7 @@ public class Game extends SimpleApplication {
         stateManager.detach(startScreenState);
         stateManager.attach(gameRunningState);
         state = State.GAME;
+        recordState();
     }
 
     public void doScore() {
@@ -449,18 +610,121 @@ public class Game extends SimpleApplication {
         stateManager.detach(gameRunningState);
         stateManager.attach(scoreScreenState);
         state = State.SCORE;
+        recordState();
+
+        if (latencyLog || stateManager.hasState(latencyOverlayState)) {
+            if (!latencyTracker.isEmpty()) {
+                latencyTracker.dump(System.out);
+            }
+        }
+        latencyTracker.reset();
+    }
+
+    public void addController(GameController controller) {
+        controllers[controller.getPlayer()] = controller;
+        simulationClock.addListener(controller);
+        if (inputRecorder != null) {
+            inputRecorder.begin(seed, settings.getWidth(),
+                    settings.getHeight(), simulationClock.getTick());
+        }
+    }
+
+    public GameController getController(int player) {
+        return controllers[player];
+    }
+
+    public int getPlayerCount() {
+        for (int i = MAX_PLAYERS - 1; i > 0; i--) {
+            if (controllers[i] != null) {
+                return i + 1;
+            }
+        }
+        return 1;
+    }
+
+    public ColorRGBA getPlayerColor(int player) {
+        return PLAYER_COLORS[player];
+    }
+
+    public long nextSeed() {
+        return seeds.nextLong();
+    }
+
+    public InputRecorder getInputRecorder() {
+        return inputRecorder;
+    }
+
+    public void setInputRecorder(InputRecorder inputRecorder) {
+        this.inputRecorder = inputRecorder;
+    }
+
+    private static File getCacheFolder() {
+        return new File(JmeSystem.getStorageFolder(), CACHE_FOLDER);
+    }
+
+    public GameMoteFinder<Remote> getMoteFinder() {
+        if (moteFinder == null) {
+            MoteConnector<Remote> connector = motejTransport
+                    ? new MotejMoteConnector() : new BluetoothMoteConnector();
+            moteFinder = new GameMoteFinder<Remote>(connector,
+                    new MoteAddressCache(new File(getCacheFolder(),
+                            KNOWN_MOTES_FILE)));
+        }
+        return moteFinder;
+    }
+
+    public PlayerFinder getPlayerFinder() {
+        if (playerFinder == null) {
+            playerFinder = new PlayerFinder(this);
+        }
+        return playerFinder;
+    }
+
+    public void setVirtualRemotes(RemoteScript[] scripts, int rate) {
+        FakeMoteConnector connector = new FakeMoteConnector(1);
+        for (int i = 0; i < scripts.length; i++) {
+            String address = String.format("%012X", i + 1);
+            connector.addDevice(address, VIRTUAL_CONNECT_TIME,
+                    VIRTUAL_DISCOVERY_TIME + i * VIRTUAL_DISCOVERY_SPACING,
+                    true);
+            connector.setScript(address, scripts[i], rate);
+        }
+        setMoteFinder(new GameMoteFinder<Remote>(connector,
+                new MoteAddressCache(new File(getCacheFolder(),
+                        VIRTUAL_MOTES_FILE))));
+    }
+
+    public void setMoteFinder(GameMoteFinder<Remote> moteFinder) {
+        this.moteFinder = moteFinder;
+    }
+
+    public void setInputReplay(InputReplay inputReplay) {
+        this.inputReplay = inputReplay;
+        this.inputSource = inputReplay;
     }
 
-    public void setController(GameController controller) {
-        this.controller = controller;
+    public void setInputSource(InputSource inputSource) {
+        this.inputSource = inputSource;
+    }
+
+    public AudioMixer getAudioMixer() {
+        return audioMixer;
+    }
+
+    public LatencyTracker getLatencyTracker() {
+        return latencyTracker;
+    }
+
+    public SimulationClock getSimulationClock() {
+        return simulationClock;
     }
 
     public Screen getScreen() {
         return screen;
     }
 
-    public Node getFloorNode() {
-        return floorNode;
+    public TiledFloor getFloor() {
+        return floor;
     }
 
     public Node getTargetNode() {
@@ -491,15 +755,105 @@ public class Game extends SimpleApplication {
         return TARGET_LIGHT_COLOR;
     }
 
+    public DebrisPool getDebrisPool() {
+        return debrisPool;
+    }
+
     public Material getTargetMat() {
         return targetMat;
     }
 
-    public static void main(String[] args) {
+    public TargetRendering getTargetRendering() {
+        return targetRendering;
+    }
+
+    public void setTargetRendering(TargetRendering targetRendering) {
+        this.targetRendering = targetRendering;
+    }
+
+    public boolean isSwarm() {
+        return swarm;
+    }
+
+    public void setSwarm(boolean swarm) {
+        this.swarm = swarm;
+    }
+
+    public boolean isGravityAim() {
+        return gravityAim;
+    }
+
+    public void setGravityAim(boolean gravityAim) {
+        this.gravityAim = gravityAim;
+    }
+
+    public boolean isMotejTransport() {
+        return motejTransport;
+    }
+
+    public void setMotejTransport(boolean motejTransport) {
+        this.motejTransport = motejTransport;
+    }
+
+    public boolean isLatencyLog() {
+        return latencyLog;
+    }
+
+    public void setLatencyLog(boolean latencyLog) {
+        this.latencyLog = latencyLog;
+    }
+
+    public static void main(String[] args) throws IOException {
         AppSettings settings = new AppSettings(true);
         settings.setTitle("Game");
 
         Game game = new Game();
+        boolean virtual = false;
+        File virtualTrace = null;
+        int virtualRemotes = 1;
+        int virtualRate = VIRTUAL_RATE;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("-batched")) {
+                game.setTargetRendering(TargetRendering.BATCHED);
+            } else if (arg.equals("-swarm")) {
+                game.setTargetRendering(TargetRendering.BATCHED);
+                game.setSwarm(true);
+            } else if (arg.equals("-gravity-aim")) {
+                game.setGravityAim(true);
+            } else if (arg.equals("-motej")) {
+                game.setMotejTransport(true);
+            } else if (arg.equals("-latency")) {
+                game.setLatencyLog(true);
+            } else if (arg.equals("-record") && i + 1 < args.length) {
+                game.setInputRecorder(new InputRecorder(new File(args[++i])));
+            } else if (arg.equals("-replay") && i + 1 < args.length) {
+                InputReplay replay = new InputReplay(game, new File(args[++i]));
+                settings.setResolution(replay.getWidth(), replay.getHeight());
+                game.setInputReplay(replay);
+                game.setShowSettings(false);
+            } else if (arg.equals("-virtual")) {
+                virtual = true;
+            } else if (arg.equals("-virtual-trace") && i + 1 < args.length) {
+                virtual = true;
+                virtualTrace = new File(args[++i]);
+            } else if (arg.equals("-virtual-remotes") && i + 1 < args.length) {
+                virtual = true;
+                virtualRemotes = Math.max(1,
+                        Math.min(MAX_PLAYERS, Integer.parseInt(args[++i])));
+            } else if (arg.equals("-virtual-rate") && i + 1 < args.length) {
+                virtualRate = Integer.parseInt(args[++i]);
+            }
+        }
+        if (virtual) {
+            RemoteScript[] scripts = new RemoteScript[virtualRemotes];
+            for (int i = 0; i < scripts.length; i++) {
+                scripts[i] = virtualTrace != null ? new TraceRemoteScript(
+                        virtualTrace, true) : new SyntheticRemoteScript(i
+                        * VIRTUAL_PHASE);
+            }
+            game.setVirtualRemotes(scripts, virtualRate);
+        }
         game.setSettings(settings);
         game.setDisplayFps(false);
         game.setDisplayStatView(false);
@@ -1,61 +1,55 @@
 package game;
 
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import game.remote.MoteAddressCache;
+import game.remote.MoteConnector;
+import game.remote.MoteSearch;
 
-import motej.Mote;
-import motej.MoteFinder;
-import motej.MoteFinderListener;
+import java.util.HashSet;
+import java.util.Set;
 
-public class GameMoteFinder implements MoteFinderListener {
+public class GameMoteFinder<T> {
 
-    private static final long FIND_MOTE_TIME = 30000;
+    private final MoteConnector<T> connector;
+    private final MoteAddressCache cache;
 
-    private final MoteFinder finder;
-    private final Lock lock = new ReentrantLock();
-    private final Condition condition = lock.newCondition();
+    private final Set<String> connected = new HashSet<String>();
 
-    private Mote mote;
-
-    public GameMoteFinder() {
-        finder = MoteFinder.getMoteFinder();
-        finder.addMoteFinderListener(this);
+    public GameMoteFinder(MoteConnector<T> connector, MoteAddressCache cache) {
+        this.connector = connector;
+        this.cache = cache;
     }
 
-    public Mote findMote() throws InterruptedException {
-        lock.lock();
-
-        try {
-            long startTime = System.currentTimeMillis();
-            while (System.currentTimeMillis() - startTime < FIND_MOTE_TIME) {
-                finder.startDiscovery();
-                condition.await(15, TimeUnit.SECONDS);
-                finder.stopDiscovery();
-                if (mote != null) {
-                    break;
-                }
-                Thread.sleep(1000);
-            }
-        } finally {
-            finder.stopDiscovery();
-            lock.unlock();
+    public MoteSearch<T> findMote(final MoteSearch.Callback<T> callback) {
+        Set<String> exclude;
+        synchronized (connected) {
+            exclude = new HashSet<String>(connected);
         }
-
-        return mote;
+        MoteSearch<T> search = new MoteSearch<T>(connector, cache, exclude,
+                new MoteSearch.Callback<T>() {
+                    @Override
+                    public void moteConnected(T mote) {
+                        synchronized (connected) {
+                            connected.add(connector.getAddress(mote));
+                        }
+                        if (callback != null) {
+                            callback.moteConnected(mote);
+                        }
+                    }
+                });
+        search.start();
+        return search;
     }
 
-    @Override
-    public void moteFound(Mote mote) {
-        lock.lock();
+    public int getMoteCount() {
+        synchronized (connected) {
+            return connected.size();
+        }
+    }
 
-        try {
-            this.mote = mote;
-            mote.setPlayerLeds(new boolean[] { true, false, false, false });
-        } finally {
-            condition.signalAll();
-            lock.unlock();
+    public void disconnect(T mote) {
+        synchronized (connected) {
+            connected.remove(connector.getAddress(mote));
         }
+        connector.disconnect(mote);
     }
 }
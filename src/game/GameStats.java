@@ -2,25 +2,54 @@ package game;
 
 public class GameStats {
 
+    private final int player;
     private final int score;
     private final int shotsHit;
     private final int shotsTotal;
     private final int targetsHit;
     private final int targetsTotal;
+    private final int targetPoolSize;
+    private final int targetPoolHits;
+    private final int targetPoolMisses;
 
-    public GameStats(int score, int shotsHit, int shotsTotal, int targetsHit,
-            int targetsTotal) {
+    public GameStats(int player, int score, int shotsHit, int shotsTotal,
+            int targetsHit, int targetsTotal, int targetPoolSize,
+            int targetPoolHits, int targetPoolMisses) {
+        this.player = player;
         this.score = score;
         this.shotsHit = shotsHit;
         this.shotsTotal = shotsTotal;
         this.targetsHit = targetsHit;
         this.targetsTotal = targetsTotal;
+        this.targetPoolSize = targetPoolSize;
+        this.targetPoolHits = targetPoolHits;
+        this.targetPoolMisses = targetPoolMisses;
+    }
+
+    public int getPlayer() {
+        return player;
     }
 
     public int getScore() {
         return score;
     }
 
+    public int getShotsHit() {
+        return shotsHit;
+    }
+
+    public int getShotsTotal() {
+        return shotsTotal;
+    }
+
+    public int getTargetsHit() {
+        return targetsHit;
+    }
+
+    public int getTargetsTotal() {
+        return targetsTotal;
+    }
+
     public float getAccuracy() {
         return shotsTotal != 0 ? (float) shotsHit / shotsTotal : 0;
     }
@@ -28,4 +57,16 @@ public class GameStats {
     public float getPercentTargetsHit() {
         return targetsTotal != 0 ? (float) targetsHit / targetsTotal : 0;
     }
+
+    public int getTargetPoolSize() {
+        return targetPoolSize;
+    }
+
+    public int getTargetPoolHits() {
+        return targetPoolHits;
+    }
+
+    public int getTargetPoolMisses() {
+        return targetPoolMisses;
+    }
 }
@@ -0,0 +1,190 @@
+package game;
+
+import game.controller.GameController;
+import game.remote.MoteSearch;
+import game.remote.Remote;
+import game.remote.RemoteReport;
+import game.remote.ReportListener;
+
+import java.util.concurrent.Callable;
+
+import motej.request.ReportModeRequest;
+
+public class PlayerFinder {
+
+    public interface Listener {
+        void moteConnected(int player);
+
+        void nunchukConnected(int player);
+
+        void motionPlusConnected(int player);
+    }
+
+    private final Game game;
+    private final Player[] players = new Player[Game.MAX_PLAYERS];
+
+    private volatile Listener listener;
+
+    private MoteSearch<Remote> search;
+    private boolean running;
+
+    public PlayerFinder(Game game) {
+        this.game = game;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    public synchronized void start() {
+        if (!running) {
+            running = true;
+            search();
+        }
+    }
+
+    public synchronized void stop() {
+        running = false;
+        if (search != null) {
+            search.cancel(true);
+            search = null;
+        }
+    }
+
+    public void reconnect(final int player, final Remote mote) {
+        Thread thread = new Thread("Player " + (player + 1) + " Reconnect") {
+            @Override
+            public void run() {
+                if (mote != null) {
+                    game.getMoteFinder().disconnect(mote);
+                }
+                synchronized (PlayerFinder.this) {
+                    players[player] = null;
+                    if (search != null) {
+                        search.cancel(true);
+                    }
+                    search();
+                }
+            }
+        };
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private synchronized void search() {
+        search = null;
+        if (!running) {
+            return;
+        }
+        for (int i = 0; i < players.length; i++) {
+            if (players[i] == null) {
+                final int player = i;
+                search = game.getMoteFinder().findMote(
+                        new MoteSearch.Callback<Remote>() {
+                            @Override
+                            public void moteConnected(Remote mote) {
+                                connected(player, mote);
+                            }
+                        });
+                return;
+            }
+        }
+    }
+
+    private void connected(int player, Remote mote) {
+        synchronized (this) {
+            if (!running) {
+                game.getMoteFinder().disconnect(mote);
+                return;
+            }
+            players[player] = new Player(player, mote);
+        }
+        players[player].setup();
+        search();
+    }
+
+    private class Player implements ReportListener {
+
+        private static final int READY = RemoteReport.BUTTONS
+                | RemoteReport.NUNCHUK | RemoteReport.MOTION_PLUS;
+
+        private final int index;
+        private final Remote mote;
+
+        private int received;
+
+        private boolean moteConnected;
+        private boolean nunchukConnected;
+        private boolean motionPlusConnected;
+        private boolean ready;
+
+        private Player(int index, Remote mote) {
+            this.index = index;
+            this.mote = mote;
+        }
+
+        private void setup() {
+            boolean[] leds = new boolean[Game.MAX_PLAYERS];
+            leds[index] = true;
+            mote.setPlayerLeds(leds);
+            mote.addReportListener(this);
+            mote.activateMotionPlusNunchuk();
+            mote.setReportMode(ReportModeRequest.DATA_REPORT_0x35, true);
+        }
+
+        private void update() {
+            if (ready || !moteConnected || !nunchukConnected
+                    || !motionPlusConnected) {
+                return;
+            }
+            ready = true;
+            GameController controller = game.getController(index);
+            if (controller == null) {
+                game.addController(new GameController(game, index, mote));
+                return;
+            }
+            controller.attach(mote);
+        }
+
+        @Override
+        public void reportReceived(RemoteReport report) {
+            final int found = report.getContents() & READY & ~received;
+            if (found == 0) {
+                return;
+            }
+            received |= found;
+            if (received == READY) {
+                mote.removeReportListener(this);
+            }
+            game.enqueue(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    connected(found);
+                    return null;
+                }
+            });
+        }
+
+        private void connected(int found) {
+            if ((found & RemoteReport.BUTTONS) != 0) {
+                moteConnected = true;
+                if (listener != null) {
+                    listener.moteConnected(index);
+                }
+            }
+            if ((found & RemoteReport.NUNCHUK) != 0) {
+                nunchukConnected = true;
+                if (listener != null) {
+                    listener.nunchukConnected(index);
+                }
+            }
+            if ((found & RemoteReport.MOTION_PLUS) != 0) {
+                motionPlusConnected = true;
+                if (listener != null) {
+                    listener.motionPlusConnected(index);
+                }
+            }
+            update();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package game.audio;
+
+import java.util.concurrent.locks.LockSupport;
+
+import com.jme3.app.Application;
+import com.jme3.app.state.AbstractAppState;
+import com.jme3.app.state.AppStateManager;
+import com.jme3.asset.AssetManager;
+import com.jme3.audio.AudioData;
+import com.jme3.audio.AudioKey;
+import com.jme3.audio.AudioNode;
+import com.jme3.audio.AudioRenderer;
+import com.jme3.audio.AudioSource.Status;
+
+public class AudioMixer extends AbstractAppState implements Runnable {
+
+    private static final Sound[] SOUNDS = Sound.values();
+
+    private static final int CAPACITY = 1 << 6;
+    private static final int MASK = CAPACITY - 1;
+
+    private final AudioRenderer renderer;
+    private final AudioNode[][] voices = new AudioNode[SOUNDS.length][];
+    private final long[][] startTimes = new long[SOUNDS.length][];
+
+    private final boolean[] triggered = new boolean[SOUNDS.length];
+    private final int[] slots = new int[CAPACITY];
+    private volatile long head;
+    private volatile long tail;
+
+    private Thread mixer;
+    private volatile boolean closed;
+
+    private int coalesced;
+    private int overflowed;
+    private volatile int played;
+    private volatile int stolen;
+    private volatile int dropped;
+
+    public AudioMixer(AssetManager assetManager, AudioRenderer renderer) {
+        this.renderer = renderer;
+
+        for (Sound sound : SOUNDS) {
+            AudioKey key = new AudioKey(sound.getPath(), false);
+            AudioData data = assetManager.loadAudio(key);
+            int count = sound.getCategory().getVoices();
+            AudioNode[] soundVoices = new AudioNode[count];
+            for (int i = 0; i < count; i++) {
+                AudioNode voice = new AudioNode(data, key);
+                voice.setPositional(false);
+                voice.setVolume(sound.getVolume());
+                soundVoices[i] = voice;
+            }
+            voices[sound.ordinal()] = soundVoices;
+            startTimes[sound.ordinal()] = new long[count];
+        }
+    }
+
+    @Override
+    public void initialize(AppStateManager stateManager, Application app) {
+        super.initialize(stateManager, app);
+
+        closed = false;
+        mixer = new Thread(this, "Audio Mixer");
+        mixer.setDaemon(true);
+        mixer.start();
+    }
+
+    @Override
+    public void cleanup() {
+        super.cleanup();
+
+        closed = true;
+        LockSupport.unpark(mixer);
+        try {
+            mixer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void play(Sound sound) {
+        int index = sound.ordinal();
+        if (triggered[index]) {
+            coalesced++;
+            return;
+        }
+        triggered[index] = true;
+    }
+
+    @Override
+    public void update(float tpf) {
+        long start = head;
+        for (int i = 0; i < SOUNDS.length; i++) {
+            if (!triggered[i]) {
+                continue;
+            }
+            triggered[i] = false;
+            long h = head;
+            if (h - tail >= CAPACITY) {
+                overflowed++;
+                continue;
+            }
+            slots[(int) (h & MASK)] = i;
+            head = h + 1;
+        }
+        if (head != start) {
+            LockSupport.unpark(mixer);
+        }
+    }
+
+    @Override
+    public void run() {
+        while (!closed) {
+            long t = tail;
+            if (t == head) {
+                LockSupport.park(this);
+                continue;
+            }
+            start(SOUNDS[slots[(int) (t & MASK)]]);
+            tail = t + 1;
+        }
+    }
+
+    private void start(Sound sound) {
+        SoundCategory category = sound.getCategory();
+        AudioNode[] soundVoices = voices[sound.ordinal()];
+        long[] soundStartTimes = startTimes[sound.ordinal()];
+
+        int free = -1;
+        for (int i = 0; i < soundVoices.length; i++) {
+            if (soundVoices[i].getStatus() != Status.Playing) {
+                free = i;
+                break;
+            }
+        }
+
+        int playing = 0;
+        int victimSound = -1;
+        int victimVoice = -1;
+        for (int s = 0; s < SOUNDS.length; s++) {
+            if (SOUNDS[s].getCategory() != category) {
+                continue;
+            }
+            for (int i = 0; i < voices[s].length; i++) {
+                if (voices[s][i].getStatus() != Status.Playing) {
+                    continue;
+                }
+                playing++;
+                if (victimSound < 0
+                        || isStealable(s, i, victimSound, victimVoice)) {
+                    victimSound = s;
+                    victimVoice = i;
+                }
+            }
+        }
+
+        if (playing >= category.getVoices()) {
+            if (SOUNDS[victimSound].getPriority() > sound.getPriority()) {
+                dropped = dropped + 1;
+                return;
+            }
+            renderer.stopSource(voices[victimSound][victimVoice]);
+            stolen = stolen + 1;
+            if (free < 0) {
+                free = victimVoice;
+            }
+        }
+
+        soundStartTimes[free] = System.nanoTime();
+        renderer.playSource(soundVoices[free]);
+        played = played + 1;
+    }
+
+    private boolean isStealable(int sound, int voice, int victimSound,
+            int victimVoice) {
+        int priority = SOUNDS[sound].getPriority();
+        int victimPriority = SOUNDS[victimSound].getPriority();
+        if (priority != victimPriority) {
+            return priority < victimPriority;
+        }
+        return startTimes[sound][voice] < startTimes[victimSound][victimVoice];
+    }
+
+    public int getPlaying() {
+        int playing = 0;
+        for (AudioNode[] soundVoices : voices) {
+            for (AudioNode voice : soundVoices) {
+                if (voice.getStatus() == Status.Playing) {
+                    playing++;
+                }
+            }
+        }
+        return playing;
+    }
+
+    public int getVoices() {
+        int count = 0;
+        for (SoundCategory category : SoundCategory.values()) {
+            count += category.getVoices();
+        }
+        return count;
+    }
+
+    public int getPlayed() {
+        return played;
+    }
+
+    public int getStolen() {
+        return stolen;
+    }
+
+    public int getDropped() {
+        return dropped + overflowed;
+    }
+
+    public int getCoalesced() {
+        return coalesced;
+    }
+}
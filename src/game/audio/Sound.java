@@ -0,0 +1,46 @@
+package game.audio;
+
+public enum Sound {
+
+    SHOOT("Sounds/shoot.wav", SoundCategory.SHOT, 1, 1),
+    HIT("Sounds/hit.wav", SoundCategory.HIT, 1, 1),
+    TARGET("Sounds/target.wav", SoundCategory.TARGET, 1, 0.25f),
+    START_COUNTDOWN("Sounds/start_countdown.wav", SoundCategory.INTERFACE, 1,
+            1),
+    START_COUNTDOWN_ENDED("Sounds/start_countdown_ended.wav",
+            SoundCategory.INTERFACE, 2, 1),
+    GAME_COUNTDOWN("Sounds/game_countdown.wav", SoundCategory.INTERFACE, 1, 1),
+    GAME_COUNTDOWN_ENDED("Sounds/game_countdown_ended.wav",
+            SoundCategory.INTERFACE, 2, 1),
+    STATS("Sounds/stats.wav", SoundCategory.INTERFACE, 1, 1),
+    SCORE("Sounds/score.wav", SoundCategory.INTERFACE, 2, 1);
+
+    private final String path;
+    private final SoundCategory category;
+    private final int priority;
+    private final float volume;
+
+    private Sound(String path, SoundCategory category, int priority,
+            float volume) {
+        this.path = path;
+        this.category = category;
+        this.priority = priority;
+        this.volume = volume;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public SoundCategory getCategory() {
+        return category;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public float getVolume() {
+        return volume;
+    }
+}
@@ -0,0 +1,16 @@
+package game.audio;
+
+public enum SoundCategory {
+
+    SHOT(4), HIT(4), TARGET(3), INTERFACE(2);
+
+    private final int voices;
+
+    private SoundCategory(int voices) {
+        this.voices = voices;
+    }
+
+    public int getVoices() {
+        return voices;
+    }
+}
@@ -0,0 +1,123 @@
+package game.controller;
+
+public class AimFilter {
+
+    public static final int ONE_G = 1000;
+
+    private static final double GRAVITY_TOLERANCE = 0.1 * ONE_G;
+    private static final double GRAVITY_TIME_CONSTANT = 1;
+
+    private static final double REST_RATE = 3;
+    private static final double REST_DELAY = 0.25;
+    private static final double BIAS_TIME_CONSTANT = 2;
+
+    private static final double MIN_CUTOFF = 1;
+    private static final double BETA = 1;
+    private static final double DERIVATIVE_CUTOFF = 1;
+
+    private final OneEuroFilter rollSmoothing = new OneEuroFilter(MIN_CUTOFF,
+            BETA, DERIVATIVE_CUTOFF);
+    private final OneEuroFilter pitchSmoothing = new OneEuroFilter(
+            MIN_CUTOFF, BETA, DERIVATIVE_CUTOFF);
+
+    private boolean gravityFusion = false;
+    private boolean gravityValid = false;
+    private boolean gravityInitialized = false;
+    private double gravityPitch;
+
+    private long lastTime = -1;
+    private double restTime = 0;
+    private double rollBias = 0;
+    private double pitchBias = 0;
+
+    private double roll = 0;
+    private double pitch = 0;
+    private double rollOffset = 0;
+    private double pitchOffset = 0;
+
+    public void updateGravity(int x, int y, int z) {
+        double horizontal = Math.sqrt((double) x * x + (double) z * z);
+        double norm = Math.sqrt(horizontal * horizontal + (double) y * y);
+        gravityValid = Math.abs(norm - ONE_G) < GRAVITY_TOLERANCE;
+        if (!gravityValid || !gravityFusion) {
+            return;
+        }
+
+        gravityPitch = Math.toDegrees(StrictMath.atan2(-y, horizontal));
+        if (!gravityInitialized) {
+            gravityInitialized = true;
+            pitch = gravityPitch;
+        }
+    }
+
+    public void updateRates(long time, double rollSpeed, double pitchSpeed) {
+        if (lastTime < 0) {
+            lastTime = time;
+            return;
+        }
+        double dt = (double) (time - lastTime) / 1000;
+        lastTime = time;
+        if (dt <= 0) {
+            return;
+        }
+
+        double rollRate = rollSpeed - rollBias;
+        double pitchRate = pitchSpeed - pitchBias;
+        if (gravityValid && Math.abs(rollRate) < REST_RATE
+                && Math.abs(pitchRate) < REST_RATE) {
+            restTime += dt;
+        } else {
+            restTime = 0;
+        }
+        if (restTime >= REST_DELAY) {
+            double gain = dt / (BIAS_TIME_CONSTANT + dt);
+            rollBias += gain * rollRate;
+            pitchBias += gain * pitchRate;
+            rollRate = rollSpeed - rollBias;
+            pitchRate = pitchSpeed - pitchBias;
+        }
+
+        roll += rollRate * dt;
+        pitch += pitchRate * dt;
+        if (gravityValid && gravityFusion) {
+            double gain = dt / (GRAVITY_TIME_CONSTANT + dt);
+            pitch += gain * (gravityPitch - pitch);
+        }
+
+        rollSmoothing.filter(roll, dt);
+        pitchSmoothing.filter(pitch, dt);
+    }
+
+    public void recenter() {
+        rollOffset = rollSmoothing.getValue();
+        pitchOffset = pitchSmoothing.getValue();
+    }
+
+    public void setGravityFusion(boolean gravityFusion) {
+        this.gravityFusion = gravityFusion;
+    }
+
+    public boolean isGravityFusion() {
+        return gravityFusion;
+    }
+
+    public boolean isAtRest() {
+        return restTime >= REST_DELAY;
+    }
+
+    public double getRollBias() {
+        return rollBias;
+    }
+
+    public double getPitchBias() {
+        return pitchBias;
+    }
+
+    public double getRoll() {
+        return rollSmoothing.getValue() - rollOffset;
+    }
+
+    public double getPitch() {
+        return pitchSmoothing.getValue() - pitchOffset;
+    }
+}
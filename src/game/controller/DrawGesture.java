@@ -0,0 +1,121 @@
+package game.controller;
+
+public class DrawGesture {
+
+    private static final int DRAWING_ACCELERATION = 140;
+    private static final int READY_ACCELERATION = 130;
+
+    private static final long READY_TIMEOUT = 1000;
+
+    private static final double SMOOTHING_TIME = 20;
+    private static final long HOLD_TIME = 10;
+    private static final long SLOPE_WINDOW = 30;
+    private static final double SETTLED_SLOPE = 0.4;
+
+    private static final int CAPACITY = 16;
+    private static final int MASK = CAPACITY - 1;
+
+    private final long[] times = new long[CAPACITY];
+    private final double[] values = new double[CAPACITY];
+    private long head;
+    private long windowStart;
+
+    private long lastTime = -1;
+    private double smoothed;
+    private double slope;
+
+    private ShootState state = ShootState.NOT_SHOOTING;
+    private long loadTime;
+    private long holdStart = -1;
+
+    public ShootState getState() {
+        return state;
+    }
+
+    public double getSmoothed() {
+        return smoothed;
+    }
+
+    public double getSlope() {
+        return slope;
+    }
+
+    public void start(long time) {
+        setState(ShootState.LOADING);
+        loadTime = time;
+    }
+
+    public void cancel() {
+        setState(ShootState.NOT_SHOOTING);
+    }
+
+    public ShootState update(long time, int y) {
+        filter(time, y);
+
+        switch (state) {
+        case LOADING:
+            if (hold(time, smoothed > DRAWING_ACCELERATION)) {
+                setState(ShootState.DRAWING);
+            }
+            break;
+        case DRAWING:
+            if (hold(time, smoothed < READY_ACCELERATION
+                    && Math.abs(slope) < SETTLED_SLOPE)) {
+                setState(ShootState.READY);
+            }
+            break;
+        default:
+            return state;
+        }
+
+        if ((state == ShootState.LOADING || state == ShootState.DRAWING)
+                && time - loadTime > READY_TIMEOUT) {
+            setState(ShootState.READY);
+        }
+        return state;
+    }
+
+    private void setState(ShootState state) {
+        this.state = state;
+        holdStart = -1;
+    }
+
+    private boolean hold(long time, boolean condition) {
+        if (!condition) {
+            holdStart = -1;
+            return false;
+        }
+        if (holdStart < 0) {
+            holdStart = time;
+        }
+        return time - holdStart >= HOLD_TIME;
+    }
+
+    private void filter(long time, int y) {
+        if (lastTime < 0 || time < lastTime) {
+            smoothed = y;
+            head = 0;
+            windowStart = 0;
+        } else {
+            long dt = time - lastTime;
+            smoothed += (y - smoothed) * dt / (SMOOTHING_TIME + dt);
+        }
+        lastTime = time;
+
+        int i = (int) (head & MASK);
+        times[i] = time;
+        values[i] = smoothed;
+        head++;
+
+        if (windowStart < head - CAPACITY) {
+            windowStart = head - CAPACITY;
+        }
+        while (windowStart < head - 1
+                && time - times[(int) (windowStart & MASK)] > SLOPE_WINDOW) {
+            windowStart++;
+        }
+        int start = (int) (windowStart & MASK);
+        slope = time > times[start] ? (smoothed - values[start])
+                / (time - times[start]) : 0;
+    }
+}
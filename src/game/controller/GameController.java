@@ -1,135 +1,263 @@
 package game.controller;
 
 import game.Game;
+import game.latency.LatencyTracker;
+import game.remote.Remote;
+import game.remote.RemoteReport;
+import game.remote.ReportListener;
+import game.replay.InputRecorder;
+import game.state.SimulationClock;
 
-import java.util.concurrent.Callable;
-
-import motej.Mote;
-import motej.event.AccelerometerEvent;
-import motej.event.AccelerometerListener;
+import motej.CalibrationDataReport;
 import motej.event.CoreButtonEvent;
-import motej.event.CoreButtonListener;
-import motej.request.ReportModeRequest;
-import motejx.extensions.motionplus.MotionPlusEvent;
-import motejx.extensions.motionplus.MotionPlusListener;
-import motejx.extensions.motionplusnunchuk.MotionPlusNunchuk;
-import motejx.extensions.nunchuk.Nunchuk;
 import motejx.extensions.nunchuk.NunchukButtonEvent;
-import motejx.extensions.nunchuk.NunchukButtonListener;
 
-public class GameController implements CoreButtonListener,
-        NunchukButtonListener, AccelerometerListener<Nunchuk>,
-        MotionPlusListener {
+public class GameController implements ReportListener,
+        SimulationClock.Listener {
 
-    private static final int DRAWING_ACCELERATION = 140;
-    private static final int READY_ACCELERATION = 130;
+    private static final int MAX_TIME_OFFSET = 100000;
 
-    private static final long READY_TIMEOUT = 1000;
+    private static final long STALL_TIME = 250000000;
+    private static final long LOST_TIME = 1000000000;
 
     private final Game game;
+    private final int player;
+    private final SimulationClock clock;
+    private final InputRecorder recorder;
+    private final LatencyTracker latency;
+    private final InputSource source;
+
+    private final InputRing ring = new InputRing();
+    private final InputEvent drained = new InputEvent();
 
-    private Mote mote;
-    private MotionPlusNunchuk motionPlusNunchuk;
+    private volatile Remote mote;
+    private long lastInputTime;
+    private boolean reconnecting;
 
     private boolean crosshairReset = false;
     private ShootState shootState = ShootState.NOT_SHOOTING;
-    private double rollVal = 0;
-    private double pitchVal = 0;
-    private long lastLoadTime = 0;
-    private MotionPlusEvent lastMotionPlusEvent;
+    private final AimFilter aimFilter = new AimFilter();
+    private final DrawGesture drawGesture = new DrawGesture();
 
-    public GameController(Game game, Mote mote,
-            MotionPlusNunchuk motionPlusNunchuk) {
+    public GameController(Game game, int player, Remote mote) {
+        this(game, player, (InputSource) null);
+        attach(mote);
+    }
+
+    public GameController(Game game, InputSource source) {
+        this(game, 0, source);
+    }
+
+    public GameController(Game game, int player, InputSource source) {
         this.game = game;
+        this.player = player;
+        this.clock = game.getSimulationClock();
+        this.recorder = game.getInputRecorder();
+        this.latency = game.getLatencyTracker();
+        this.source = source;
+
+        aimFilter.setGravityFusion(game.isGravityAim());
+    }
+
+    public void attach(Remote mote) {
         this.mote = mote;
-        this.motionPlusNunchuk = motionPlusNunchuk;
+        lastInputTime = System.nanoTime();
+        reconnecting = false;
+        drawGesture.cancel();
+        if (shootState != ShootState.NOT_SHOOTING) {
+            updateShootState(ShootState.NOT_SHOOTING);
+        }
+
+        mote.addReportListener(this);
+    }
 
-        mote.addCoreButtonListener(this);
-        motionPlusNunchuk.addMotionPlusEventListener(this);
-        motionPlusNunchuk.addAccelerometerListener(this);
-        motionPlusNunchuk.addNunchukButtonListener(this);
-        mote.setReportMode(ReportModeRequest.DATA_REPORT_0x32);
+    public Remote detach() {
+        Remote detached = mote;
+        if (mote != null) {
+            mote.removeReportListener(this);
+            mote = null;
+        }
+        return detached;
+    }
+
+    public boolean isStalled(long now) {
+        return reconnecting || mote != null
+                && now - lastInputTime > STALL_TIME;
+    }
+
+    public boolean isLost(long now) {
+        return mote != null && now - lastInputTime > LOST_TIME;
+    }
+
+    public boolean isReconnecting() {
+        return reconnecting;
+    }
+
+    public void setReconnecting(boolean reconnecting) {
+        this.reconnecting = reconnecting;
+    }
+
+    public int getPlayer() {
+        return player;
     }
 
     public double getRollVal() {
-        return rollVal;
+        return aimFilter.getRoll();
     }
 
     public double getPitchVal() {
-        return pitchVal;
+        return aimFilter.getPitch();
     }
 
-    private void updateShootState(ShootState shootState) {
-        this.shootState = shootState;
-        game.updateCrosshair(shootState);
+    public AimFilter getAimFilter() {
+        return aimFilter;
     }
 
-    @Override
-    public void buttonPressed(CoreButtonEvent evt) {
-        if (evt.isButtonAPressed()) {
-            if (!crosshairReset) {
-                crosshairReset = true;
-                mote.rumble(100);
-                rollVal = 0;
-                pitchVal = 0;
+    public int getDroppedEvents() {
+        return ring.getDropped();
+    }
+
+    public void drain() {
+        long tick = clock.getTick();
+        long drainTime = System.nanoTime();
+        int count = ring.size();
+        for (int i = 0; i < count && ring.poll(drained); i++) {
+            long offset = (drained.getEnqueueTime() - clock.getStateTime())
+                    / 1000;
+            drained.setTimeOffset((int) Math.max(-MAX_TIME_OFFSET,
+                    Math.min(MAX_TIME_OFFSET, offset)));
+            if (recorder != null) {
+                recorder.record(tick, player, drained);
             }
-            game.enqueue(new Callable<Void>() {
-                @Override
-                public Void call() throws Exception {
-                    game.showCrosshair();
-                    return null;
-                }
-            });
-        } else {
-            crosshairReset = false;
+            latency.inputDrained(drained.getTime(), drained.getEnqueueTime(),
+                    drainTime);
+            apply(drained);
+            latency.inputApplied();
+            lastInputTime = Math.max(lastInputTime, drained.getEnqueueTime());
         }
     }
 
-    @Override
-    public void speedChanged(MotionPlusEvent evt) {
-        if (lastMotionPlusEvent != null) {
-            double duration = (double) (evt.getEventTime() - lastMotionPlusEvent
-                    .getEventTime()) / 1000;
-            rollVal += evt.getRollLeftSpeed() * duration;
-            pitchVal += evt.getPitchDownSpeed() * duration;
+    public void discard() {
+        int count = ring.size();
+        for (int i = 0; i < count && ring.poll(drained); i++) {
+            lastInputTime = Math.max(lastInputTime, drained.getEnqueueTime());
         }
-
-        lastMotionPlusEvent = evt;
     }
 
     @Override
-    public void accelerometerChanged(AccelerometerEvent<Nunchuk> evt) {
-        if (shootState == ShootState.LOADING
-                && evt.getY() > DRAWING_ACCELERATION) {
-            updateShootState(ShootState.DRAWING);
+    public void simulate(float step) {
+        if (source != null) {
+            source.feed(clock.getTick(), this);
+        }
+    }
+
+    public void apply(InputEvent event) {
+        switch (event.getType()) {
+        case InputEvent.CORE_BUTTONS:
+            coreButtonsChanged(event.getButtons());
+            break;
+        case InputEvent.NUNCHUK_BUTTONS:
+            nunchukButtonsChanged(event.getTime(), event.getButtons(),
+                    event.getTimeOffset());
+            break;
+        case InputEvent.NUNCHUK_ACCELEROMETER:
+            nunchukAccelerometerChanged(event.getTime(), event.getY());
+            break;
+        case InputEvent.MOTION_PLUS:
+            aimFilter.updateRates(event.getTime(), event.getRollSpeed(),
+                    event.getPitchSpeed());
+            break;
+        case InputEvent.REMOTE_ACCELEROMETER:
+            aimFilter.updateGravity(event.getX(), event.getY(), event.getZ());
+            break;
+        default:
+            break;
         }
-        if (shootState == ShootState.DRAWING && evt.getY() < READY_ACCELERATION) {
-            updateShootState(ShootState.READY);
+    }
+
+    private void updateShootState(ShootState shootState) {
+        this.shootState = shootState;
+        game.updateCrosshair(player, shootState);
+    }
+
+    private void coreButtonsChanged(int buttons) {
+        if ((buttons & CoreButtonEvent.BUTTON_A) != 0) {
+            if (!crosshairReset) {
+                crosshairReset = true;
+                if (mote != null) {
+                    mote.rumble(100);
+                }
+                aimFilter.recenter();
+            }
+            game.showCrosshair(player);
+        } else {
+            crosshairReset = false;
         }
-        if ((shootState == ShootState.LOADING || shootState == ShootState.DRAWING)
-                && System.currentTimeMillis() - lastLoadTime > READY_TIMEOUT) {
-            updateShootState(ShootState.READY);
+    }
+
+    private void nunchukAccelerometerChanged(long time, int y) {
+        ShootState state = drawGesture.update(time, y);
+        if (state != shootState) {
+            updateShootState(state);
         }
     }
 
-    @Override
-    public void buttonPressed(NunchukButtonEvent evt) {
-        if (evt.isButtonCPressed() || evt.isButtonZPressed()) {
+    private void nunchukButtonsChanged(long time, int buttons,
+            int timeOffset) {
+        if ((buttons & (NunchukButtonEvent.BUTTON_C
+                | NunchukButtonEvent.BUTTON_Z)) != 0) {
             if (shootState == ShootState.NOT_SHOOTING) {
+                drawGesture.start(time);
                 updateShootState(ShootState.LOADING);
-                lastLoadTime = System.currentTimeMillis();
             }
         } else {
             if (shootState == ShootState.READY) {
-                game.enqueue(new Callable<Void>() {
-                    @Override
-                    public Void call() throws Exception {
-                        game.shoot();
-                        return null;
-                    }
-                });
+                game.shoot(player, timeOffset / 1e6f);
             }
+            drawGesture.cancel();
             updateShootState(ShootState.NOT_SHOOTING);
         }
     }
+
+    @Override
+    public void reportReceived(RemoteReport report) {
+        long time = report.getTime();
+        if (report.has(RemoteReport.BUTTONS)) {
+            ring.offerButtons(InputEvent.CORE_BUTTONS, time,
+                    report.getButtons());
+        }
+        if (report.has(RemoteReport.ACCELEROMETER)) {
+            Remote current = mote;
+            CalibrationDataReport calibration = current == null ? null
+                    : current.getCalibrationDataReport();
+            if (calibration != null) {
+                ring.offerAccelerometer(InputEvent.REMOTE_ACCELEROMETER,
+                        time,
+                        normalize(report.getX(), calibration.getZeroX(),
+                                calibration.getGravityX()),
+                        normalize(report.getY(), calibration.getZeroY(),
+                                calibration.getGravityY()),
+                        normalize(report.getZ(), calibration.getZeroZ(),
+                                calibration.getGravityZ()));
+            }
+        }
+        if (report.has(RemoteReport.NUNCHUK)) {
+            ring.offerAccelerometer(InputEvent.NUNCHUK_ACCELEROMETER, time,
+                    report.getNunchukX(), report.getNunchukY(),
+                    report.getNunchukZ());
+            ring.offerButtons(InputEvent.NUNCHUK_BUTTONS, time,
+                    report.getNunchukButtons());
+        }
+        if (report.has(RemoteReport.MOTION_PLUS)) {
+            ring.offerMotionPlus(time, report.getRollSpeed(),
+                    report.getPitchSpeed(), report.getYawSpeed());
+        }
+    }
+
+    private static int normalize(int value, int zero, int gravity) {
+        if (gravity == zero) {
+            return 0;
+        }
+        return (value - zero) * AimFilter.ONE_G / (gravity - zero);
+    }
 }
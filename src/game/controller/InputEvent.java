@@ -0,0 +1,106 @@
+package game.controller;
+
+public class InputEvent {
+
+    public static final int CORE_BUTTONS = 1;
+    public static final int NUNCHUK_BUTTONS = 2;
+    public static final int NUNCHUK_ACCELEROMETER = 3;
+    public static final int MOTION_PLUS = 4;
+    public static final int REMOTE_ACCELEROMETER = 5;
+
+    private int type;
+    private long time;
+    private int buttons;
+    private int x;
+    private int y;
+    private int z;
+    private double rollSpeed;
+    private double pitchSpeed;
+    private double yawSpeed;
+    private long enqueueTime;
+    private int timeOffset;
+
+    public InputEvent setButtons(int type, long time, int buttons) {
+        this.type = type;
+        this.time = time;
+        this.buttons = buttons;
+        this.timeOffset = 0;
+        return this;
+    }
+
+    public InputEvent setAccelerometer(int type, long time, int x, int y,
+            int z) {
+        this.type = type;
+        this.time = time;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.timeOffset = 0;
+        return this;
+    }
+
+    public InputEvent setMotionPlus(long time, double rollSpeed,
+            double pitchSpeed, double yawSpeed) {
+        this.type = MOTION_PLUS;
+        this.time = time;
+        this.rollSpeed = rollSpeed;
+        this.pitchSpeed = pitchSpeed;
+        this.yawSpeed = yawSpeed;
+        this.timeOffset = 0;
+        return this;
+    }
+
+    public InputEvent setTimeOffset(int timeOffset) {
+        this.timeOffset = timeOffset;
+        return this;
+    }
+
+    public InputEvent setEnqueueTime(long enqueueTime) {
+        this.enqueueTime = enqueueTime;
+        return this;
+    }
+
+    public int getType() {
+        return type;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public long getEnqueueTime() {
+        return enqueueTime;
+    }
+
+    public int getTimeOffset() {
+        return timeOffset;
+    }
+
+    public int getButtons() {
+        return buttons;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getZ() {
+        return z;
+    }
+
+    public double getRollSpeed() {
+        return rollSpeed;
+    }
+
+    public double getPitchSpeed() {
+        return pitchSpeed;
+    }
+
+    public double getYawSpeed() {
+        return yawSpeed;
+    }
+}
@@ -0,0 +1,109 @@
+package game.controller;
+
+public class InputRing {
+
+    private static final int CAPACITY = 1 << 10;
+    private static final int MASK = CAPACITY - 1;
+    private static final int STRIDE = 6;
+
+    private final long[] slots = new long[CAPACITY * STRIDE];
+    private volatile long head;
+    private volatile long tail;
+
+    private volatile int dropped;
+
+    public boolean offerButtons(int type, long time, int buttons) {
+        int i = claim();
+        if (i < 0) {
+            return false;
+        }
+        slots[i] = type;
+        slots[i + 1] = time;
+        slots[i + 2] = buttons;
+        slots[i + 5] = System.nanoTime();
+        publish();
+        return true;
+    }
+
+    public boolean offerAccelerometer(int type, long time, int x, int y,
+            int z) {
+        int i = claim();
+        if (i < 0) {
+            return false;
+        }
+        slots[i] = type;
+        slots[i + 1] = time;
+        slots[i + 2] = x;
+        slots[i + 3] = y;
+        slots[i + 4] = z;
+        slots[i + 5] = System.nanoTime();
+        publish();
+        return true;
+    }
+
+    public boolean offerMotionPlus(long time, double rollSpeed,
+            double pitchSpeed, double yawSpeed) {
+        int i = claim();
+        if (i < 0) {
+            return false;
+        }
+        slots[i] = InputEvent.MOTION_PLUS;
+        slots[i + 1] = time;
+        slots[i + 2] = Double.doubleToRawLongBits(rollSpeed);
+        slots[i + 3] = Double.doubleToRawLongBits(pitchSpeed);
+        slots[i + 4] = Double.doubleToRawLongBits(yawSpeed);
+        slots[i + 5] = System.nanoTime();
+        publish();
+        return true;
+    }
+
+    public boolean poll(InputEvent event) {
+        long t = tail;
+        if (t == head) {
+            return false;
+        }
+
+        int i = (int) (t & MASK) * STRIDE;
+        int type = (int) slots[i];
+        long time = slots[i + 1];
+        switch (type) {
+        case InputEvent.NUNCHUK_ACCELEROMETER:
+        case InputEvent.REMOTE_ACCELEROMETER:
+            event.setAccelerometer(type, time, (int) slots[i + 2],
+                    (int) slots[i + 3], (int) slots[i + 4]);
+            break;
+        case InputEvent.MOTION_PLUS:
+            event.setMotionPlus(time, Double.longBitsToDouble(slots[i + 2]),
+                    Double.longBitsToDouble(slots[i + 3]),
+                    Double.longBitsToDouble(slots[i + 4]));
+            break;
+        default:
+            event.setButtons(type, time, (int) slots[i + 2]);
+            break;
+        }
+        event.setEnqueueTime(slots[i + 5]);
+        tail = t + 1;
+        return true;
+    }
+
+    public int size() {
+        return (int) (head - tail);
+    }
+
+    public int getDropped() {
+        return dropped;
+    }
+
+    private int claim() {
+        long h = head;
+        if (h - tail >= CAPACITY) {
+            dropped = dropped + 1;
+            return -1;
+        }
+        return (int) (h & MASK) * STRIDE;
+    }
+
+    private void publish() {
+        head = head + 1;
+    }
+}
@@ -0,0 +1,6 @@
+package game.controller;
+
+public interface InputSource {
+
+    void feed(long tick, GameController controller);
+}
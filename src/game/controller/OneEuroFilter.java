@@ -0,0 +1,50 @@
+package game.controller;
+
+public class OneEuroFilter {
+
+    private final double minCutoff;
+    private final double beta;
+    private final double derivativeCutoff;
+
+    private boolean initialized = false;
+    private double value;
+    private double derivative;
+
+    public OneEuroFilter(double minCutoff, double beta,
+            double derivativeCutoff) {
+        this.minCutoff = minCutoff;
+        this.beta = beta;
+        this.derivativeCutoff = derivativeCutoff;
+    }
+
+    public double filter(double x, double dt) {
+        if (!initialized) {
+            initialized = true;
+            value = x;
+            derivative = 0;
+            return value;
+        }
+        if (dt <= 0) {
+            return value;
+        }
+
+        double dx = (x - value) / dt;
+        derivative += alpha(derivativeCutoff, dt) * (dx - derivative);
+        double cutoff = minCutoff + beta * Math.abs(derivative);
+        value += alpha(cutoff, dt) * (x - value);
+        return value;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public void reset() {
+        initialized = false;
+    }
+
+    private static double alpha(double cutoff, double dt) {
+        double tau = 1 / (2 * Math.PI * cutoff);
+        return dt / (dt + tau);
+    }
+}
@@ -0,0 +1,95 @@
+package game.latency;
+
+import java.util.Arrays;
+
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_BITS = 40;
+    private static final int BUCKETS = (MAX_BITS - SUB_BUCKET_BITS + 1)
+            * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+
+    private long count;
+    private long total;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts[index(value)]++;
+        count++;
+        total += value;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMin() {
+        return count > 0 ? min : 0;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count > 0 ? (double) total / count : 0;
+    }
+
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    private static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent >= MAX_BITS) {
+            return BUCKETS - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS
+                + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    private static long highestValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,122 @@
+package game.latency;
+
+import java.io.PrintStream;
+
+public class LatencyTracker {
+
+    public static final int EVENT_TO_ENQUEUE = 0;
+    public static final int ENQUEUE_TO_DRAIN = 1;
+    public static final int DRAIN_TO_UPDATE = 2;
+    public static final int UPDATE_TO_FRAME = 3;
+    public static final int INPUT_TO_FRAME = 4;
+    public static final int INPUT_TO_SHOT = 5;
+
+    private static final String[] STAGE_NAMES = { "event>enqueue",
+            "enqueue>drain", "drain>update", "update>frame", "input>frame",
+            "input>shot" };
+
+    private static final long NANOS_PER_MILLI = 1000000;
+
+    private final LatencyHistogram[] histograms =
+            new LatencyHistogram[STAGE_NAMES.length];
+
+    private final long wallClockOffset = System.currentTimeMillis()
+            * NANOS_PER_MILLI - System.nanoTime();
+
+    private long oldestInput = -1;
+    private long applyingInput = -1;
+    private long drainTime = -1;
+    private long updateTime = -1;
+
+    public LatencyTracker() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    public int getStageCount() {
+        return histograms.length;
+    }
+
+    public String getStageName(int stage) {
+        return STAGE_NAMES[stage];
+    }
+
+    public LatencyHistogram getHistogram(int stage) {
+        return histograms[stage];
+    }
+
+    public void inputDrained(long eventTime, long enqueueTime, long drainTime) {
+        long eventNanos = Math.min(eventTime * NANOS_PER_MILLI
+                - wallClockOffset, enqueueTime);
+        histograms[EVENT_TO_ENQUEUE].record(enqueueTime - eventNanos);
+        histograms[ENQUEUE_TO_DRAIN].record(drainTime - enqueueTime);
+
+        this.drainTime = drainTime;
+        applyingInput = eventNanos;
+        if (oldestInput < 0 || eventNanos < oldestInput) {
+            oldestInput = eventNanos;
+        }
+    }
+
+    public void inputApplied() {
+        applyingInput = -1;
+    }
+
+    public void shotFired(long time) {
+        if (applyingInput >= 0) {
+            histograms[INPUT_TO_SHOT].record(time - applyingInput);
+        }
+    }
+
+    public void sceneUpdated(long time) {
+        if (drainTime >= 0 && updateTime < 0) {
+            histograms[DRAIN_TO_UPDATE].record(time - drainTime);
+            updateTime = time;
+        }
+    }
+
+    public void frameRendered(long time) {
+        if (oldestInput >= 0) {
+            if (updateTime >= 0) {
+                histograms[UPDATE_TO_FRAME].record(time - updateTime);
+            }
+            histograms[INPUT_TO_FRAME].record(time - oldestInput);
+        }
+        oldestInput = -1;
+        drainTime = -1;
+        updateTime = -1;
+    }
+
+    public boolean isEmpty() {
+        for (LatencyHistogram histogram : histograms) {
+            if (histogram.getCount() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void dump(PrintStream out) {
+        for (int i = 0; i < histograms.length; i++) {
+            LatencyHistogram histogram = histograms[i];
+            out.printf("latency %-14s count=%d p50=%.2fms p90=%.2fms"
+                    + " p99=%.2fms max=%.2fms%n", STAGE_NAMES[i],
+                    histogram.getCount(),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getMax()));
+        }
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+
+    public static double millis(long nanos) {
+        return (double) nanos / NANOS_PER_MILLI;
+    }
+}
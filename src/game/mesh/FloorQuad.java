@@ -1,13 +1,19 @@
 package game.mesh;
 
-import com.jme3.math.Vector2f;
-import com.jme3.math.Vector3f;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
 import com.jme3.scene.Mesh;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.scene.VertexBuffer.Format;
 import com.jme3.scene.VertexBuffer.Type;
 import com.jme3.util.BufferUtils;
 
 public class FloorQuad extends Mesh {
 
+    private static final int MAX_SHORT_VERTICES = 0x10000;
+
     private int width;
     private int height;
 
@@ -27,40 +33,74 @@ public class FloorQuad extends Mesh {
         this.width = width;
         this.height = height;
 
-        Vector3f[] vertices = new Vector3f[(width + 1) * (height + 1)];
-        Vector2f[] texCoord = new Vector2f[(width + 1) * (height + 1)];
-        int[] indexes = new int[6 * width * height];
-        float[] normals = new float[3 * (width + 1) * (height + 1)];
+        int vertices = (width + 1) * (height + 1);
+        FloatBuffer positions = BufferUtils.createFloatBuffer(3 * vertices);
+        FloatBuffer texCoords = BufferUtils.createFloatBuffer(2 * vertices);
+        FloatBuffer normals = BufferUtils.createFloatBuffer(3 * vertices);
 
-        int i = 0;
-        int j = 0;
-        int k = 0;
         for (int x = 0; x <= width; x++) {
             for (int y = 0; y <= height; y++) {
-                vertices[i] = new Vector3f(x, y, 0);
-                texCoord[i] = new Vector2f((float) x / width, (float) y
-                        / height);
-
-                normals[k++] = 0;
-                normals[k++] = 0;
-                normals[k++] = 1;
-
-                if (x != width && y != height) {
-                    indexes[j++] = i;
-                    indexes[j++] = i + height + 1;
-                    indexes[j++] = i + height + 2;
-                    indexes[j++] = i;
-                    indexes[j++] = i + height + 2;
-                    indexes[j++] = i + 1;
+                positions.put(x).put(y).put(0);
+                texCoords.put((float) x / width).put((float) y / height);
+                normals.put(0).put(0).put(1);
+            }
+        }
+        positions.flip();
+        texCoords.flip();
+        normals.flip();
+
+        setBuffer(Type.Position, 3, positions);
+        setBuffer(Type.TexCoord, 2, texCoords);
+        setBuffer(Type.Normal, 3, normals);
+
+        int indexes = 6 * width * height;
+        if (vertices <= MAX_SHORT_VERTICES) {
+            ShortBuffer shortIndexes = BufferUtils.createShortBuffer(indexes);
+            for (int x = 0; x < width; x++) {
+                int i = x * (height + 1);
+                for (int y = 0; y < height; y++, i++) {
+                    shortIndexes.put((short) i)
+                            .put((short) (i + height + 1))
+                            .put((short) (i + height + 2)).put((short) i)
+                            .put((short) (i + height + 2))
+                            .put((short) (i + 1));
+                }
+            }
+            shortIndexes.flip();
+            setIndexBuffer(Format.UnsignedShort);
+            setBuffer(Type.Index, 3, shortIndexes);
+        } else {
+            IntBuffer intIndexes = BufferUtils.createIntBuffer(indexes);
+            for (int x = 0; x < width; x++) {
+                int i = x * (height + 1);
+                for (int y = 0; y < height; y++, i++) {
+                    intIndexes.put(i).put(i + height + 1).put(i + height + 2)
+                            .put(i).put(i + height + 2).put(i + 1);
                 }
-                i++;
             }
+            intIndexes.flip();
+            setIndexBuffer(Format.UnsignedInt);
+            setBuffer(Type.Index, 3, intIndexes);
         }
 
-        setBuffer(Type.Position, 3, BufferUtils.createFloatBuffer(vertices));
-        setBuffer(Type.TexCoord, 2, BufferUtils.createFloatBuffer(texCoord));
-        setBuffer(Type.Index, 3, BufferUtils.createIntBuffer(indexes));
-        setBuffer(Type.Normal, 3, BufferUtils.createFloatBuffer(normals));
         updateBound();
     }
-}
\ No newline at end of file
+
+    public void setTextureRegion(float u0, float v0, float u1, float v1) {
+        FloatBuffer source = getFloatBuffer(Type.TexCoord);
+        FloatBuffer texCoords = BufferUtils.createFloatBuffer(source.limit());
+        for (int i = 0; i < source.limit(); i += 2) {
+            texCoords.put(i, u0 + source.get(i) * (u1 - u0));
+            texCoords.put(i + 1, v0 + source.get(i + 1) * (v1 - v0));
+        }
+        clearBuffer(Type.TexCoord);
+        setBuffer(Type.TexCoord, 2, texCoords);
+    }
+
+    private void setIndexBuffer(Format format) {
+        VertexBuffer indexBuffer = getBuffer(Type.Index);
+        if (indexBuffer != null && indexBuffer.getFormat() != format) {
+            clearBuffer(Type.Index);
+        }
+    }
+}
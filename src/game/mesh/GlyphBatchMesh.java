@@ -0,0 +1,211 @@
+package game.mesh;
+
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+
+import com.jme3.bounding.BoundingBox;
+import com.jme3.font.BitmapCharacter;
+import com.jme3.font.BitmapCharacterSet;
+import com.jme3.font.BitmapFont;
+import com.jme3.math.ColorRGBA;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.VertexBuffer.Type;
+import com.jme3.scene.VertexBuffer.Usage;
+import com.jme3.util.BufferUtils;
+
+public class GlyphBatchMesh extends Mesh {
+
+    private static final int GLYPHS = 128;
+
+    private final BitmapCharacter[] glyphs = new BitmapCharacter[GLYPHS];
+    private final float renderedSize;
+    private final float lineHeight;
+    private final float textureWidth;
+    private final float textureHeight;
+
+    private final int capacity;
+    private final int slotGlyphs;
+    private final int slotVertices;
+
+    private final float[] baseY;
+    private final float[] baseAlpha;
+    private final float[] slotScale;
+    private final float[] slotTop;
+    private final float[] slotOffset;
+    private final float[] glyphX;
+    private final float[] glyphAdvance;
+
+    private final FloatBuffer positions;
+    private final FloatBuffer texCoords;
+    private final FloatBuffer colors;
+
+    public GlyphBatchMesh(BitmapFont font, int capacity, int slotGlyphs,
+            BoundingBox bound) {
+        BitmapCharacterSet charSet = font.getCharSet();
+        for (int c = 0; c < GLYPHS; c++) {
+            glyphs[c] = charSet.getCharacter(c);
+        }
+        renderedSize = charSet.getRenderedSize();
+        lineHeight = charSet.getLineHeight();
+        textureWidth = charSet.getWidth();
+        textureHeight = charSet.getHeight();
+
+        this.capacity = capacity;
+        this.slotGlyphs = slotGlyphs;
+        this.slotVertices = 4 * slotGlyphs;
+        baseY = new float[capacity * slotVertices];
+        baseAlpha = new float[capacity];
+        slotScale = new float[capacity];
+        slotTop = new float[capacity];
+        slotOffset = new float[capacity];
+        glyphX = new float[capacity * slotGlyphs];
+        glyphAdvance = new float[capacity * slotGlyphs];
+
+        int vertices = capacity * slotVertices;
+        positions = BufferUtils.createFloatBuffer(3 * vertices);
+        texCoords = BufferUtils.createFloatBuffer(2 * vertices);
+        colors = BufferUtils.createFloatBuffer(4 * vertices);
+        ShortBuffer indexes = BufferUtils.createShortBuffer(6 * capacity
+                * slotGlyphs);
+        for (int i = 0; i < capacity * slotGlyphs; i++) {
+            int v = 4 * i;
+            indexes.put((short) v).put((short) (v + 1)).put((short) (v + 2));
+            indexes.put((short) v).put((short) (v + 2)).put((short) (v + 3));
+        }
+        indexes.flip();
+
+        setBuffer(Type.Position, 3, positions);
+        setBuffer(Type.TexCoord, 2, texCoords);
+        setBuffer(Type.Color, 4, colors);
+        setBuffer(Type.Index, 3, indexes);
+        getBuffer(Type.Position).setUsage(Usage.Stream);
+        getBuffer(Type.TexCoord).setUsage(Usage.Stream);
+        getBuffer(Type.Color).setUsage(Usage.Stream);
+
+        setBound(bound);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSlotGlyphs() {
+        return slotGlyphs;
+    }
+
+    public void setText(int slot, char[] text, int length, float x, float y,
+            float size, ColorRGBA color) {
+        float scale = size / renderedSize;
+        float width = 0;
+        for (int i = 0; i < length; i++) {
+            BitmapCharacter glyph = glyph(text[i]);
+            if (glyph != null) {
+                width += glyph.getXAdvance() * scale;
+            }
+        }
+
+        float penX = x - width / 2;
+        float top = y + lineHeight * scale / 2;
+        slotScale[slot] = scale;
+        slotTop[slot] = top;
+        int index = slot * slotGlyphs;
+        for (int i = 0; i < slotGlyphs; i++, index++) {
+            BitmapCharacter glyph = i < length ? glyph(text[i]) : null;
+            glyphX[index] = penX;
+            if (glyph == null) {
+                glyphAdvance[index] = 0;
+                collapse(4 * index);
+                continue;
+            }
+            writeGlyph(index, glyph);
+            penX += glyphAdvance[index];
+        }
+
+        int c = 4 * slot * slotVertices;
+        for (int i = 0; i < slotVertices; i++, c += 4) {
+            colors.put(c, color.r);
+            colors.put(c + 1, color.g);
+            colors.put(c + 2, color.b);
+            colors.put(c + 3, color.a);
+        }
+        baseAlpha[slot] = color.a;
+        getBuffer(Type.TexCoord).setUpdateNeeded();
+    }
+
+    public boolean setGlyph(int slot, int i, char c) {
+        BitmapCharacter glyph = glyph(c);
+        int index = slot * slotGlyphs + i;
+        float advance = glyphAdvance[index];
+        if (glyph == null || advance == 0
+                || glyph.getXAdvance() * slotScale[slot] != advance) {
+            return false;
+        }
+        writeGlyph(index, glyph);
+        getBuffer(Type.TexCoord).setUpdateNeeded();
+        return true;
+    }
+
+    public void setOffset(int slot, float dy, float alpha) {
+        slotOffset[slot] = dy;
+        int vertex = slot * slotVertices;
+        float a = baseAlpha[slot] * alpha;
+        for (int i = 0; i < slotVertices; i++, vertex++) {
+            positions.put(3 * vertex + 1, baseY[vertex] + dy);
+            colors.put(4 * vertex + 3, a);
+        }
+    }
+
+    public void clear(int slot) {
+        int vertex = slot * slotVertices;
+        for (int i = 0; i < slotGlyphs; i++, vertex += 4) {
+            collapse(vertex);
+        }
+    }
+
+    public void update() {
+        getBuffer(Type.Position).setUpdateNeeded();
+        getBuffer(Type.Color).setUpdateNeeded();
+    }
+
+    private BitmapCharacter glyph(char c) {
+        return c < GLYPHS ? glyphs[c] : null;
+    }
+
+    private void writeGlyph(int index, BitmapCharacter glyph) {
+        int slot = index / slotGlyphs;
+        float scale = slotScale[slot];
+        float left = glyphX[index] + glyph.getXOffset() * scale;
+        float right = left + glyph.getWidth() * scale;
+        float upper = slotTop[slot] - glyph.getYOffset() * scale;
+        float lower = upper - glyph.getHeight() * scale;
+        float u0 = glyph.getX() / textureWidth;
+        float u1 = (glyph.getX() + glyph.getWidth()) / textureWidth;
+        float v0 = 1 - glyph.getY() / textureHeight;
+        float v1 = 1 - (glyph.getY() + glyph.getHeight()) / textureHeight;
+        int vertex = 4 * index;
+        setVertex(vertex, slot, left, lower, u0, v1);
+        setVertex(vertex + 1, slot, right, lower, u1, v1);
+        setVertex(vertex + 2, slot, right, upper, u1, v0);
+        setVertex(vertex + 3, slot, left, upper, u0, v0);
+        glyphAdvance[index] = glyph.getXAdvance() * scale;
+    }
+
+    private void setVertex(int vertex, int slot, float x, float y, float u,
+            float v) {
+        positions.put(3 * vertex, x);
+        positions.put(3 * vertex + 1, y + slotOffset[slot]);
+        positions.put(3 * vertex + 2, 0);
+        texCoords.put(2 * vertex, u);
+        texCoords.put(2 * vertex + 1, v);
+        baseY[vertex] = y;
+    }
+
+    private void collapse(int vertex) {
+        for (int i = vertex; i < vertex + 4; i++) {
+            positions.put(3 * i, 0);
+            positions.put(3 * i + 1, 0);
+            positions.put(3 * i + 2, 0);
+            baseY[i] = 0;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package game.mesh;
+
+import com.jme3.bounding.BoundingBox;
+import com.jme3.font.BitmapFont;
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.queue.RenderQueue.Bucket;
+import com.jme3.scene.Geometry;
+
+public class HudNumber extends Geometry {
+
+    private final GlyphBatchMesh mesh;
+    private final int minDigits;
+    private final float size;
+    private final ColorRGBA color;
+
+    private final char[] text;
+    private final char[] shown;
+    private int shownLength;
+
+    private boolean valid;
+    private int value;
+
+    private int glyphWrites;
+    private int layouts;
+
+    public HudNumber(String name, BitmapFont font, int maxDigits,
+            int minDigits, float size, ColorRGBA color) {
+        super(name);
+        this.minDigits = minDigits;
+        this.size = size;
+        this.color = color.clone();
+
+        text = new char[maxDigits + 1];
+        shown = new char[maxDigits + 1];
+        mesh = new GlyphBatchMesh(font, 1, text.length, new BoundingBox(
+                Vector3f.ZERO, text.length * size, size, 1));
+        mesh.clear(0);
+        setMesh(mesh);
+        setMaterial(font.getPage(0));
+        setQueueBucket(Bucket.Gui);
+    }
+
+    public void setValue(int value) {
+        if (valid && value == this.value) {
+            return;
+        }
+        this.value = value;
+        valid = true;
+
+        int length = format(value);
+        if (length == shownLength) {
+            boolean moved = false;
+            for (int i = 0; i < length && !moved; i++) {
+                if (text[i] != shown[i]) {
+                    moved = !mesh.setGlyph(0, i, text[i]);
+                    shown[i] = text[i];
+                    glyphWrites++;
+                }
+            }
+            if (!moved) {
+                mesh.update();
+                return;
+            }
+        }
+        mesh.setText(0, text, length, 0, 0, size, color);
+        mesh.update();
+        System.arraycopy(text, 0, shown, 0, length);
+        shownLength = length;
+        glyphWrites += length;
+        layouts++;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    public int getGlyphWrites() {
+        return glyphWrites;
+    }
+
+    public int getLayouts() {
+        return layouts;
+    }
+
+    private int format(int value) {
+        int max = 1;
+        for (int i = 1; i < text.length; i++) {
+            max *= 10;
+        }
+        int digits = Math.min(Math.abs(value), max - 1);
+
+        int length = 0;
+        if (value < 0) {
+            text[length++] = '-';
+        }
+        int count = 1;
+        int divisor = 1;
+        while (digits / divisor >= 10 || count < minDigits) {
+            divisor *= 10;
+            count++;
+        }
+        while (divisor > 0) {
+            text[length++] = (char) ('0' + digits / divisor % 10);
+            divisor /= 10;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,171 @@
+package game.mesh;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+import com.jme3.bounding.BoundingBox;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.scene.VertexBuffer.Format;
+import com.jme3.scene.VertexBuffer.Type;
+import com.jme3.scene.VertexBuffer.Usage;
+import com.jme3.scene.shape.Box;
+import com.jme3.util.BufferUtils;
+
+public class TargetBatchMesh extends Mesh {
+
+    private final float[] templatePositions;
+    private final float[] templateNormals;
+    private final short[] templateIndexes;
+    private final int templateVertices;
+
+    private int capacity;
+    private int instanceCount;
+    private int uploadedInstanceCount;
+
+    private FloatBuffer positions;
+    private FloatBuffer normals;
+    private FloatBuffer colors;
+
+    public TargetBatchMesh(int capacity, float size, BoundingBox bound) {
+        Box box = new Box(size, size, size);
+        templatePositions = BufferUtils.getFloatArray(box
+                .getFloatBuffer(Type.Position));
+        templateNormals = BufferUtils.getFloatArray(box
+                .getFloatBuffer(Type.Normal));
+        ShortBuffer boxIndexes = box.getShortBuffer(Type.Index);
+        templateIndexes = new short[boxIndexes.limit()];
+        boxIndexes.rewind();
+        boxIndexes.get(templateIndexes);
+        templateVertices = templatePositions.length / 3;
+
+        setBound(bound);
+        allocate(capacity);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getInstanceCount() {
+        return instanceCount;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > this.capacity) {
+            allocate(Math.max(capacity, this.capacity * 2));
+        }
+    }
+
+    public void setInstance(int i, float x, float y, float z, float qx,
+            float qy, float qz, float qw, float alpha) {
+        float xx = qx * qx;
+        float yy = qy * qy;
+        float zz = qz * qz;
+        float xy = qx * qy;
+        float xz = qx * qz;
+        float yz = qy * qz;
+        float wx = qw * qx;
+        float wy = qw * qy;
+        float wz = qw * qz;
+
+        float m00 = 1 - 2 * (yy + zz);
+        float m01 = 2 * (xy - wz);
+        float m02 = 2 * (xz + wy);
+        float m10 = 2 * (xy + wz);
+        float m11 = 1 - 2 * (xx + zz);
+        float m12 = 2 * (yz - wx);
+        float m20 = 2 * (xz - wy);
+        float m21 = 2 * (yz + wx);
+        float m22 = 1 - 2 * (xx + yy);
+
+        int p = i * templateVertices * 3;
+        int c = i * templateVertices * 4;
+        for (int v = 0; v < templateVertices * 3; v += 3) {
+            float px = templatePositions[v];
+            float py = templatePositions[v + 1];
+            float pz = templatePositions[v + 2];
+            positions.put(p + v, m00 * px + m01 * py + m02 * pz + x);
+            positions.put(p + v + 1, m10 * px + m11 * py + m12 * pz + y);
+            positions.put(p + v + 2, m20 * px + m21 * py + m22 * pz + z);
+
+            float nx = templateNormals[v];
+            float ny = templateNormals[v + 1];
+            float nz = templateNormals[v + 2];
+            normals.put(p + v, m00 * nx + m01 * ny + m02 * nz);
+            normals.put(p + v + 1, m10 * nx + m11 * ny + m12 * nz);
+            normals.put(p + v + 2, m20 * nx + m21 * ny + m22 * nz);
+        }
+        for (int v = 0; v < templateVertices * 4; v += 4) {
+            colors.put(c + v, 1);
+            colors.put(c + v + 1, 1);
+            colors.put(c + v + 2, 1);
+            colors.put(c + v + 3, alpha);
+        }
+    }
+
+    public void setInstanceCount(int instanceCount) {
+        this.instanceCount = instanceCount;
+
+        getBuffer(Type.Position).setUpdateNeeded();
+        getBuffer(Type.Normal).setUpdateNeeded();
+        getBuffer(Type.Color).setUpdateNeeded();
+
+        VertexBuffer indexBuffer = getBuffer(Type.Index);
+        indexBuffer.getData().limit(instanceCount * templateIndexes.length);
+        if (instanceCount > uploadedInstanceCount) {
+            indexBuffer.setUpdateNeeded();
+            uploadedInstanceCount = instanceCount;
+        }
+        updateCounts();
+    }
+
+    private void allocate(int capacity) {
+        this.capacity = capacity;
+
+        int vertices = capacity * templateVertices;
+        positions = BufferUtils.createFloatBuffer(3 * vertices);
+        normals = BufferUtils.createFloatBuffer(3 * vertices);
+        colors = BufferUtils.createFloatBuffer(4 * vertices);
+
+        boolean shortIndexes = vertices <= 0xFFFF;
+        int indexCount = capacity * templateIndexes.length;
+        ShortBuffer shortBuffer = shortIndexes ? BufferUtils
+                .createShortBuffer(indexCount) : null;
+        IntBuffer intBuffer = shortIndexes ? null : BufferUtils
+                .createIntBuffer(indexCount);
+        for (int i = 0; i < capacity; i++) {
+            int offset = i * templateVertices;
+            for (int j = 0; j < templateIndexes.length; j++) {
+                int index = templateIndexes[j] + offset;
+                if (shortIndexes) {
+                    shortBuffer.put((short) index);
+                } else {
+                    intBuffer.put(index);
+                }
+            }
+        }
+
+        clearBuffer(Type.Position);
+        clearBuffer(Type.Normal);
+        clearBuffer(Type.Color);
+        clearBuffer(Type.Index);
+        setBuffer(Type.Position, 3, positions);
+        setBuffer(Type.Normal, 3, normals);
+        setBuffer(Type.Color, 4, colors);
+        if (shortIndexes) {
+            shortBuffer.flip();
+            setBuffer(Type.Index, 3, Format.UnsignedShort, shortBuffer);
+        } else {
+            intBuffer.flip();
+            setBuffer(Type.Index, 3, Format.UnsignedInt, intBuffer);
+        }
+        getBuffer(Type.Position).setUsage(Usage.Stream);
+        getBuffer(Type.Normal).setUsage(Usage.Stream);
+        getBuffer(Type.Color).setUsage(Usage.Stream);
+
+        uploadedInstanceCount = 0;
+        setInstanceCount(Math.min(instanceCount, capacity));
+    }
+}
@@ -0,0 +1,174 @@
+package game.mesh;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import com.jme3.light.SpotLight;
+import com.jme3.material.Material;
+import com.jme3.math.FastMath;
+import com.jme3.math.Vector2f;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Node;
+
+public class TiledFloor extends Node {
+
+    private final int tileSize;
+    private final int tilesX;
+    private final int tilesZ;
+    private final float originX;
+    private final Geometry[] tiles;
+
+    private final ArrayList<SpotLight> lights = new ArrayList<SpotLight>();
+    private int[] lightTiles = new int[4 * 8];
+
+    public TiledFloor(String name, int width, int depth, int tileSize,
+            Material material, Vector2f textureScale) {
+        super(name);
+        this.tileSize = tileSize;
+        this.tilesX = (width + tileSize - 1) / tileSize;
+        this.tilesZ = (depth + tileSize - 1) / tileSize;
+        this.originX = -width / 2f;
+
+        tiles = new Geometry[tilesX * tilesZ];
+        ArrayList<FloorQuad> quads = new ArrayList<FloorQuad>();
+        for (int tz = 0; tz < tilesZ; tz++) {
+            for (int tx = 0; tx < tilesX; tx++) {
+                int x0 = tx * tileSize;
+                int z0 = tz * tileSize;
+                int tileWidth = Math.min(tileSize, width - x0);
+                int tileDepth = Math.min(tileSize, depth - z0);
+
+                FloorQuad floorQuad = newQuad(quads, tileWidth, tileDepth);
+                floorQuad.setTextureRegion(textureScale.getX() * x0 / width,
+                        textureScale.getY() * z0 / depth, textureScale.getX()
+                                * (x0 + tileWidth) / width,
+                        textureScale.getY() * (z0 + tileDepth) / depth);
+
+                Geometry tile = new Geometry(name + " " + tx + "," + tz,
+                        floorQuad);
+                tile.setMaterial(material);
+                tile.setLocalTranslation(originX + x0, 0, -z0);
+                tile.rotate(-FastMath.PI / 2, 0, 0);
+                attachChild(tile);
+                tiles[tz * tilesX + tx] = tile;
+            }
+        }
+    }
+
+    public int getTileCount() {
+        return tiles.length;
+    }
+
+    public int getTileLightCount() {
+        int count = 0;
+        for (Geometry tile : tiles) {
+            count += tile.getLocalLightList().size();
+        }
+        return count;
+    }
+
+    public void addTargetLight(SpotLight light) {
+        int i = lights.size();
+        lights.add(light);
+        if (lightTiles.length < 4 * lights.size()) {
+            lightTiles = Arrays.copyOf(lightTiles, 2 * lightTiles.length);
+        }
+        lightTiles[4 * i] = 0;
+        lightTiles[4 * i + 1] = 0;
+        lightTiles[4 * i + 2] = -1;
+        lightTiles[4 * i + 3] = -1;
+        updateLight(i);
+    }
+
+    public void removeTargetLight(SpotLight light) {
+        int i = lights.indexOf(light);
+        if (i < 0) {
+            return;
+        }
+        int k = 4 * i;
+        for (int tz = lightTiles[k + 1]; tz <= lightTiles[k + 3]; tz++) {
+            for (int tx = lightTiles[k]; tx <= lightTiles[k + 2]; tx++) {
+                tiles[tz * tilesX + tx].removeLight(light);
+            }
+        }
+
+        int last = lights.size() - 1;
+        lights.set(i, lights.get(last));
+        lights.remove(last);
+        System.arraycopy(lightTiles, 4 * last, lightTiles, k, 4);
+    }
+
+    @Override
+    public void updateLogicalState(float tpf) {
+        super.updateLogicalState(tpf);
+        for (int i = 0; i < lights.size(); i++) {
+            updateLight(i);
+        }
+    }
+
+    private void updateLight(int i) {
+        SpotLight light = lights.get(i);
+        Vector3f position = light.getPosition();
+        float range = light.getSpotRange();
+
+        int minX = 0;
+        int minZ = 0;
+        int maxX = -1;
+        int maxZ = -1;
+        if (Math.abs(position.getY()) <= range) {
+            minX = Math.max(tile(position.getX() - range - originX), 0);
+            maxX = Math.min(tile(position.getX() + range - originX),
+                    tilesX - 1);
+            minZ = Math.max(tile(-position.getZ() - range), 0);
+            maxZ = Math.min(tile(-position.getZ() + range), tilesZ - 1);
+        }
+
+        int k = 4 * i;
+        int oldMinX = lightTiles[k];
+        int oldMinZ = lightTiles[k + 1];
+        int oldMaxX = lightTiles[k + 2];
+        int oldMaxZ = lightTiles[k + 3];
+        if (minX == oldMinX && minZ == oldMinZ && maxX == oldMaxX
+                && maxZ == oldMaxZ) {
+            return;
+        }
+
+        for (int tz = oldMinZ; tz <= oldMaxZ; tz++) {
+            for (int tx = oldMinX; tx <= oldMaxX; tx++) {
+                if (tx < minX || tx > maxX || tz < minZ || tz > maxZ) {
+                    tiles[tz * tilesX + tx].removeLight(light);
+                }
+            }
+        }
+        for (int tz = minZ; tz <= maxZ; tz++) {
+            for (int tx = minX; tx <= maxX; tx++) {
+                if (tx < oldMinX || tx > oldMaxX || tz < oldMinZ
+                        || tz > oldMaxZ) {
+                    tiles[tz * tilesX + tx].addLight(light);
+                }
+            }
+        }
+
+        lightTiles[k] = minX;
+        lightTiles[k + 1] = minZ;
+        lightTiles[k + 2] = maxX;
+        lightTiles[k + 3] = maxZ;
+    }
+
+    private int tile(float distance) {
+        return (int) FastMath.floor(distance / tileSize);
+    }
+
+    private static FloorQuad newQuad(ArrayList<FloorQuad> quads, int width,
+            int depth) {
+        for (FloorQuad quad : quads) {
+            if (quad.getWidth() == width && quad.getHeight() == depth) {
+                return (FloorQuad) quad.clone();
+            }
+        }
+        FloorQuad quad = new FloorQuad(width, depth);
+        quads.add(quad);
+        return (FloorQuad) quad.clone();
+    }
+}
@@ -0,0 +1,121 @@
+package game.remote;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.bluetooth.BluetoothStateException;
+import javax.bluetooth.DeviceClass;
+import javax.bluetooth.DiscoveryAgent;
+import javax.bluetooth.DiscoveryListener;
+import javax.bluetooth.LocalDevice;
+import javax.bluetooth.RemoteDevice;
+import javax.bluetooth.ServiceRecord;
+
+public class BluetoothMoteConnector implements MoteConnector<Remote> {
+
+    private static final String NAME_PREFIX = "Nintendo";
+
+    private final Map<Listener<Remote>, DiscoveryListener> listeners =
+            new HashMap<Listener<Remote>, DiscoveryListener>();
+
+    @Override
+    public Remote connect(String address) throws IOException {
+        return new L2capRemote(address);
+    }
+
+    @Override
+    public void startDiscovery(final Listener<Remote> listener) {
+        DiscoveryListener discoveryListener = new DiscoveryListener() {
+            private final Set<String> found = new HashSet<String>();
+
+            @Override
+            public void deviceDiscovered(RemoteDevice device,
+                    DeviceClass deviceClass) {
+                String name;
+                try {
+                    name = device.getFriendlyName(false);
+                } catch (IOException e) {
+                    return;
+                }
+                final String address = device.getBluetoothAddress();
+                if (name == null || !name.startsWith(NAME_PREFIX)) {
+                    return;
+                }
+                synchronized (found) {
+                    if (!found.add(address)) {
+                        return;
+                    }
+                }
+                Thread connector = new Thread("Mote Connect " + address) {
+                    @Override
+                    public void run() {
+                        try {
+                            listener.moteFound(connect(address));
+                        } catch (IOException e) {
+                            synchronized (found) {
+                                found.remove(address);
+                            }
+                        }
+                    }
+                };
+                connector.setDaemon(true);
+                connector.start();
+            }
+
+            @Override
+            public void servicesDiscovered(int transID,
+                    ServiceRecord[] records) {
+            }
+
+            @Override
+            public void serviceSearchCompleted(int transID, int respCode) {
+            }
+
+            @Override
+            public void inquiryCompleted(int discType) {
+            }
+        };
+        synchronized (listeners) {
+            listeners.put(listener, discoveryListener);
+        }
+        try {
+            agent().startInquiry(DiscoveryAgent.GIAC, discoveryListener);
+        } catch (BluetoothStateException e) {
+            synchronized (listeners) {
+                listeners.remove(listener);
+            }
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void stopDiscovery(Listener<Remote> listener) {
+        DiscoveryListener discoveryListener;
+        synchronized (listeners) {
+            discoveryListener = listeners.remove(listener);
+        }
+        if (discoveryListener != null) {
+            try {
+                agent().cancelInquiry(discoveryListener);
+            } catch (BluetoothStateException e) {
+            }
+        }
+    }
+
+    @Override
+    public String getAddress(Remote mote) {
+        return mote.getAddress();
+    }
+
+    @Override
+    public void disconnect(Remote mote) {
+        mote.disconnect();
+    }
+
+    private static DiscoveryAgent agent() throws BluetoothStateException {
+        return LocalDevice.getLocalDevice().getDiscoveryAgent();
+    }
+}
@@ -0,0 +1,233 @@
+package game.remote;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class FakeMoteConnector implements MoteConnector<Remote> {
+
+    public static final long PAGE_TIMEOUT = 5120;
+    public static final long INQUIRY_TIME = 10240;
+
+    private static class Device {
+        private final String address;
+        private final long connectTime;
+        private final long discoveryTime;
+        private boolean available;
+        private RemoteScript script;
+        private int rate;
+        private VirtualRemote remote;
+
+        private Device(String address, long connectTime, long discoveryTime,
+                boolean available) {
+            this.address = address;
+            this.connectTime = connectTime;
+            this.discoveryTime = discoveryTime;
+            this.available = available;
+        }
+    }
+
+    private final float timeScale;
+    private final Map<String, Device> devices =
+            new LinkedHashMap<String, Device>();
+    private final Map<Listener<Remote>, Thread> inquiries =
+            new HashMap<Listener<Remote>, Thread>();
+    private final Lock pageLock = new ReentrantLock(true);
+
+    private int connectAttempts;
+    private int connections;
+    private int disconnects;
+
+    public FakeMoteConnector(float timeScale) {
+        this.timeScale = timeScale;
+    }
+
+    public synchronized void addDevice(String address, long connectTime,
+            long discoveryTime, boolean available) {
+        devices.put(address, new Device(address, connectTime, discoveryTime,
+                available));
+    }
+
+    public synchronized void setScript(String address, RemoteScript script,
+            int rate) {
+        Device device = devices.get(address);
+        device.script = script;
+        device.rate = rate;
+    }
+
+    public synchronized void setAvailable(String address, boolean available) {
+        devices.get(address).available = available;
+        notifyAll();
+    }
+
+    public synchronized void drop(String address) {
+        Device device = devices.get(address);
+        device.available = false;
+        if (device.remote != null) {
+            device.remote.stop();
+        }
+    }
+
+    public synchronized int getConnectAttempts() {
+        return connectAttempts;
+    }
+
+    public synchronized int getOpenConnections() {
+        return connections - disconnects;
+    }
+
+    @Override
+    public VirtualRemote connect(String address) throws IOException,
+            InterruptedException {
+        Device device;
+        synchronized (this) {
+            connectAttempts++;
+            device = devices.get(address);
+        }
+        pageLock.lockInterruptibly();
+
+        try {
+            if (device == null) {
+                delay(PAGE_TIMEOUT);
+                throw new IOException("Page timeout for " + address);
+            }
+            if (!awaitAvailable(device, PAGE_TIMEOUT)) {
+                throw new IOException("Page timeout for " + address);
+            }
+            return page(device);
+        } finally {
+            pageLock.unlock();
+        }
+    }
+
+    @Override
+    public void startDiscovery(final Listener<Remote> listener) {
+        final List<Device> found;
+        synchronized (this) {
+            found = new ArrayList<Device>(devices.values());
+        }
+        Collections.sort(found, new Comparator<Device>() {
+            @Override
+            public int compare(Device a, Device b) {
+                return Long.compare(a.discoveryTime, b.discoveryTime);
+            }
+        });
+
+        Thread inquiry = new Thread("Fake Inquiry") {
+            @Override
+            public void run() {
+                long elapsed = 0;
+                try {
+                    for (Device device : found) {
+                        if (device.discoveryTime >= INQUIRY_TIME) {
+                            return;
+                        }
+                        delay(device.discoveryTime - elapsed);
+                        elapsed = device.discoveryTime;
+                        if (isAvailable(device) && !isConnected(device)) {
+                            VirtualRemote remote;
+                            pageLock.lockInterruptibly();
+
+                            try {
+                                remote = page(device);
+                            } catch (IOException e) {
+                                continue;
+                            } finally {
+                                pageLock.unlock();
+                            }
+                            listener.moteFound(remote);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        };
+        inquiry.setDaemon(true);
+        synchronized (this) {
+            inquiries.put(listener, inquiry);
+        }
+        inquiry.start();
+    }
+
+    @Override
+    public void stopDiscovery(Listener<Remote> listener) {
+        Thread inquiry;
+        synchronized (this) {
+            inquiry = inquiries.remove(listener);
+        }
+        if (inquiry != null) {
+            inquiry.interrupt();
+        }
+    }
+
+    @Override
+    public String getAddress(Remote mote) {
+        return mote.getAddress();
+    }
+
+    @Override
+    public synchronized void disconnect(Remote mote) {
+        VirtualRemote remote = (VirtualRemote) mote;
+        if (remote.isConnected()) {
+            remote.disconnect();
+            disconnects++;
+        }
+    }
+
+    private synchronized boolean isAvailable(Device device) {
+        return device.available;
+    }
+
+    private synchronized boolean awaitAvailable(Device device, long time)
+            throws InterruptedException {
+        long end = System.nanoTime()
+                + TimeUnit.MILLISECONDS.toNanos((long) (time / timeScale));
+        while (!device.available) {
+            long nanos = end - System.nanoTime();
+            if (nanos <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, nanos);
+        }
+        return true;
+    }
+
+    private synchronized boolean isConnected(Device device) {
+        return device.remote != null && device.remote.isConnected();
+    }
+
+    private VirtualRemote page(Device device) throws IOException,
+            InterruptedException {
+        delay(device.connectTime);
+        VirtualRemote remote;
+        synchronized (this) {
+            if (!device.available) {
+                throw new IOException("Connection to " + device.address
+                        + " lost");
+            }
+            if (isConnected(device)) {
+                throw new IOException(device.address + " already connected");
+            }
+            connections++;
+            remote = new VirtualRemote(device.address);
+            device.remote = remote;
+        }
+        if (device.script != null) {
+            remote.start(device.script, device.rate);
+        }
+        return remote;
+    }
+
+    private void delay(long time) throws InterruptedException {
+        Thread.sleep((long) (time / timeScale));
+    }
+}
@@ -0,0 +1,268 @@
+package game.remote;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.bluetooth.L2CAPConnection;
+import javax.microedition.io.Connector;
+
+import motej.CalibrationDataReport;
+import motej.event.ExtensionEvent;
+import motej.event.ExtensionListener;
+import motej.request.CalibrationDataRequest;
+import motej.request.MoteRequest;
+import motej.request.MotionPlusNunchukActivateRequest;
+import motej.request.PlayerLedRequest;
+import motej.request.ReportModeRequest;
+import motej.request.RumbleRequest;
+import motej.request.WriteRegisterRequest;
+import motejx.extensions.motionplusnunchuk.MotionPlusNunchuk;
+
+public class L2capRemote implements Remote {
+
+    private static final String CONTROL_PSM = "11";
+    private static final String INTERRUPT_PSM = "13";
+    private static final String OPTIONS =
+            ";authenticate=false;encrypt=false;master=false";
+
+    private static final int INPUT_REPORT = 0xa1;
+    private static final int STATUS_REPORT = 0x20;
+    private static final int READ_REPORT = 0x21;
+    private static final int EXTENSION_CONNECTED = 0x02;
+    private static final int RUMBLE = 0x01;
+
+    private static final byte[] EXTENSION_INIT_OFFSET = { (byte) 0xa6, 0x00,
+            (byte) 0xf0 };
+    private static final byte[] EXTENSION_INIT = { 0x55 };
+    private static final int CALIBRATION_ADDRESS = 0x0020;
+
+    private final String address;
+    private final L2CAPConnection control;
+    private final L2CAPConnection interrupt;
+
+    private final ReportListenerList reportListeners =
+            new ReportListenerList();
+    private final ReportDecoder decoder = new ReportDecoder(reportListeners);
+    private final List<ExtensionListener> extensionListeners =
+            new CopyOnWriteArrayList<ExtensionListener>();
+    private final MotionPlusNunchuk extension = new MotionPlusNunchuk();
+    private final BlockingQueue<byte[]> requests =
+            new LinkedBlockingQueue<byte[]>();
+
+    private final Thread reader;
+    private final Thread writer;
+
+    private volatile CalibrationDataReport calibration;
+    private volatile byte reportMode = ReportModeRequest.DATA_REPORT_0x30;
+    private volatile boolean continuous;
+    private volatile byte ledByte;
+    private volatile long rumbleEnd;
+    private volatile boolean connected = true;
+    private boolean extensionConnected;
+
+    public L2capRemote(String address) throws IOException {
+        this.address = address;
+        control = open(address, CONTROL_PSM, Connector.WRITE);
+        try {
+            interrupt = open(address, INTERRUPT_PSM, Connector.READ);
+        } catch (IOException e) {
+            control.close();
+            throw e;
+        }
+
+        reader = new Thread("Mote In " + address) {
+            @Override
+            public void run() {
+                read();
+            }
+        };
+        reader.setDaemon(true);
+        writer = new Thread("Mote Out " + address) {
+            @Override
+            public void run() {
+                write();
+            }
+        };
+        writer.setDaemon(true);
+        reader.start();
+        writer.start();
+        send(new CalibrationDataRequest());
+    }
+
+    private static L2CAPConnection open(String address, String psm, int mode)
+            throws IOException {
+        System.setProperty("bluecove.jsr82.psm_minimum_off", "true");
+        return (L2CAPConnection) Connector.open("btl2cap://" + address + ":"
+                + psm + OPTIONS, mode, true);
+    }
+
+    private void read() {
+        try {
+            byte[] data = new byte[interrupt.getReceiveMTU()];
+            while (connected) {
+                int length = interrupt.receive(data);
+                if (length < 2 || (data[0] & 0xff) != INPUT_REPORT) {
+                    continue;
+                }
+                if (decoder.decode(data)) {
+                    continue;
+                }
+                switch (data[1]) {
+                case STATUS_REPORT:
+                    statusReceived(data);
+                    break;
+                case READ_REPORT:
+                    readReceived(data);
+                    break;
+                default:
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            connected = false;
+        }
+    }
+
+    private void write() {
+        try {
+            while (connected) {
+                byte[] request;
+                if (rumbleEnd != 0) {
+                    long remaining = rumbleEnd - System.nanoTime();
+                    request = remaining > 0 ? requests.poll(remaining,
+                            TimeUnit.NANOSECONDS) : null;
+                    if (request == null) {
+                        rumbleEnd = 0;
+                        control.send(RumbleRequest.getStopRumbleBytes(ledByte));
+                        continue;
+                    }
+                    request[2] |= RUMBLE;
+                } else {
+                    request = requests.take();
+                }
+                control.send(request);
+            }
+        } catch (InterruptedException e) {
+            return;
+        } catch (IOException e) {
+            connected = false;
+        }
+    }
+
+    private void send(MoteRequest request) {
+        requests.add(request.getBytes());
+    }
+
+    private void statusReceived(byte[] data) {
+        boolean attached = (data[4] & EXTENSION_CONNECTED) != 0;
+        if (attached != extensionConnected) {
+            extensionConnected = attached;
+            decoder.newCalibration();
+            ExtensionEvent evt = new ExtensionEvent(null, extension);
+            for (ExtensionListener listener : extensionListeners) {
+                if (attached) {
+                    listener.extensionConnected(evt);
+                } else {
+                    listener.extensionDisconnected(evt);
+                }
+            }
+        }
+        send(new ReportModeRequest(reportMode, continuous));
+    }
+
+    private void readReceived(byte[] data) {
+        int error = data[4] & 0x0f;
+        int offset = (data[5] & 0xff) << 8 | data[6] & 0xff;
+        if (error != 0 || offset != CALIBRATION_ADDRESS) {
+            return;
+        }
+        calibration = new CalibrationDataReport(data[7] & 0xff,
+                data[8] & 0xff, data[9] & 0xff, data[11] & 0xff,
+                data[12] & 0xff, data[13] & 0xff);
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    public String getAddress() {
+        return address;
+    }
+
+    @Override
+    public CalibrationDataReport getCalibrationDataReport() {
+        return calibration;
+    }
+
+    @Override
+    public void addReportListener(ReportListener listener) {
+        reportListeners.add(listener);
+    }
+
+    @Override
+    public void removeReportListener(ReportListener listener) {
+        reportListeners.remove(listener);
+    }
+
+    @Override
+    public void addExtensionListener(ExtensionListener listener) {
+        extensionListeners.add(listener);
+    }
+
+    @Override
+    public void removeExtensionListener(ExtensionListener listener) {
+        extensionListeners.remove(listener);
+    }
+
+    @Override
+    public void activateMotionPlusNunchuk() {
+        send(new WriteRegisterRequest(EXTENSION_INIT_OFFSET, EXTENSION_INIT));
+        send(new MotionPlusNunchukActivateRequest());
+    }
+
+    @Override
+    public void setReportMode(byte mode) {
+        setReportMode(mode, false);
+    }
+
+    @Override
+    public void setReportMode(byte mode, boolean continuous) {
+        this.reportMode = mode;
+        this.continuous = continuous;
+        send(new ReportModeRequest(mode, continuous));
+    }
+
+    @Override
+    public void setPlayerLeds(boolean[] leds) {
+        PlayerLedRequest request = new PlayerLedRequest(leds);
+        ledByte = request.getLedByte();
+        send(request);
+    }
+
+    @Override
+    public void rumble(long millis) {
+        RumbleRequest request = new RumbleRequest(millis);
+        request.setLedByte(ledByte);
+        rumbleEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        send(request);
+    }
+
+    @Override
+    public void disconnect() {
+        connected = false;
+        writer.interrupt();
+        try {
+            interrupt.close();
+        } catch (IOException e) {
+        }
+        try {
+            control.close();
+        } catch (IOException e) {
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package game.remote;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+public class MoteAddressCache {
+
+    private static final int MAX_ADDRESSES = 8;
+
+    private final File file;
+    private final List<String> addresses = new ArrayList<String>();
+
+    public MoteAddressCache(File file) {
+        this.file = file;
+        load();
+    }
+
+    public synchronized List<String> getAddresses() {
+        return new ArrayList<String>(addresses);
+    }
+
+    public synchronized void remember(String address) {
+        if (addresses.indexOf(address) == 0) {
+            return;
+        }
+        addresses.remove(address);
+        addresses.add(0, address);
+        while (addresses.size() > MAX_ADDRESSES) {
+            addresses.remove(addresses.size() - 1);
+        }
+        save();
+    }
+
+    private void load() {
+        try {
+            BufferedReader reader = new BufferedReader(new FileReader(file));
+            try {
+                String line;
+                while ((line = reader.readLine()) != null
+                        && addresses.size() < MAX_ADDRESSES) {
+                    line = line.trim();
+                    if (!line.isEmpty() && !addresses.contains(line)) {
+                        addresses.add(line);
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (FileNotFoundException e) {
+            return;
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void save() {
+        File tempFile = new File(file.getPath() + ".tmp");
+        try {
+            File dir = file.getParentFile();
+            if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+                return;
+            }
+            Writer writer = new FileWriter(tempFile);
+            try {
+                for (String address : addresses) {
+                    writer.write(address);
+                    writer.write('\n');
+                }
+            } finally {
+                writer.close();
+            }
+            if (!tempFile.renameTo(file)) {
+                file.delete();
+                tempFile.renameTo(file);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            tempFile.delete();
+        }
+    }
+}
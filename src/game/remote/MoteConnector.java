@@ -0,0 +1,20 @@
+package game.remote;
+
+import java.io.IOException;
+
+public interface MoteConnector<T> {
+
+    interface Listener<T> {
+        void moteFound(T mote);
+    }
+
+    T connect(String address) throws IOException, InterruptedException;
+
+    void startDiscovery(Listener<T> listener);
+
+    void stopDiscovery(Listener<T> listener);
+
+    String getAddress(T mote);
+
+    void disconnect(T mote);
+}
@@ -0,0 +1,201 @@
+package game.remote;
+
+import motej.CalibrationDataReport;
+import motej.Extension;
+import motej.Mote;
+import motej.event.AccelerometerEvent;
+import motej.event.AccelerometerListener;
+import motej.event.CoreButtonEvent;
+import motej.event.CoreButtonListener;
+import motej.event.ExtensionEvent;
+import motej.event.ExtensionListener;
+import motejx.extensions.motionplus.MotionPlusEvent;
+import motejx.extensions.motionplus.MotionPlusListener;
+import motejx.extensions.motionplusnunchuk.MotionPlusNunchuk;
+import motejx.extensions.nunchuk.Nunchuk;
+import motejx.extensions.nunchuk.NunchukButtonEvent;
+import motejx.extensions.nunchuk.NunchukButtonListener;
+
+public class MoteRemote implements Remote {
+
+    private final Mote mote;
+    private final ReportListenerList reportListeners =
+            new ReportListenerList();
+    private final RemoteReport report = new RemoteReport();
+
+    private MotionPlusNunchuk extension;
+    private int nunchukX;
+    private int nunchukY;
+    private int nunchukZ;
+
+    public MoteRemote(Mote mote) {
+        this.mote = mote;
+    }
+
+    public Mote getMote() {
+        return mote;
+    }
+
+    @Override
+    public String getAddress() {
+        return mote.getBluetoothAddress();
+    }
+
+    @Override
+    public CalibrationDataReport getCalibrationDataReport() {
+        return mote.getCalibrationDataReport();
+    }
+
+    @Override
+    public synchronized void addReportListener(ReportListener listener) {
+        if (reportListeners.isEmpty()) {
+            mote.addCoreButtonListener(coreButtonListener);
+            mote.addAccelerometerListener(accelerometerListener);
+            mote.addExtensionListener(extensionListener);
+            Extension current = mote.getExtension();
+            if (current instanceof MotionPlusNunchuk) {
+                addExtension((MotionPlusNunchuk) current);
+            }
+        }
+        reportListeners.add(listener);
+    }
+
+    @Override
+    public synchronized void removeReportListener(ReportListener listener) {
+        reportListeners.remove(listener);
+        if (reportListeners.isEmpty()) {
+            mote.removeCoreButtonListener(coreButtonListener);
+            mote.removeAccelerometerListener(accelerometerListener);
+            mote.removeExtensionListener(extensionListener);
+            removeExtension();
+        }
+    }
+
+    private synchronized void addExtension(MotionPlusNunchuk added) {
+        if (extension == added) {
+            return;
+        }
+        removeExtension();
+        extension = added;
+        extension.addMotionPlusEventListener(motionPlusListener);
+        extension.addAccelerometerListener(nunchukAccelerometerListener);
+        extension.addNunchukButtonListener(nunchukButtonListener);
+    }
+
+    private synchronized void removeExtension() {
+        if (extension != null) {
+            extension.removeMotionPlusListener(motionPlusListener);
+            extension.removeAccelerometerListener(
+                    nunchukAccelerometerListener);
+            extension.removeNunchukButtonListener(nunchukButtonListener);
+            extension = null;
+        }
+    }
+
+    @Override
+    public void addExtensionListener(ExtensionListener listener) {
+        mote.addExtensionListener(listener);
+    }
+
+    @Override
+    public void removeExtensionListener(ExtensionListener listener) {
+        mote.removeExtensionListener(listener);
+    }
+
+    @Override
+    public void activateMotionPlusNunchuk() {
+        mote.activateMotionPlusNunchuk();
+    }
+
+    @Override
+    public void setReportMode(byte mode) {
+        mote.setReportMode(mode);
+    }
+
+    @Override
+    public void setReportMode(byte mode, boolean continuous) {
+        mote.setReportMode(mode, continuous);
+    }
+
+    @Override
+    public void setPlayerLeds(boolean[] leds) {
+        mote.setPlayerLeds(leds);
+    }
+
+    @Override
+    public void rumble(long millis) {
+        mote.rumble(millis);
+    }
+
+    @Override
+    public void disconnect() {
+        mote.disconnect();
+    }
+
+    private final CoreButtonListener coreButtonListener =
+            new CoreButtonListener() {
+                @Override
+                public void buttonPressed(CoreButtonEvent evt) {
+                    reportListeners.reportReceived(report.clear(
+                            System.currentTimeMillis()).setButtons(
+                            evt.getButton()));
+                }
+            };
+
+    private final AccelerometerListener<Mote> accelerometerListener =
+            new AccelerometerListener<Mote>() {
+                @Override
+                public void accelerometerChanged(AccelerometerEvent<Mote> evt) {
+                    reportListeners.reportReceived(report.clear(
+                            System.currentTimeMillis()).setAccelerometer(
+                            evt.getX(), evt.getY(), evt.getZ()));
+                }
+            };
+
+    private final ExtensionListener extensionListener =
+            new ExtensionListener() {
+                @Override
+                public void extensionConnected(ExtensionEvent evt) {
+                    if (evt.getExtension() instanceof MotionPlusNunchuk) {
+                        addExtension((MotionPlusNunchuk) evt.getExtension());
+                    }
+                }
+
+                @Override
+                public void extensionDisconnected(ExtensionEvent evt) {
+                    removeExtension();
+                }
+            };
+
+    private final AccelerometerListener<Nunchuk> nunchukAccelerometerListener =
+            new AccelerometerListener<Nunchuk>() {
+                @Override
+                public void accelerometerChanged(
+                        AccelerometerEvent<Nunchuk> evt) {
+                    nunchukX = evt.getX();
+                    nunchukY = evt.getY();
+                    nunchukZ = evt.getZ();
+                }
+            };
+
+    private final NunchukButtonListener nunchukButtonListener =
+            new NunchukButtonListener() {
+                @Override
+                public void buttonPressed(NunchukButtonEvent evt) {
+                    reportListeners.reportReceived(report.clear(
+                            System.currentTimeMillis()).setNunchuk(
+                            evt.getButton(), nunchukX, nunchukY, nunchukZ));
+                }
+            };
+
+    private final MotionPlusListener motionPlusListener =
+            new MotionPlusListener() {
+                @Override
+                public void speedChanged(MotionPlusEvent evt) {
+                    reportListeners.reportReceived(report.clear(
+                            evt.getEventTime()).setMotionPlus(
+                            evt.getRollLeftSpeed(), evt.getPitchDownSpeed(),
+                            evt.getYawLeftSpeed(), false, false, false));
+                }
+            };
+}
@@ -0,0 +1,268 @@
+package game.remote;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class MoteSearch<T> implements Future<T> {
+
+    public interface Callback<T> {
+        void moteConnected(T mote);
+    }
+
+    private static final long DISCOVERY_TIME = 15000;
+    private static final long DISCOVERY_PAUSE = 1000;
+    private static final long CONNECT_RETRY_TIME = 500;
+    private static final int CONNECT_ATTEMPTS = 3;
+
+    private final MoteConnector<T> connector;
+    private final MoteAddressCache cache;
+    private final Collection<String> exclude;
+    private final Callback<T> callback;
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition condition = lock.newCondition();
+    private final List<Thread> threads = new ArrayList<Thread>();
+
+    private final long startTime = System.nanoTime();
+    private long connectTime;
+    private boolean done;
+    private boolean cancelled;
+    private T mote;
+
+    public MoteSearch(MoteConnector<T> connector, MoteAddressCache cache,
+            Collection<String> exclude, Callback<T> callback) {
+        this.connector = connector;
+        this.cache = cache;
+        this.exclude = exclude;
+        this.callback = callback;
+    }
+
+    public void start() {
+        lock.lock();
+
+        try {
+            List<String> addresses = cache.getAddresses();
+            addresses.removeAll(exclude);
+            if (!addresses.isEmpty()) {
+                startThread(new ConnectTask(addresses), "Mote Connect");
+            }
+            startThread(new DiscoveryTask(), "Mote Discovery");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void startThread(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        threads.add(thread);
+        thread.start();
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        lock.lock();
+
+        try {
+            if (done) {
+                return false;
+            }
+            done = true;
+            cancelled = true;
+            stopThreads();
+            condition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        lock.lock();
+
+        try {
+            return cancelled;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isDone() {
+        lock.lock();
+
+        try {
+            return done;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+        lock.lock();
+
+        try {
+            while (!done) {
+                condition.await();
+            }
+            return result();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T get(long timeout, TimeUnit unit) throws InterruptedException,
+            ExecutionException, TimeoutException {
+        lock.lock();
+
+        try {
+            long nanos = unit.toNanos(timeout);
+            while (!done) {
+                if (nanos <= 0) {
+                    throw new TimeoutException();
+                }
+                nanos = condition.awaitNanos(nanos);
+            }
+            return result();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getConnectTime() {
+        lock.lock();
+
+        try {
+            return connectTime;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private T result() {
+        if (cancelled) {
+            throw new CancellationException();
+        }
+        return mote;
+    }
+
+    private void stopThreads() {
+        Thread current = Thread.currentThread();
+        for (Thread thread : threads) {
+            if (thread != current) {
+                thread.interrupt();
+            }
+        }
+    }
+
+    private void connected(T mote) {
+        boolean first;
+        lock.lock();
+
+        try {
+            first = !done;
+            if (first) {
+                done = true;
+                this.mote = mote;
+                connectTime = (System.nanoTime() - startTime) / 1000000;
+                stopThreads();
+                condition.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (!first) {
+            connector.disconnect(mote);
+            return;
+        }
+        cache.remember(connector.getAddress(mote));
+        if (callback != null) {
+            callback.moteConnected(mote);
+        }
+    }
+
+    private boolean awaitDone(long time) throws InterruptedException {
+        lock.lock();
+
+        try {
+            long nanos = TimeUnit.MILLISECONDS.toNanos(time);
+            while (!done && nanos > 0) {
+                nanos = condition.awaitNanos(nanos);
+            }
+            return done;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private class ConnectTask implements Runnable {
+        private final List<String> addresses;
+
+        private ConnectTask(List<String> addresses) {
+            this.addresses = addresses;
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < CONNECT_ATTEMPTS; i++) {
+                    for (String address : addresses) {
+                        if (isDone()) {
+                            return;
+                        }
+                        try {
+                            connected(connector.connect(address));
+                            return;
+                        } catch (IOException e) {
+                            continue;
+                        }
+                    }
+                    if (awaitDone(CONNECT_RETRY_TIME)) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private class DiscoveryTask implements Runnable,
+            MoteConnector.Listener<T> {
+        @Override
+        public void run() {
+            try {
+                while (!isDone()) {
+                    connector.startDiscovery(this);
+                    try {
+                        awaitDone(DISCOVERY_TIME);
+                    } finally {
+                        connector.stopDiscovery(this);
+                    }
+                    awaitDone(DISCOVERY_PAUSE);
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+
+        @Override
+        public void moteFound(T mote) {
+            connected(mote);
+        }
+    }
+}
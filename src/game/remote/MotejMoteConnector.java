@@ -0,0 +1,63 @@
+package game.remote;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import motej.Mote;
+import motej.MoteFinder;
+import motej.MoteFinderListener;
+
+public class MotejMoteConnector implements MoteConnector<Remote> {
+
+    private final Map<Listener<Remote>, MoteFinderListener> listeners =
+            new HashMap<Listener<Remote>, MoteFinderListener>();
+
+    @Override
+    public Remote connect(String address) throws IOException {
+        try {
+            return new MoteRemote(new Mote(address));
+        } catch (RuntimeException e) {
+            throw new IOException("Could not connect to " + address, e);
+        }
+    }
+
+    @Override
+    public void startDiscovery(final Listener<Remote> listener) {
+        MoteFinderListener finderListener = new MoteFinderListener() {
+            @Override
+            public void moteFound(Mote mote) {
+                listener.moteFound(new MoteRemote(mote));
+            }
+        };
+        synchronized (listeners) {
+            listeners.put(listener, finderListener);
+        }
+        MoteFinder finder = MoteFinder.getMoteFinder();
+        finder.addMoteFinderListener(finderListener);
+        finder.startDiscovery();
+    }
+
+    @Override
+    public void stopDiscovery(Listener<Remote> listener) {
+        MoteFinderListener finderListener;
+        synchronized (listeners) {
+            finderListener = listeners.remove(listener);
+        }
+        if (finderListener != null) {
+            MoteFinder finder = MoteFinder.getMoteFinder();
+            finder.stopDiscovery();
+            finder.removeMoteFinderListener(finderListener);
+        }
+    }
+
+    @Override
+    public String getAddress(Remote mote) {
+        return mote.getAddress();
+    }
+
+    @Override
+    public void disconnect(Remote mote) {
+        mote.disconnect();
+    }
+}
@@ -0,0 +1,31 @@
+package game.remote;
+
+import motej.CalibrationDataReport;
+import motej.event.ExtensionListener;
+
+public interface Remote {
+
+    String getAddress();
+
+    CalibrationDataReport getCalibrationDataReport();
+
+    void addReportListener(ReportListener listener);
+
+    void removeReportListener(ReportListener listener);
+
+    void addExtensionListener(ExtensionListener listener);
+
+    void removeExtensionListener(ExtensionListener listener);
+
+    void activateMotionPlusNunchuk();
+
+    void setReportMode(byte mode);
+
+    void setReportMode(byte mode, boolean continuous);
+
+    void setPlayerLeds(boolean[] leds);
+
+    void rumble(long millis);
+
+    void disconnect();
+}
@@ -0,0 +1,136 @@
+package game.remote;
+
+public class RemoteReport {
+
+    public static final int BUTTONS = 1;
+    public static final int ACCELEROMETER = 2;
+    public static final int NUNCHUK = 4;
+    public static final int MOTION_PLUS = 8;
+
+    private int contents;
+    private long time;
+    private int buttons;
+    private int x;
+    private int y;
+    private int z;
+    private int nunchukButtons;
+    private int nunchukX;
+    private int nunchukY;
+    private int nunchukZ;
+    private double rollSpeed;
+    private double pitchSpeed;
+    private double yawSpeed;
+    private boolean rollSlow;
+    private boolean pitchSlow;
+    private boolean yawSlow;
+
+    public RemoteReport clear(long time) {
+        this.contents = 0;
+        this.time = time;
+        return this;
+    }
+
+    public RemoteReport setButtons(int buttons) {
+        this.contents |= BUTTONS;
+        this.buttons = buttons;
+        return this;
+    }
+
+    public RemoteReport setAccelerometer(int x, int y, int z) {
+        this.contents |= ACCELEROMETER;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    public RemoteReport setNunchuk(int buttons, int x, int y, int z) {
+        this.contents |= NUNCHUK;
+        this.nunchukButtons = buttons;
+        this.nunchukX = x;
+        this.nunchukY = y;
+        this.nunchukZ = z;
+        return this;
+    }
+
+    public RemoteReport setMotionPlus(double rollSpeed, double pitchSpeed,
+            double yawSpeed, boolean rollSlow, boolean pitchSlow,
+            boolean yawSlow) {
+        this.contents |= MOTION_PLUS;
+        this.rollSpeed = rollSpeed;
+        this.pitchSpeed = pitchSpeed;
+        this.yawSpeed = yawSpeed;
+        this.rollSlow = rollSlow;
+        this.pitchSlow = pitchSlow;
+        this.yawSlow = yawSlow;
+        return this;
+    }
+
+    public boolean has(int part) {
+        return (contents & part) != 0;
+    }
+
+    public int getContents() {
+        return contents;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public int getButtons() {
+        return buttons;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getZ() {
+        return z;
+    }
+
+    public int getNunchukButtons() {
+        return nunchukButtons;
+    }
+
+    public int getNunchukX() {
+        return nunchukX;
+    }
+
+    public int getNunchukY() {
+        return nunchukY;
+    }
+
+    public int getNunchukZ() {
+        return nunchukZ;
+    }
+
+    public double getRollSpeed() {
+        return rollSpeed;
+    }
+
+    public double getPitchSpeed() {
+        return pitchSpeed;
+    }
+
+    public double getYawSpeed() {
+        return yawSpeed;
+    }
+
+    public boolean isRollSlow() {
+        return rollSlow;
+    }
+
+    public boolean isPitchSlow() {
+        return pitchSlow;
+    }
+
+    public boolean isYawSlow() {
+        return yawSlow;
+    }
+}
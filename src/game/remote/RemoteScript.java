@@ -0,0 +1,6 @@
+package game.remote;
+
+public interface RemoteScript {
+
+    boolean report(long time, VirtualRemote remote);
+}
@@ -0,0 +1,145 @@
+package game.remote;
+
+import motej.request.ReportModeRequest;
+
+public class ReportDecoder {
+
+    public static final int CALIBRATION_SAMPLES = 50;
+
+    private static final int CALIBRATION_RANGE = 75;
+    private static final int BUTTON_MASK = 0x9f1f;
+    private static final double FAST_SCALE = 4;
+    private static final double SLOW_SCALE = 20;
+    private static final double DEAD_ZONE = 0.5;
+
+    private static final int ROLL = 0;
+    private static final int PITCH = 1;
+    private static final int YAW = 2;
+
+    private final ReportListener listener;
+    private final RemoteReport report = new RemoteReport();
+
+    private final int[] samples = new int[3 * CALIBRATION_SAMPLES];
+    private final int[] zero = new int[3];
+    private final boolean[] calibrated = new boolean[3];
+    private int sampleCount;
+
+    public ReportDecoder(ReportListener listener) {
+        this.listener = listener;
+    }
+
+    public void calibrate(int rollZero, int pitchZero, int yawZero) {
+        zero[ROLL] = rollZero;
+        zero[PITCH] = pitchZero;
+        zero[YAW] = yawZero;
+        calibrated[ROLL] = true;
+        calibrated[PITCH] = true;
+        calibrated[YAW] = true;
+    }
+
+    public void newCalibration() {
+        calibrated[ROLL] = false;
+        calibrated[PITCH] = false;
+        calibrated[YAW] = false;
+        sampleCount = 0;
+    }
+
+    public boolean isCalibrated() {
+        return calibrated[ROLL] && calibrated[PITCH] && calibrated[YAW];
+    }
+
+    public boolean decode(byte[] data) {
+        return decode(data, System.currentTimeMillis());
+    }
+
+    public boolean decode(byte[] data, long time) {
+        report.clear(time);
+        switch (data[1]) {
+        case ReportModeRequest.DATA_REPORT_0x30:
+            decodeButtons(data);
+            break;
+        case ReportModeRequest.DATA_REPORT_0x31:
+            decodeButtons(data);
+            decodeAccelerometer(data, 4);
+            break;
+        case ReportModeRequest.DATA_REPORT_0x32:
+            decodeButtons(data);
+            decodeExtension(data, 4);
+            break;
+        case ReportModeRequest.DATA_REPORT_0x35:
+            decodeButtons(data);
+            decodeAccelerometer(data, 4);
+            decodeExtension(data, 7);
+            break;
+        default:
+            return false;
+        }
+        listener.reportReceived(report);
+        return true;
+    }
+
+    private void decodeButtons(byte[] data) {
+        report.setButtons(((data[2] & 0xff) | (data[3] & 0xff) << 8)
+                & BUTTON_MASK);
+    }
+
+    private void decodeAccelerometer(byte[] data, int i) {
+        report.setAccelerometer(data[i] & 0xff, data[i + 1] & 0xff,
+                data[i + 2] & 0xff);
+    }
+
+    private void decodeExtension(byte[] data, int i) {
+        if ((data[i + 5] & 0x02) == 0) {
+            report.setNunchuk(((data[i + 5] & 0x0c) ^ 0x0c) >> 2,
+                    data[i + 2] & 0xff, data[i + 3] & 0xff,
+                    (data[i + 4] & 0xfe) | (data[i + 5] & 0x80) >> 7);
+            return;
+        }
+
+        int yaw = (data[i] & 0xff) | (data[i + 3] & 0xfc) << 6;
+        int roll = (data[i + 1] & 0xff) | (data[i + 4] & 0xfc) << 6;
+        int pitch = (data[i + 2] & 0xff) | (data[i + 5] & 0xfc) << 6;
+        boolean yawSlow = (data[i + 3] & 0x02) != 0;
+        boolean pitchSlow = (data[i + 3] & 0x01) != 0;
+        boolean rollSlow = (data[i + 4] & 0x02) != 0;
+
+        if (!isCalibrated()) {
+            addSample(roll, pitch, yaw);
+            return;
+        }
+        report.setMotionPlus(speed(roll, ROLL, rollSlow),
+                speed(pitch, PITCH, pitchSlow), speed(yaw, YAW, yawSlow),
+                rollSlow, pitchSlow, yawSlow);
+    }
+
+    private double speed(int raw, int axis, boolean slow) {
+        double speed = (raw - zero[axis]) / (slow ? SLOW_SCALE : FAST_SCALE);
+        return Math.abs(speed) < DEAD_ZONE ? 0 : speed;
+    }
+
+    private void addSample(int roll, int pitch, int yaw) {
+        int slot = 3 * (sampleCount % CALIBRATION_SAMPLES);
+        samples[slot + ROLL] = roll;
+        samples[slot + PITCH] = pitch;
+        samples[slot + YAW] = yaw;
+        sampleCount++;
+        if (sampleCount < CALIBRATION_SAMPLES) {
+            return;
+        }
+        for (int axis = 0; axis < 3; axis++) {
+            if (calibrated[axis]) {
+                continue;
+            }
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int j = axis; j < samples.length; j += 3) {
+                min = Math.min(min, samples[j]);
+                max = Math.max(max, samples[j]);
+            }
+            if (max - min <= CALIBRATION_RANGE) {
+                zero[axis] = (min + max) / 2;
+                calibrated[axis] = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package game.remote;
+
+public interface ReportListener {
+
+    void reportReceived(RemoteReport report);
+}
@@ -0,0 +1,41 @@
+package game.remote;
+
+import java.util.Arrays;
+
+public class ReportListenerList implements ReportListener {
+
+    private volatile ReportListener[] listeners = new ReportListener[0];
+
+    public synchronized void add(ReportListener listener) {
+        ReportListener[] added = Arrays.copyOf(listeners,
+                listeners.length + 1);
+        added[listeners.length] = listener;
+        listeners = added;
+    }
+
+    public synchronized void remove(ReportListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                ReportListener[] removed =
+                        new ReportListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, removed, 0, i);
+                System.arraycopy(listeners, i + 1, removed, i,
+                        removed.length - i);
+                listeners = removed;
+                return;
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return listeners.length == 0;
+    }
+
+    @Override
+    public void reportReceived(RemoteReport report) {
+        ReportListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            current[i].reportReceived(report);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package game.remote;
+
+import motej.event.CoreButtonEvent;
+import motejx.extensions.nunchuk.NunchukButtonEvent;
+
+public class SyntheticRemoteScript implements RemoteScript {
+
+    private static final double ROLL_AMPLITUDE = 15;
+    private static final double ROLL_PERIOD = 4;
+    private static final double PITCH_AMPLITUDE = 7;
+    private static final double PITCH_PERIOD = 3;
+
+    private static final long RECENTER_PERIOD = 6000;
+    private static final long BUTTON_TIME = 100;
+
+    private static final long SHOT_PERIOD = 1500;
+    private static final long PRESS_TIME = 100;
+    private static final long DRAW_START = 200;
+    private static final long DRAW_END = 300;
+    private static final long SETTLE_START = 500;
+    private static final long SETTLE_END = 560;
+    private static final long RELEASE_TIME = 800;
+
+    private static final int REST_ACCELERATION = 125;
+    private static final int DRAWING_ACCELERATION = 160;
+    private static final int READY_ACCELERATION = 120;
+
+    private final long offset;
+
+    private long reports;
+
+    public SyntheticRemoteScript() {
+        this(0);
+    }
+
+    public SyntheticRemoteScript(long offset) {
+        this.offset = offset * 1000000;
+    }
+
+    @Override
+    public boolean report(long time, VirtualRemote remote) {
+        time += offset;
+        long millis = time / 1000000;
+        double seconds = time / 1e9;
+
+        remote.fireCoreButtons(millis % RECENTER_PERIOD < BUTTON_TIME
+                ? CoreButtonEvent.BUTTON_A : 0);
+
+        double rollPhase = 2 * Math.PI * seconds / ROLL_PERIOD;
+        double pitchPhase = 2 * Math.PI * seconds / PITCH_PERIOD;
+        double roll = Math.toRadians(ROLL_AMPLITUDE * Math.sin(rollPhase));
+        double pitch = Math.toRadians(PITCH_AMPLITUDE * Math.sin(pitchPhase));
+        remote.fireAccelerometer(
+                VirtualRemote.toRaw(-Math.sin(roll) * Math.cos(pitch)),
+                VirtualRemote.toRaw(-Math.sin(pitch)),
+                VirtualRemote.toRaw(Math.cos(roll) * Math.cos(pitch)));
+
+        if ((reports++ & 1) == 0) {
+            remote.fireMotionPlus(ROLL_AMPLITUDE * 2 * Math.PI / ROLL_PERIOD
+                    * Math.cos(rollPhase), PITCH_AMPLITUDE * 2 * Math.PI
+                    / PITCH_PERIOD * Math.cos(pitchPhase), 0);
+        } else {
+            long shotTime = millis % SHOT_PERIOD;
+            remote.fireNunchuk(shotTime >= PRESS_TIME
+                    && shotTime < RELEASE_TIME ? NunchukButtonEvent.BUTTON_C
+                    : 0, 0, drawAcceleration(shotTime), 0);
+        }
+        return true;
+    }
+
+    private static int drawAcceleration(long time) {
+        if (time < DRAW_START || time >= RELEASE_TIME) {
+            return REST_ACCELERATION;
+        } else if (time < DRAW_END) {
+            return (int) (REST_ACCELERATION
+                    + (DRAWING_ACCELERATION - REST_ACCELERATION)
+                    * (time - DRAW_START) / (DRAW_END - DRAW_START));
+        } else if (time < SETTLE_START) {
+            return DRAWING_ACCELERATION;
+        } else if (time < SETTLE_END) {
+            return (int) (DRAWING_ACCELERATION
+                    - (DRAWING_ACCELERATION - READY_ACCELERATION)
+                    * (time - SETTLE_START) / (SETTLE_END - SETTLE_START));
+        }
+        return READY_ACCELERATION;
+    }
+}
@@ -0,0 +1,119 @@
+package game.remote;
+
+import game.controller.AimFilter;
+import game.controller.InputEvent;
+import game.replay.InputLogReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+public class TraceRemoteScript implements RemoteScript {
+
+    private final boolean loop;
+
+    private int size;
+    private int[] types = new int[1024];
+    private long[] times = new long[1024];
+    private long[] values = new long[3 * 1024];
+
+    private int next;
+    private long loopStart;
+    private int nunchukX;
+    private int nunchukY;
+    private int nunchukZ;
+
+    public TraceRemoteScript(File file, boolean loop) throws IOException {
+        this.loop = loop;
+        load(file);
+        if (size == 0) {
+            throw new IOException("No controller input in " + file);
+        }
+    }
+
+    private void load(File file) throws IOException {
+        InputLogReader reader = new InputLogReader(file);
+        while (reader.next()) {
+            if (reader.isEvent() && reader.getPlayer() == 0) {
+                add(reader.getEvent());
+            }
+        }
+    }
+
+    private void add(InputEvent event) {
+        if (size == types.length) {
+            types = Arrays.copyOf(types, 2 * size);
+            times = Arrays.copyOf(times, 2 * size);
+            values = Arrays.copyOf(values, 6 * size);
+        }
+        types[size] = event.getType();
+        times[size] = event.getTime();
+        switch (event.getType()) {
+        case InputEvent.NUNCHUK_ACCELEROMETER:
+        case InputEvent.REMOTE_ACCELEROMETER:
+            values[3 * size] = event.getX();
+            values[3 * size + 1] = event.getY();
+            values[3 * size + 2] = event.getZ();
+            break;
+        case InputEvent.MOTION_PLUS:
+            values[3 * size] = Double.doubleToRawLongBits(event
+                    .getRollSpeed());
+            values[3 * size + 1] = Double.doubleToRawLongBits(event
+                    .getPitchSpeed());
+            values[3 * size + 2] = Double.doubleToRawLongBits(event
+                    .getYawSpeed());
+            break;
+        default:
+            values[3 * size] = event.getButtons();
+            break;
+        }
+        size++;
+    }
+
+    @Override
+    public boolean report(long time, VirtualRemote remote) {
+        long millis = time / 1000000;
+        while (next < size && times[next] - times[0] <= millis - loopStart) {
+            fire(next++, remote);
+        }
+        if (next == size) {
+            if (!loop) {
+                return false;
+            }
+            next = 0;
+            loopStart = millis;
+        }
+        return true;
+    }
+
+    private void fire(int i, VirtualRemote remote) {
+        long a = values[3 * i];
+        long b = values[3 * i + 1];
+        long c = values[3 * i + 2];
+        switch (types[i]) {
+        case InputEvent.CORE_BUTTONS:
+            remote.fireCoreButtons((int) a);
+            break;
+        case InputEvent.NUNCHUK_BUTTONS:
+            remote.fireNunchuk((int) a, nunchukX, nunchukY, nunchukZ);
+            break;
+        case InputEvent.NUNCHUK_ACCELEROMETER:
+            nunchukX = (int) a;
+            nunchukY = (int) b;
+            nunchukZ = (int) c;
+            break;
+        case InputEvent.REMOTE_ACCELEROMETER:
+            remote.fireAccelerometer(
+                    VirtualRemote.toRaw((double) a / AimFilter.ONE_G),
+                    VirtualRemote.toRaw((double) b / AimFilter.ONE_G),
+                    VirtualRemote.toRaw((double) c / AimFilter.ONE_G));
+            break;
+        case InputEvent.MOTION_PLUS:
+            remote.fireMotionPlus(Double.longBitsToDouble(a),
+                    Double.longBitsToDouble(b), Double.longBitsToDouble(c));
+            break;
+        default:
+            break;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package game.remote;
+
+import motejx.extensions.motionplusnunchuk.MotionPlusNunchuk;
+
+public class VirtualMotionPlusNunchuk extends MotionPlusNunchuk {
+
+    @Override
+    public void initialize() {
+    }
+
+    @Override
+    public void parseExtensionData(byte[] data) {
+    }
+}
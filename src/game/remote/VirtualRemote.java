@@ -0,0 +1,253 @@
+package game.remote;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+
+import motej.CalibrationDataReport;
+import motej.event.ExtensionEvent;
+import motej.event.ExtensionListener;
+import motej.request.ReportModeRequest;
+
+public class VirtualRemote implements Remote {
+
+    public static final int ZERO = 128;
+    public static final int GRAVITY = 154;
+
+    private static final long EXTENSION_DELAY = 100;
+    private static final long SPIN_TIME = 50000;
+    private static final int MAX_LAG_REPORTS = 10;
+
+    private final String address;
+    private final CalibrationDataReport calibration = new CalibrationDataReport(
+            ZERO, ZERO, ZERO, GRAVITY, GRAVITY, GRAVITY);
+    private final VirtualMotionPlusNunchuk extension =
+            new VirtualMotionPlusNunchuk();
+
+    private final ReportListenerList reportListeners =
+            new ReportListenerList();
+    private final RemoteReport report = new RemoteReport();
+    private final List<ExtensionListener> extensionListeners =
+            new CopyOnWriteArrayList<ExtensionListener>();
+
+    private volatile byte reportMode = ReportModeRequest.DATA_REPORT_0x30;
+    private volatile boolean extensionActive;
+    private volatile boolean connected = true;
+    private volatile long reports;
+
+    private Thread driver;
+
+    public VirtualRemote(String address) {
+        this.address = address;
+    }
+
+    public synchronized void start(final RemoteScript script, final int rate) {
+        if (driver != null) {
+            return;
+        }
+        driver = new Thread("Virtual Remote " + address) {
+            @Override
+            public void run() {
+                drive(script, rate);
+            }
+        };
+        driver.setDaemon(true);
+        driver.start();
+    }
+
+    public synchronized void stop() {
+        if (driver != null) {
+            driver.interrupt();
+            driver = null;
+        }
+    }
+
+    private void drive(RemoteScript script, int rate) {
+        long period = 1000000000L / rate;
+        long start = System.nanoTime();
+        long next = start;
+        while (connected && !Thread.currentThread().isInterrupted()) {
+            if (!script.report(next - start, this)) {
+                return;
+            }
+            reports++;
+
+            next += period;
+            long now = System.nanoTime();
+            if (now - next > MAX_LAG_REPORTS * period) {
+                next = now;
+            }
+            if (next - now > SPIN_TIME) {
+                LockSupport.parkNanos(next - now - SPIN_TIME);
+            }
+            while (System.nanoTime() - next < 0) {
+                Thread.yield();
+            }
+        }
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public long getReports() {
+        return reports;
+    }
+
+    public boolean isExtensionActive() {
+        return extensionActive;
+    }
+
+    public byte getReportMode() {
+        return reportMode;
+    }
+
+    public VirtualMotionPlusNunchuk getExtension() {
+        return extension;
+    }
+
+    public static int toRaw(double g) {
+        return Math.max(0,
+                Math.min(255, (int) Math.round(ZERO + g * (GRAVITY - ZERO))));
+    }
+
+    public void fireCoreButtons(int buttons) {
+        if (reportListeners.isEmpty()) {
+            return;
+        }
+        reportListeners.reportReceived(report.clear(
+                System.currentTimeMillis()).setButtons(buttons));
+    }
+
+    public void fireAccelerometer(int x, int y, int z) {
+        if (!hasAccelerometer() || reportListeners.isEmpty()) {
+            return;
+        }
+        reportListeners.reportReceived(report.clear(
+                System.currentTimeMillis()).setAccelerometer(x, y, z));
+    }
+
+    public void fireNunchuk(int buttons, int x, int y, int z) {
+        if (!hasExtension() || reportListeners.isEmpty()) {
+            return;
+        }
+        reportListeners.reportReceived(report.clear(
+                System.currentTimeMillis()).setNunchuk(buttons, x, y, z));
+    }
+
+    public void fireMotionPlus(double rollSpeed, double pitchSpeed,
+            double yawSpeed) {
+        if (!hasExtension() || reportListeners.isEmpty()) {
+            return;
+        }
+        reportListeners.reportReceived(report.clear(
+                System.currentTimeMillis()).setMotionPlus(rollSpeed,
+                pitchSpeed, yawSpeed, false, false, false));
+    }
+
+    private boolean hasAccelerometer() {
+        switch (reportMode) {
+        case ReportModeRequest.DATA_REPORT_0x31:
+        case ReportModeRequest.DATA_REPORT_0x33:
+        case ReportModeRequest.DATA_REPORT_0x35:
+        case ReportModeRequest.DATA_REPORT_0x37:
+        case ReportModeRequest.DATA_REPORT_0x3e:
+        case ReportModeRequest.DATA_REPORT_0x3f:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    private boolean hasExtension() {
+        if (!extensionActive) {
+            return false;
+        }
+        switch (reportMode) {
+        case ReportModeRequest.DATA_REPORT_0x32:
+        case ReportModeRequest.DATA_REPORT_0x34:
+        case ReportModeRequest.DATA_REPORT_0x35:
+        case ReportModeRequest.DATA_REPORT_0x36:
+        case ReportModeRequest.DATA_REPORT_0x37:
+        case ReportModeRequest.DATA_REPORT_0x3d:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    @Override
+    public String getAddress() {
+        return address;
+    }
+
+    @Override
+    public CalibrationDataReport getCalibrationDataReport() {
+        return calibration;
+    }
+
+    @Override
+    public void addReportListener(ReportListener listener) {
+        reportListeners.add(listener);
+    }
+
+    @Override
+    public void removeReportListener(ReportListener listener) {
+        reportListeners.remove(listener);
+    }
+
+    @Override
+    public void addExtensionListener(ExtensionListener listener) {
+        extensionListeners.add(listener);
+    }
+
+    @Override
+    public void removeExtensionListener(ExtensionListener listener) {
+        extensionListeners.remove(listener);
+    }
+
+    @Override
+    public void activateMotionPlusNunchuk() {
+        Thread activation = new Thread("Virtual Extension " + address) {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(EXTENSION_DELAY);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                ExtensionEvent evt = new ExtensionEvent(null, extension);
+                for (ExtensionListener listener : extensionListeners) {
+                    listener.extensionConnected(evt);
+                }
+                extensionActive = true;
+            }
+        };
+        activation.setDaemon(true);
+        activation.start();
+    }
+
+    @Override
+    public void setReportMode(byte mode) {
+        reportMode = mode;
+    }
+
+    @Override
+    public void setReportMode(byte mode, boolean continuous) {
+        reportMode = mode;
+    }
+
+    @Override
+    public void setPlayerLeds(boolean[] leds) {
+    }
+
+    @Override
+    public void rumble(long millis) {
+    }
+
+    @Override
+    public void disconnect() {
+        connected = false;
+        stop();
+    }
+}
@@ -0,0 +1,48 @@
+package game.replay;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+final class InputLog {
+
+    static final int MAGIC = 0x57415243;
+    static final int VERSION = 3;
+
+    static final int STATE = 16;
+    static final int STATS = 17;
+    static final int PLAYER = 18;
+
+    private InputLog() {
+    }
+
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    static void writeSignedVarLong(DataOutput out, long value)
+            throws IOException {
+        writeVarLong(out, (value << 1) ^ (value >> 63));
+    }
+
+    static long readSignedVarLong(DataInput in) throws IOException {
+        long value = readVarLong(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
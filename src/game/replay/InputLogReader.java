@@ -0,0 +1,139 @@
+package game.replay;
+
+import game.controller.InputEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+public class InputLogReader {
+
+    private final DataInputStream in;
+
+    private final int version;
+    private final long seed;
+    private final int width;
+    private final int height;
+
+    private final InputEvent event = new InputEvent();
+    private final int[] stats = new int[5];
+
+    private int type;
+    private long tick;
+    private long lastTime;
+    private int player;
+    private int state;
+
+    public InputLogReader(File file) throws IOException {
+        byte[] data = new byte[(int) file.length()];
+        DataInputStream fileIn = new DataInputStream(new FileInputStream(file));
+        try {
+            fileIn.readFully(data);
+        } finally {
+            fileIn.close();
+        }
+
+        in = new DataInputStream(new ByteArrayInputStream(data));
+        if (in.readInt() != InputLog.MAGIC) {
+            throw new IOException("Not an input log: " + file);
+        }
+        version = in.readInt();
+        if (version < 1 || version > InputLog.VERSION) {
+            throw new IOException("Unsupported input log version " + version);
+        }
+        seed = in.readLong();
+        width = in.readInt();
+        height = in.readInt();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public boolean next() throws IOException {
+        while (in.available() > 0) {
+            type = in.readUnsignedByte();
+            tick += InputLog.readVarLong(in);
+            switch (type) {
+            case InputLog.PLAYER:
+                player = in.readUnsignedByte();
+                continue;
+            case InputLog.STATE:
+                state = in.readUnsignedByte();
+                return true;
+            case InputLog.STATS:
+                for (int i = 0; i < stats.length; i++) {
+                    stats[i] = (int) InputLog.readVarLong(in);
+                }
+                return true;
+            default:
+                readEvent();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void readEvent() throws IOException {
+        lastTime += InputLog.readSignedVarLong(in);
+        switch (type) {
+        case InputEvent.NUNCHUK_ACCELEROMETER:
+        case InputEvent.REMOTE_ACCELEROMETER:
+            event.setAccelerometer(type, lastTime,
+                    (int) InputLog.readSignedVarLong(in),
+                    (int) InputLog.readSignedVarLong(in),
+                    (int) InputLog.readSignedVarLong(in));
+            break;
+        case InputEvent.MOTION_PLUS:
+            event.setMotionPlus(lastTime,
+                    Double.longBitsToDouble(in.readLong()),
+                    Double.longBitsToDouble(in.readLong()),
+                    Double.longBitsToDouble(in.readLong()));
+            break;
+        default:
+            event.setButtons(type, lastTime, (int) InputLog.readVarLong(in));
+            if (version >= 2) {
+                event.setTimeOffset((int) InputLog.readSignedVarLong(in));
+            }
+            break;
+        }
+    }
+
+    public boolean isEvent() {
+        return type != InputLog.STATE && type != InputLog.STATS;
+    }
+
+    public int getType() {
+        return type;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public int getPlayer() {
+        return player;
+    }
+
+    public InputEvent getEvent() {
+        return event;
+    }
+
+    public int getState() {
+        return state;
+    }
+
+    public int getStat(int index) {
+        return stats[index];
+    }
+}
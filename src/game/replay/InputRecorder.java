@@ -0,0 +1,235 @@
+package game.replay;
+
+import game.GameStats;
+import game.controller.InputEvent;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.locks.LockSupport;
+
+public class InputRecorder implements Runnable {
+
+    private static final int HEADER = 0;
+
+    private static final int CAPACITY = 1 << 14;
+    private static final int STRIDE = 9;
+    private static final int PLAYER = 8;
+
+    private static final long IDLE_NANOS = 1000000;
+
+    private final long[] slots = new long[CAPACITY * STRIDE];
+    private volatile long head;
+    private volatile long tail;
+
+    private final DataOutputStream out;
+    private final Thread writer;
+    private volatile boolean closed;
+
+    private long baseTick = -1;
+    private int dropped;
+
+    private long lastTick;
+    private long lastTime;
+    private int lastPlayer;
+
+    public InputRecorder(File file) throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(file)));
+        writer = new Thread(this, "Input Recorder");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public void begin(long seed, int width, int height, long tick) {
+        if (baseTick >= 0) {
+            return;
+        }
+        baseTick = tick;
+        int slot = claim();
+        if (slot >= 0) {
+            slots[slot] = HEADER;
+            slots[slot + 1] = seed;
+            slots[slot + 2] = width;
+            slots[slot + 3] = height;
+            publish();
+        }
+    }
+
+    public void record(long tick, int player, InputEvent event) {
+        int slot = claim();
+        if (slot < 0) {
+            return;
+        }
+        slots[slot] = event.getType();
+        slots[slot + 1] = tick - baseTick;
+        slots[slot + 2] = event.getTime();
+        slots[slot + PLAYER] = player;
+        switch (event.getType()) {
+        case InputEvent.NUNCHUK_ACCELEROMETER:
+        case InputEvent.REMOTE_ACCELEROMETER:
+            slots[slot + 3] = event.getX();
+            slots[slot + 4] = event.getY();
+            slots[slot + 5] = event.getZ();
+            break;
+        case InputEvent.MOTION_PLUS:
+            slots[slot + 3] = Double.doubleToRawLongBits(event.getRollSpeed());
+            slots[slot + 4] = Double
+                    .doubleToRawLongBits(event.getPitchSpeed());
+            slots[slot + 5] = Double.doubleToRawLongBits(event.getYawSpeed());
+            break;
+        default:
+            slots[slot + 3] = event.getButtons();
+            slots[slot + 4] = event.getTimeOffset();
+            break;
+        }
+        publish();
+    }
+
+    public void recordState(long tick, int state) {
+        int slot = claim();
+        if (slot >= 0) {
+            slots[slot] = InputLog.STATE;
+            slots[slot + 1] = tick - baseTick;
+            slots[slot + 3] = state;
+            publish();
+        }
+    }
+
+    public void recordStats(long tick, GameStats stats) {
+        int slot = claim();
+        if (slot >= 0) {
+            slots[slot] = InputLog.STATS;
+            slots[slot + 1] = tick - baseTick;
+            slots[slot + 3] = stats.getScore();
+            slots[slot + 4] = stats.getShotsHit();
+            slots[slot + 5] = stats.getShotsTotal();
+            slots[slot + 6] = stats.getTargetsHit();
+            slots[slot + 7] = stats.getTargetsTotal();
+            slots[slot + PLAYER] = stats.getPlayer();
+            publish();
+        }
+    }
+
+    public int getDropped() {
+        return dropped;
+    }
+
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (dropped > 0) {
+            System.err.println("Input recorder dropped " + dropped
+                    + " records");
+        }
+    }
+
+    private int claim() {
+        if (baseTick < 0 || closed) {
+            return -1;
+        }
+        long h = head;
+        if (h - tail >= CAPACITY) {
+            dropped++;
+            return -1;
+        }
+        return (int) (h % CAPACITY) * STRIDE;
+    }
+
+    private void publish() {
+        head = head + 1;
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                long t = tail;
+                if (t == head) {
+                    if (closed) {
+                        break;
+                    }
+                    out.flush();
+                    LockSupport.parkNanos(IDLE_NANOS);
+                    continue;
+                }
+                write((int) (t % CAPACITY) * STRIDE);
+                tail = t + 1;
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            try {
+                out.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void write(int slot) throws IOException {
+        int type = (int) slots[slot];
+        if (type == HEADER) {
+            out.writeInt(InputLog.MAGIC);
+            out.writeInt(InputLog.VERSION);
+            out.writeLong(slots[slot + 1]);
+            out.writeInt((int) slots[slot + 2]);
+            out.writeInt((int) slots[slot + 3]);
+            return;
+        }
+
+        long tick = slots[slot + 1];
+        if (type != InputLog.STATE && slots[slot + PLAYER] != lastPlayer) {
+            lastPlayer = (int) slots[slot + PLAYER];
+            out.writeByte(InputLog.PLAYER);
+            InputLog.writeVarLong(out, tick - lastTick);
+            out.writeByte(lastPlayer);
+            lastTick = tick;
+        }
+        out.writeByte(type);
+        InputLog.writeVarLong(out, tick - lastTick);
+        lastTick = tick;
+
+        switch (type) {
+        case InputLog.STATE:
+            out.writeByte((int) slots[slot + 3]);
+            return;
+        case InputLog.STATS:
+            for (int i = 3; i < PLAYER; i++) {
+                InputLog.writeVarLong(out, slots[slot + i]);
+            }
+            return;
+        default:
+            break;
+        }
+
+        long time = slots[slot + 2];
+        InputLog.writeSignedVarLong(out, time - lastTime);
+        lastTime = time;
+
+        switch (type) {
+        case InputEvent.NUNCHUK_ACCELEROMETER:
+        case InputEvent.REMOTE_ACCELEROMETER:
+            InputLog.writeSignedVarLong(out, slots[slot + 3]);
+            InputLog.writeSignedVarLong(out, slots[slot + 4]);
+            InputLog.writeSignedVarLong(out, slots[slot + 5]);
+            break;
+        case InputEvent.MOTION_PLUS:
+            out.writeLong(slots[slot + 3]);
+            out.writeLong(slots[slot + 4]);
+            out.writeLong(slots[slot + 5]);
+            break;
+        default:
+            InputLog.writeVarLong(out, slots[slot + 3]);
+            InputLog.writeSignedVarLong(out, slots[slot + 4]);
+            break;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package game.replay;
+
+import game.Game;
+import game.GameStats;
+import game.controller.GameController;
+import game.controller.InputEvent;
+import game.controller.InputSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+public class InputReplay implements InputSource {
+
+    private final Game game;
+
+    private final InputLogReader reader;
+
+    private final Queue<int[]> expectedStats = new ArrayDeque<int[]>();
+
+    private long baseTick = -1;
+    private boolean hasNext;
+
+    private int rounds;
+    private int divergedRounds;
+
+    public InputReplay(Game game, File file) throws IOException {
+        this.game = game;
+
+        reader = new InputLogReader(file);
+        hasNext = reader.next();
+    }
+
+    public long getSeed() {
+        return reader.getSeed();
+    }
+
+    public int getWidth() {
+        return reader.getWidth();
+    }
+
+    public int getHeight() {
+        return reader.getHeight();
+    }
+
+    public boolean isFinished() {
+        return !hasNext;
+    }
+
+    @Override
+    public void feed(long tick, GameController controller) {
+        if (baseTick < 0) {
+            baseTick = tick;
+        }
+        try {
+            while (hasNext && reader.getTick() <= tick - baseTick) {
+                apply(controller);
+                hasNext = reader.next();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            hasNext = false;
+        }
+    }
+
+    public void verify(GameStats stats) {
+        rounds++;
+        int[] expected = expectedStats.poll();
+        if (expected == null) {
+            divergedRounds++;
+            System.out.println("Replay round " + rounds
+                    + ": no recorded result, got score " + stats.getScore());
+        } else if (expected[5] != stats.getPlayer()
+                || expected[0] != stats.getScore()
+                || expected[1] != stats.getShotsHit()
+                || expected[2] != stats.getShotsTotal()
+                || expected[3] != stats.getTargetsHit()
+                || expected[4] != stats.getTargetsTotal()) {
+            divergedRounds++;
+            System.out.println("Replay round " + rounds + ": diverged, "
+                    + "expected player " + (expected[5] + 1) + " score "
+                    + expected[0] + " (" + expected[1]
+                    + "/" + expected[2] + " shots, " + expected[3] + "/"
+                    + expected[4] + " targets), got player "
+                    + (stats.getPlayer() + 1) + " score " + stats.getScore() + " (" + stats.getShotsHit() + "/"
+                    + stats.getShotsTotal() + " shots, "
+                    + stats.getTargetsHit() + "/" + stats.getTargetsTotal()
+                    + " targets)");
+        } else {
+            System.out.println("Replay round " + rounds
+                    + ": identical, player " + (stats.getPlayer() + 1)
+                    + " score " + stats.getScore());
+        }
+
+        if (!hasNext && expectedStats.isEmpty()) {
+            System.out.println("Replay finished, " + divergedRounds + " of "
+                    + rounds + " rounds diverged");
+            game.stop();
+        }
+    }
+
+    private void apply(GameController controller) {
+        switch (reader.getType()) {
+        case InputLog.STATE:
+            game.replayState(reader.getState());
+            return;
+        case InputLog.STATS:
+            int[] stats = new int[6];
+            for (int i = 0; i < 5; i++) {
+                stats[i] = reader.getStat(i);
+            }
+            stats[5] = reader.getPlayer();
+            expectedStats.add(stats);
+            return;
+        default:
+            break;
+        }
+
+        int player = reader.getPlayer();
+        InputEvent event = reader.getEvent();
+        if (player == controller.getPlayer()) {
+            controller.apply(event);
+        } else {
+            GameController other = game.getController(player);
+            if (other == null) {
+                other = new GameController(game, player, (InputSource) null);
+                game.addController(other);
+            }
+            other.apply(event);
+        }
+    }
+}
@@ -1,37 +1,33 @@
 package game.state;
 
 import game.Game;
-import tonegod.gui.controls.text.Label;
-import tonegod.gui.core.Screen;
-import tonegod.gui.effects.Effect;
-import tonegod.gui.effects.Effect.EffectEvent;
-import tonegod.gui.effects.Effect.EffectType;
+import game.audio.AudioMixer;
+import game.audio.Sound;
+import game.mesh.HudNumber;
 
 import com.jme3.app.Application;
 import com.jme3.app.state.AbstractAppState;
 import com.jme3.app.state.AppStateManager;
-import com.jme3.audio.AudioNode;
-import com.jme3.font.BitmapFont.Align;
-import com.jme3.font.BitmapFont.VAlign;
 import com.jme3.math.ColorRGBA;
-import com.jme3.math.Vector2f;
+import com.jme3.scene.Node;
 import com.jme3.system.AppSettings;
 
-public class CountdownState extends AbstractAppState {
+public class CountdownState extends AbstractAppState implements
+        SimulationClock.Listener {
 
     private final Game game;
     private final GameRunningState gameRunningState;
-    private final Screen screen;
+    private final Node guiNode;
     private final AppStateManager stateManager;
     private final AppSettings settings;
+    private final SimulationClock clock;
+    private final AudioMixer audioMixer;
 
     private final int countdownCount;
-    private final float countdownFontSize;
-    private final ColorRGBA countdownFontColor;
     private final float countdownEffectTime;
-    private final AudioNode countdownSound;
+    private final Sound countdownSound;
 
-    private Label countdownLabel;
+    private final HudNumber countdownNumber;
 
     private float time;
     private int count;
@@ -39,39 +35,59 @@ public class CountdownState extends AbstractAppState {
     public CountdownState(Game game, GameRunningState gameRunningState,
             int countdownCount, float countdownFontSize,
             ColorRGBA countdownFontColor, float countdownEffectTime,
-            AudioNode countdownSound) {
+            Sound countdownSound) {
         this.game = game;
         this.gameRunningState = gameRunningState;
-        this.screen = game.getScreen();
+        this.guiNode = game.getGuiNode();
         this.stateManager = game.getStateManager();
         this.settings = game.getContext().getSettings();
+        this.clock = game.getSimulationClock();
+        this.audioMixer = game.getAudioMixer();
 
         this.countdownCount = countdownCount;
-        this.countdownFontSize = countdownFontSize;
-        this.countdownFontColor = countdownFontColor;
         this.countdownEffectTime = countdownEffectTime;
         this.countdownSound = countdownSound;
+
+        countdownNumber = new HudNumber("Countdown", game.getDigitalFont(),
+                1, 1, countdownFontSize, countdownFontColor);
+        countdownNumber.setLocalTranslation(settings.getWidth() / 2f,
+                settings.getHeight() / 2f, 0);
     }
 
     @Override
-    public void initialize(AppStateManager stateManager, Application app) {
-        super.initialize(stateManager, app);
+    public void stateAttached(AppStateManager stateManager) {
+        super.stateAttached(stateManager);
 
         time = 0;
         count = countdownCount;
 
+        clock.addListener(this);
+    }
+
+    @Override
+    public void stateDetached(AppStateManager stateManager) {
+        super.stateDetached(stateManager);
+
+        clock.removeListener(this);
+        countdownNumber.removeFromParent();
+    }
+
+    @Override
+    public void initialize(AppStateManager stateManager, Application app) {
+        super.initialize(stateManager, app);
+
         initCountdown();
     }
 
     @Override
-    public void update(float tpf) {
-        time += tpf;
+    public void simulate(float step) {
+        time += step;
         if (time >= 1) {
             count--;
-            screen.removeElement(countdownLabel);
             if (count != 0) {
                 initCountdown();
             } else {
+                countdownNumber.removeFromParent();
                 gameRunningState.countdownEnded();
                 stateManager.detach(this);
             }
@@ -79,24 +95,19 @@ public class CountdownState extends AbstractAppState {
         }
     }
 
+    @Override
+    public void update(float tpf) {
+        countdownNumber.setLocalScale(Math.max(1 - time / countdownEffectTime,
+                0));
+    }
+
     private void initCountdown() {
-        countdownLabel = new Label(screen, Vector2f.ZERO, new Vector2f(
-                settings.getWidth(), settings.getHeight()));
-        countdownLabel.setFont("Interface/Fonts/digital.fnt");
-        countdownLabel.setFontSize(countdownFontSize);
-        countdownLabel.setFontColor(countdownFontColor);
-        countdownLabel.setTextAlign(Align.Center);
-        countdownLabel.setTextVAlign(VAlign.Center);
-        countdownLabel.setText(String.format("%d", count));
-        screen.addElement(countdownLabel);
-
-        Effect countdownEffect = new Effect(EffectType.ZoomOut,
-                EffectEvent.Show, countdownEffectTime);
-        countdownEffect.setElement(countdownLabel);
-        screen.getEffectManager().applyEffect(countdownEffect);
+        countdownNumber.setValue(count);
+        countdownNumber.setLocalScale(1);
+        guiNode.attachChild(countdownNumber);
 
         if (countdownSound != null) {
-            countdownSound.playInstance();
+            audioMixer.play(countdownSound);
         }
     }
 
@@ -2,44 +2,34 @@ package game.state;
 
 import game.Game;
 import game.GameStats;
-
-import java.util.HashMap;
-import java.util.Map;
+import game.audio.AudioMixer;
+import game.audio.Sound;
+import game.mesh.HudNumber;
+import game.target.Target;
+import game.target.TargetHit;
+import game.target.TargetPool;
+
+import java.util.Arrays;
 import java.util.Random;
 
 import tonegod.gui.controls.text.Label;
 import tonegod.gui.core.Screen;
-import tonegod.gui.effects.Effect;
-import tonegod.gui.effects.Effect.EffectEvent;
-import tonegod.gui.effects.Effect.EffectType;
 
 import com.jme3.app.Application;
 import com.jme3.app.state.AbstractAppState;
 import com.jme3.app.state.AppStateManager;
-import com.jme3.asset.AssetManager;
-import com.jme3.audio.AudioNode;
-import com.jme3.collision.CollisionResult;
 import com.jme3.font.BitmapFont.Align;
 import com.jme3.font.BitmapFont.VAlign;
-import com.jme3.light.Light;
-import com.jme3.light.SpotLight;
 import com.jme3.math.ColorRGBA;
 import com.jme3.math.FastMath;
-import com.jme3.math.Quaternion;
 import com.jme3.math.Vector2f;
 import com.jme3.math.Vector3f;
 import com.jme3.renderer.Camera;
-import com.jme3.renderer.RenderManager;
-import com.jme3.renderer.ViewPort;
-import com.jme3.renderer.queue.RenderQueue.Bucket;
-import com.jme3.scene.Geometry;
 import com.jme3.scene.Node;
-import com.jme3.scene.Spatial;
-import com.jme3.scene.control.AbstractControl;
-import com.jme3.scene.shape.Box;
 import com.jme3.system.AppSettings;
 
-public class GameRunningState extends AbstractAppState {
+public class GameRunningState extends AbstractAppState implements
+        SimulationClock.Listener {
 
     private static enum State {
         START, GAME, END
@@ -63,20 +53,21 @@ public class GameRunningState extends AbstractAppState {
     private static final int HUD_PADDING = 30;
     private static final int HUD_SPACING_X = 300;
     private static final int HUD_SPACING_Y = 0;
+    private static final int SCORE_DIGITS = 4;
+    private static final int TIME_DIGITS = 2;
 
     private static final float HIT_FONT_SIZE = 70;
-    private static final ColorRGBA HIT_FONT_COLOR = ColorRGBA.White;
     private static final float HIT_TIME = 1;
     private static final float HIT_SPEED = 30;
+    private static final int HIT_SLOTS = 32;
 
     private static final int TARGET_MIN = 2;
     private static final int TARGET_MAX = 5;
+    private static final int TARGET_SWARM_MIN = 200;
+    private static final int TARGET_SWARM_MAX = 2000;
     private static final float TARGET_TIME_MIN = 1;
     private static final float TARGET_TIME_MAX = 2;
-    private static final float TARGET_START_PADDING = 3;
-    private static final float TARGET_END_PADDING = 4;
     private static final float TARGET_SIZE = 1.5f;
-    private static final float TARGET_SPEED = 25;
 
     private static final int GAME_TIME = 30;
     private static final float START_DELAY = 1;
@@ -85,44 +76,36 @@ public class GameRunningState extends AbstractAppState {
     private static final int BONUS_MAX = 5;
 
     private final Game game;
-    private final Node floorNode;
-    private final Node targetNode;
     private final Screen screen;
-    private final AssetManager assetManager;
+    private final Node guiNode;
     private final AppStateManager stateManager;
     private final Camera cam;
     private final AppSettings settings;
+    private final SimulationClock clock;
+    private final AudioMixer audioMixer;
 
     private final Random random = new Random();
 
-    private final Map<Spatial, Light> targetLightMap = new HashMap<Spatial, Light>();
+    private final Vector3f hitScreen = new Vector3f();
+
+    private final TargetPool targetPool;
+    private final TargetSimulationState targetSimulationState;
+    private final TargetSpawner targetSpawner;
+    private final HitTextState hitTextState;
+
+    private final int targetMin;
+    private final int targetMax;
 
     private State state;
 
     private CountdownState startCountdownState;
     private CountdownState endCountdownState;
 
-    private AudioNode targetSound;
-    private AudioNode startCountdownSound;
-    private AudioNode startCountdownEndedSound;
-    private AudioNode gameCountdownSound;
-    private AudioNode gameCountdownEndedSound;
-
-    private float targetStartXMin;
-    private float targetStartXMax;
-    private float targetStartYMin;
-    private float targetStartYMax;
-    private float targetStartZMin;
-    private float targetStartZMax;
-    private float targetEndX;
-    private float targetEndYMin;
-    private float targetEndYMax;
-    private float targetEndZ;
-
-    private Label scoreTextLabel;
-    private Label scoreLabel;
+    private final Label[] scoreTextLabels = new Label[Game.MAX_PLAYERS];
+    private final String[] playerTexts = new String[Game.MAX_PLAYERS];
+    private final HudNumber[] scoreNumbers = new HudNumber[Game.MAX_PLAYERS];
     private Label timeTextLabel;
-    private Label timeLabel;
+    private HudNumber timeNumber;
 
     private boolean startCountdownStarted;
     private boolean gameCountdownStarted;
@@ -131,39 +114,56 @@ public class GameRunningState extends AbstractAppState {
     private float targetTime;
     private float targetWaitTime;
 
-    private int score;
-    private int bonus;
+    private int players;
 
-    private int shotsHit;
-    private int shotsTotal;
-    private int targetsHit;
+    private final int[] score = new int[Game.MAX_PLAYERS];
+    private final int[] bonus = new int[Game.MAX_PLAYERS];
+
+    private final int[] shotsHit = new int[Game.MAX_PLAYERS];
+    private final int[] shotsTotal = new int[Game.MAX_PLAYERS];
+    private final int[] targetsHit = new int[Game.MAX_PLAYERS];
     private int targetsTotal;
 
     public GameRunningState(Game game) {
         this.game = game;
-        this.floorNode = game.getFloorNode();
-        this.targetNode = game.getTargetNode();
         this.screen = game.getScreen();
-        this.assetManager = game.getAssetManager();
+        this.guiNode = game.getGuiNode();
         this.stateManager = game.getStateManager();
         this.cam = game.getCamera();
         this.settings = game.getContext().getSettings();
-
-        initSound();
-        initConstants();
+        this.clock = game.getSimulationClock();
+        this.audioMixer = game.getAudioMixer();
+
+        targetMin = game.isSwarm() ? TARGET_SWARM_MIN : TARGET_MIN;
+        targetMax = game.isSwarm() ? TARGET_SWARM_MAX : TARGET_MAX;
+
+        targetPool = new TargetPool(targetMax, TARGET_SIZE,
+                game.getTargetMat());
+        targetSimulationState = new TargetSimulationState(game, this,
+                targetMax, TARGET_SIZE);
+        targetSpawner = new TargetSpawner(targetPool, targetSimulationState,
+                game.getFloor(), game.getTargetNode(),
+                game.getTargetLightColor(), !game.isSwarm(), random);
+        targetSpawner.initBounds(cam, game.getRoomX(), game.getRoomZ(),
+                settings.getHeight());
+        hitTextState = new HitTextState(game.getGuiNode(),
+                game.getDigitalFont(), HIT_SLOTS, settings.getWidth(),
+                settings.getHeight(), HIT_FONT_SIZE, HIT_TIME, HIT_SPEED);
 
         startCountdownState = new CountdownState(game, this,
                 START_COUNTDOWN_TIME, START_COUNTDOWN_FONT_SIZE,
                 START_COUNTDOWN_COLOR, START_COUNTDOWN_EFFECT_TIME,
-                startCountdownSound);
+                Sound.START_COUNTDOWN);
         endCountdownState = new CountdownState(game, this, GAME_COUNTDOWN_TIME,
                 GAME_COUNTDOWN_FONT_SIZE, GAME_COUNTDOWN_COLOR,
-                GAME_COUNTDOWN_EFFECT_TIME, gameCountdownSound);
+                GAME_COUNTDOWN_EFFECT_TIME, Sound.GAME_COUNTDOWN);
+
+        initHud();
     }
 
     @Override
-    public void initialize(AppStateManager stateManager, Application app) {
-        super.initialize(stateManager, app);
+    public void stateAttached(AppStateManager stateManager) {
+        super.stateAttached(stateManager);
 
         startCountdownStarted = false;
         gameCountdownStarted = false;
@@ -172,40 +172,62 @@ public class GameRunningState extends AbstractAppState {
         targetTime = 0;
         targetWaitTime = 0;
 
-        score = 0;
-        bonus = 0;
+        players = game.getPlayerCount();
 
-        shotsHit = 0;
-        shotsTotal = 0;
-        targetsHit = 0;
+        Arrays.fill(score, 0);
+        Arrays.fill(bonus, 0);
+
+        Arrays.fill(shotsHit, 0);
+        Arrays.fill(shotsTotal, 0);
+        Arrays.fill(targetsHit, 0);
         targetsTotal = 0;
 
-        initHud();
+        random.setSeed(game.nextSeed());
+
+        stateManager.attach(targetSimulationState);
+        stateManager.attach(hitTextState);
+        clock.addListener(this);
+
+        doStart();
+    }
+
+    @Override
+    public void stateDetached(AppStateManager stateManager) {
+        super.stateDetached(stateManager);
+
+        clock.removeListener(this);
+        stateManager.detach(targetSimulationState);
+        stateManager.detach(hitTextState);
+    }
+
+    @Override
+    public void initialize(AppStateManager stateManager, Application app) {
+        super.initialize(stateManager, app);
 
-        updateScore(0);
         updateTime(GAME_TIME);
 
-        screen.addElement(scoreTextLabel);
-        screen.addElement(scoreLabel);
         screen.addElement(timeTextLabel);
-        screen.addElement(timeLabel);
-
-        doStart();
+        guiNode.attachChild(timeNumber);
+        showScores(0);
     }
 
     @Override
     public void cleanup() {
         super.cleanup();
 
-        screen.removeElement(scoreTextLabel);
-        screen.removeElement(scoreLabel);
-        screen.removeElement(timeTextLabel);
-        screen.removeElement(timeLabel);
+        removeHud();
     }
 
     @Override
     public void update(float tpf) {
-        time += tpf;
+        if (state == State.GAME) {
+            updateTime(GAME_TIME - time);
+        }
+    }
+
+    @Override
+    public void simulate(float step) {
+        time += step;
         switch (state) {
         case START:
             if (time > START_DELAY && !startCountdownStarted) {
@@ -215,12 +237,11 @@ public class GameRunningState extends AbstractAppState {
             break;
         case GAME:
             float gameTime = GAME_TIME - time;
-            updateTime(gameTime);
             if (gameTime < GAME_COUNTDOWN_TIME && !gameCountdownStarted) {
                 stateManager.attach(endCountdownState);
                 gameCountdownStarted = true;
             }
-            targetTime += tpf;
+            targetTime += step;
             if (targetTime > targetWaitTime) {
                 initTargets();
                 targetTime = 0;
@@ -230,81 +251,43 @@ public class GameRunningState extends AbstractAppState {
             break;
         case END:
             if (time > END_DELAY) {
-                game.setStats(new GameStats(score, shotsHit, shotsTotal,
-                        targetsHit, targetsTotal));
-                screen.removeElement(scoreTextLabel);
-                screen.removeElement(scoreLabel);
-                screen.removeElement(timeTextLabel);
-                screen.removeElement(timeLabel);
+                GameStats[] stats = new GameStats[players];
+                for (int i = 0; i < players; i++) {
+                    stats[i] = new GameStats(i, score[i], shotsHit[i],
+                            shotsTotal[i], targetsHit[i], targetsTotal,
+                            targetPool.getSize(), targetPool.getHits(),
+                            targetPool.getMisses());
+                }
+                game.setStats(stats);
+                removeHud();
                 game.doScore();
             }
             break;
         }
     }
 
-    private void initSound() {
-        targetSound = new AudioNode(assetManager, "Sounds/target.wav");
-        targetSound.setPositional(false);
-        targetSound.setVolume(0.25f);
-
-        startCountdownSound = new AudioNode(assetManager,
-                "Sounds/start_countdown.wav");
-        startCountdownSound.setPositional(false);
-
-        startCountdownEndedSound = new AudioNode(assetManager,
-                "Sounds/start_countdown_ended.wav");
-        startCountdownEndedSound.setPositional(false);
-
-        gameCountdownSound = new AudioNode(assetManager,
-                "Sounds/game_countdown.wav");
-        gameCountdownSound.setPositional(false);
-
-        gameCountdownEndedSound = new AudioNode(assetManager,
-                "Sounds/game_countdown_ended.wav");
-        gameCountdownEndedSound.setPositional(false);
-    }
-
-    private void initConstants() {
-        targetStartZMin = -game.getRoomZ() + TARGET_START_PADDING;
-        targetStartZMax = -((game.getRoomX() * cam.getFrustumNear() / cam
-                .getFrustumRight()) - 1) - TARGET_START_PADDING;
-
-        targetStartXMin = -game.getRoomX() + TARGET_START_PADDING;
-        targetStartXMax = game.getRoomX() - TARGET_START_PADDING;
-
-        targetStartYMin = TARGET_START_PADDING;
-        targetStartYMax = cam.getWorldCoordinates(
-                new Vector2f(0, settings.getHeight()),
-                cam.getViewToProjectionZ(-targetStartZMax + 1)).getY()
-                - TARGET_START_PADDING;
-
-        targetEndX = TARGET_END_PADDING;
-
-        targetEndYMin = cam.getWorldCoordinates(new Vector2f(0, 0), 0).getY();
-        targetEndYMax = cam.getWorldCoordinates(
-                new Vector2f(0, settings.getHeight()), 0).getY();
-
-        targetEndZ = 0;
-    }
-
     private void initHud() {
-        scoreTextLabel = new Label(screen, "Score Text Label", new Vector2f(0,
-                HUD_PADDING), new Vector2f(HUD_SPACING_X, HUD_TEXT_FONT_SIZE));
-        scoreTextLabel.setFont("Interface/Fonts/digital.fnt");
-        scoreTextLabel.setFontSize(HUD_TEXT_FONT_SIZE);
-        scoreTextLabel.setFontColor(HUD_FONT_COLOR);
-        scoreTextLabel.setTextAlign(Align.Center);
-        scoreTextLabel.setTextVAlign(VAlign.Center);
-        scoreTextLabel.setText("Score:");
-
-        scoreLabel = new Label(screen, "Score Label", new Vector2f(0,
-                HUD_PADDING + HUD_TEXT_FONT_SIZE + HUD_SPACING_Y),
-                new Vector2f(HUD_SPACING_X, HUD_FONT_SIZE));
-        scoreLabel.setFont("Interface/Fonts/digital.fnt");
-        scoreLabel.setFontSize(HUD_FONT_SIZE);
-        scoreLabel.setFontColor(HUD_FONT_COLOR);
-        scoreLabel.setTextAlign(Align.Center);
-        scoreLabel.setTextVAlign(VAlign.Center);
+        float hudY = settings.getHeight() - HUD_PADDING - HUD_TEXT_FONT_SIZE
+                - HUD_SPACING_Y - HUD_FONT_SIZE / 2;
+        for (int i = 0; i < Game.MAX_PLAYERS; i++) {
+            Label scoreTextLabel = new Label(screen, "Score Text Label "
+                    + (i + 1), new Vector2f(i * HUD_SPACING_X, HUD_PADDING),
+                    new Vector2f(HUD_SPACING_X, HUD_TEXT_FONT_SIZE));
+            scoreTextLabel.setFont("Interface/Fonts/digital.fnt");
+            scoreTextLabel.setFontSize(HUD_TEXT_FONT_SIZE);
+            scoreTextLabel.setFontColor(game.getPlayerColor(i));
+            scoreTextLabel.setTextAlign(Align.Center);
+            scoreTextLabel.setTextVAlign(VAlign.Center);
+            scoreTextLabels[i] = scoreTextLabel;
+            playerTexts[i] = "P" + (i + 1) + ":";
+
+            HudNumber scoreNumber = new HudNumber("Score " + (i + 1),
+                    game.getDigitalFont(), SCORE_DIGITS, 1, HUD_FONT_SIZE,
+                    game.getPlayerColor(i));
+            scoreNumber.setLocalTranslation((i + 0.5f) * HUD_SPACING_X,
+                    hudY, 0);
+            scoreNumbers[i] = scoreNumber;
+        }
 
         timeTextLabel = new Label(screen, "Time Text Label", new Vector2f(
                 settings.getWidth() - HUD_SPACING_X, HUD_PADDING),
@@ -316,131 +299,124 @@ public class GameRunningState extends AbstractAppState {
         timeTextLabel.setTextVAlign(VAlign.Center);
         timeTextLabel.setText("Time:");
 
-        timeLabel = new Label(screen, "Time Label", new Vector2f(
-                settings.getWidth() - HUD_SPACING_X, HUD_PADDING
-                        + HUD_TEXT_FONT_SIZE + HUD_SPACING_Y), new Vector2f(
-                HUD_SPACING_X, HUD_FONT_SIZE));
-        timeLabel.setFont("Interface/Fonts/digital.fnt");
-        timeLabel.setFontSize(HUD_FONT_SIZE);
-        timeLabel.setFontColor(HUD_FONT_COLOR);
-        timeLabel.setTextAlign(Align.Center);
-        timeLabel.setTextVAlign(VAlign.Center);
+        timeNumber = new HudNumber("Time", game.getDigitalFont(), TIME_DIGITS,
+                TIME_DIGITS, HUD_FONT_SIZE, HUD_FONT_COLOR);
+        timeNumber.setLocalTranslation(settings.getWidth() - HUD_SPACING_X
+                / 2f, hudY, 0);
     }
 
     private void initTargets() {
-        if (targetNode.getChildren().size() < TARGET_MAX) {
+        if (targetSimulationState.getCount() < targetMax) {
             initTarget();
-            while (targetNode.getChildren().size() < TARGET_MIN) {
+            while (targetSimulationState.getCount() < targetMin) {
                 initTarget();
             }
         }
     }
 
     private void initTarget() {
-        Geometry target = new Geometry("Target", new Box(TARGET_SIZE,
-                TARGET_SIZE, TARGET_SIZE));
-        target.setMaterial(game.getTargetMat());
-        target.setQueueBucket(Bucket.Transparent);
-
-        float startX = (random.nextFloat() * (targetStartXMax - targetStartXMin))
-                + targetStartXMin;
-        float startY = (random.nextFloat() * (targetStartYMax - targetStartYMin))
-                + targetStartYMin;
-        float startZ = (random.nextFloat() * (targetStartZMax - targetStartZMin))
-                + targetStartZMin;
-        Vector3f start = new Vector3f(startX, startY, startZ);
-        target.setLocalTranslation(start);
-
-        float endX = random.nextBoolean() ? targetEndX : -targetEndX;
-        float endY = (random.nextFloat() * (targetEndYMax - targetEndYMin))
-                + targetEndYMin;
-        float endZ = targetEndZ;
-        Vector3f end = new Vector3f(endX, endY, endZ);
-
-        Quaternion rotation = new Quaternion(new float[] { random.nextFloat(),
-                random.nextFloat(), random.nextFloat() });
-        target.setLocalRotation(rotation);
-
-        SpotLight targetLight = new SpotLight();
-        targetLight.setSpotRange(6);
-        targetLight.setSpotInnerAngle(15 * FastMath.DEG_TO_RAD);
-        targetLight.setSpotOuterAngle(30 * FastMath.DEG_TO_RAD);
-        targetLight.setColor(game.getTargetLightColor());
-        targetLight.setDirection(new Vector3f(0, -1, 0));
-
-        target.addControl(new TargetControl(start, end, targetLight));
-
-        targetSound.playInstance();
-
-        targetLightMap.put(target, targetLight);
-        floorNode.addLight(targetLight);
-        targetNode.attachChild(target);
+        targetSpawner.spawn();
+        audioMixer.play(Sound.TARGET);
+    }
+
+    private void addPlayer(int player) {
+        if (player >= players) {
+            int shown = players;
+            players = player + 1;
+            if (isInitialized()) {
+                showScores(shown);
+            }
+        }
+    }
+
+    private void showScores(int shown) {
+        for (int i = 0; i < players; i++) {
+            String text = players == 1 ? "Score:" : playerTexts[i];
+            if (!text.equals(scoreTextLabels[i].getText())) {
+                scoreTextLabels[i].setText(text);
+            }
+            if (i >= shown) {
+                updateScore(i);
+                screen.addElement(scoreTextLabels[i]);
+                guiNode.attachChild(scoreNumbers[i]);
+            }
+        }
+    }
+
+    private void removeHud() {
+        for (int i = 0; i < players; i++) {
+            screen.removeElement(scoreTextLabels[i]);
+            scoreNumbers[i].removeFromParent();
+        }
+        screen.removeElement(timeTextLabel);
+        timeNumber.removeFromParent();
     }
 
-    private void initHit(Vector3f loc) {
-        Vector3f loc2d = cam.getScreenCoordinates(loc);
-        Label hitLabel = new Label(screen, new Vector2f(loc2d.getX()
-                - HIT_FONT_SIZE, settings.getHeight() - loc2d.getY() - 2
-                * HIT_FONT_SIZE), new Vector2f(2 * HIT_FONT_SIZE,
-                2 * HIT_FONT_SIZE));
-        hitLabel.setFont("Interface/Fonts/digital.fnt");
-        hitLabel.setFontSize(HIT_FONT_SIZE);
-        hitLabel.setFontColor(HIT_FONT_COLOR);
-        hitLabel.setTextAlign(Align.Center);
-        hitLabel.setTextVAlign(VAlign.Center);
-        hitLabel.setText(String.format("+%d", bonus));
-        hitLabel.addControl(new HitTextControl());
-        screen.addElement(hitLabel);
+    private void initHit(int player, Vector3f loc) {
+        cam.getScreenCoordinates(loc, hitScreen);
+        hitTextState.show(hitScreen.getX(), hitScreen.getY() + HIT_FONT_SIZE,
+                game.getPlayerColor(player), bonus[player]);
     }
 
-    private void updateScore(int score) {
-        scoreLabel.setText(String.format("%d", score));
+    private void updateScore(int player) {
+        scoreNumbers[player].setValue(score[player]);
     }
 
     private void updateTime(float gameTime) {
-        timeLabel.setText(String.format("%02d", (int) FastMath.ceil(gameTime)));
+        timeNumber.setValue((int) FastMath.ceil(gameTime));
+    }
+
+    public boolean pick(Vector3f origin, Vector3f direction,
+            float timeOffset, TargetHit hit) {
+        return targetSimulationState.pick(origin, direction, timeOffset, hit);
     }
 
-    public void hit(CollisionResult collision) {
-        removeTarget(collision.getGeometry());
+    public void hit(int player, TargetHit hit) {
+        removeTarget(hit.getTarget());
+        addPlayer(player);
 
-        bonus = Math.min(bonus + 1, BONUS_MAX);
-        score += bonus;
-        updateScore(score);
+        bonus[player] = Math.min(bonus[player] + 1, BONUS_MAX);
+        score[player] += bonus[player];
+        updateScore(player);
         if (state == State.GAME) {
-            shotsHit++;
-            shotsTotal++;
-            targetsHit++;
+            shotsHit[player]++;
+            shotsTotal[player]++;
+            targetsHit[player]++;
             targetsTotal++;
         }
-        initHit(collision.getContactPoint());
+        initHit(player, hit.getContactPoint());
 
-        if (targetNode.getChildren().size() == 0) {
+        if (targetSimulationState.getCount() == 0) {
             initTargets();
         }
     }
 
-    public void miss() {
-        bonus = 0;
+    public void miss(int player) {
+        addPlayer(player);
+
+        bonus[player] = 0;
         if (state == State.GAME) {
-            shotsTotal++;
+            shotsTotal[player]++;
         }
     }
 
-    private void removeTarget(Spatial target) {
-        floorNode.removeLight(targetLightMap.get(target));
-        target.removeFromParent();
-        targetLightMap.remove(target);
+    void targetEscaped(Target target) {
+        removeTarget(target);
+        targetsTotal++;
+    }
+
+    private void removeTarget(Target target) {
+        targetSpawner.remove(target);
     }
 
     public void countdownEnded() {
         switch (state) {
         case START:
-            startCountdownEndedSound.playInstance();
+            audioMixer.play(Sound.START_COUNTDOWN_ENDED);
             doGame();
             break;
         case GAME:
-            gameCountdownEndedSound.playInstance();
+            audioMixer.play(Sound.GAME_COUNTDOWN_ENDED);
             doEnd();
             break;
         default:
@@ -460,69 +436,10 @@ public class GameRunningState extends AbstractAppState {
 
     public void doEnd() {
         updateTime(0);
-        for (Spatial target : targetNode.getChildren()) {
-            removeTarget(target);
+        for (int i = targetSimulationState.getCount() - 1; i >= 0; i--) {
+            removeTarget(targetSimulationState.getTarget(i));
         }
         time = 0;
         state = State.END;
     }
-
-    private class TargetControl extends AbstractControl {
-
-        private Vector3f velocity;
-        private Vector3f rotation;
-        private SpotLight light;
-
-        public TargetControl(Vector3f start, Vector3f end, SpotLight light) {
-            this.velocity = end.subtract(start).normalizeLocal()
-                    .multLocal(TARGET_SPEED);
-            this.rotation = new Vector3f(random.nextFloat(),
-                    random.nextFloat(), random.nextFloat());
-            this.light = light;
-        }
-
-        @Override
-        protected void controlUpdate(float tpf) {
-            spatial.move(velocity.mult(tpf));
-            spatial.rotate(rotation.getX() * tpf, rotation.getY() * tpf,
-                    rotation.getZ() * tpf);
-            Vector3f loc = spatial.getLocalTranslation();
-            light.setPosition(new Vector3f(loc.getX(), 5, loc.getZ()));
-            if (spatial.getLocalTranslation().getZ() > TARGET_SIZE) {
-                removeTarget(spatial);
-                targetsTotal++;
-            }
-        }
-
-        @Override
-        protected void controlRender(RenderManager rm, ViewPort vp) {
-        }
-    }
-
-    private class HitTextControl extends AbstractControl {
-
-        private boolean fadeStarted = false;
-        private float time = 0;
-
-        @Override
-        protected void controlUpdate(float tpf) {
-            time += tpf;
-            if (time < HIT_TIME) {
-                spatial.move(0, HIT_SPEED * tpf, 0);
-                if (time > HIT_TIME / 2 && !fadeStarted) {
-                    Effect fadeEffect = new Effect(EffectType.FadeOut,
-                            EffectEvent.Show, HIT_TIME / 2);
-                    fadeEffect.setElement((Label) spatial);
-                    screen.getEffectManager().applyEffect(fadeEffect);
-                    fadeStarted = true;
-                }
-            } else {
-                screen.removeElement((Label) spatial);
-            }
-        }
-
-        @Override
-        protected void controlRender(RenderManager rm, ViewPort vp) {
-        }
-    }
 }
@@ -0,0 +1,148 @@
+package game.state;
+
+import game.mesh.GlyphBatchMesh;
+
+import com.jme3.app.state.AbstractAppState;
+import com.jme3.app.state.AppStateManager;
+import com.jme3.bounding.BoundingBox;
+import com.jme3.font.BitmapFont;
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.queue.RenderQueue.Bucket;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Node;
+
+public class HitTextState extends AbstractAppState {
+
+    private static final int GLYPHS = 3;
+    private static final int VALUE_MAX = 99;
+
+    private final Node guiNode;
+    private final float fontSize;
+    private final float time;
+    private final float speed;
+
+    private final GlyphBatchMesh mesh;
+    private final Geometry geometry;
+
+    private final boolean[] active;
+    private final float[] ages;
+    private final char[] text = new char[GLYPHS];
+
+    private int activeCount;
+    private int steals;
+
+    public HitTextState(Node guiNode, BitmapFont font, int capacity,
+            float width, float height, float fontSize, float time,
+            float speed) {
+        this.guiNode = guiNode;
+        this.fontSize = fontSize;
+        this.time = time;
+        this.speed = speed;
+
+        active = new boolean[capacity];
+        ages = new float[capacity];
+
+        mesh = new GlyphBatchMesh(font, capacity, GLYPHS, new BoundingBox(
+                new Vector3f(width / 2, height / 2, 0), width, height, 1));
+        for (int i = 0; i < capacity; i++) {
+            mesh.clear(i);
+        }
+        geometry = new Geometry("Hit Text", mesh);
+        geometry.setMaterial(font.getPage(0));
+        geometry.setQueueBucket(Bucket.Gui);
+    }
+
+    @Override
+    public void stateAttached(AppStateManager stateManager) {
+        super.stateAttached(stateManager);
+
+        guiNode.attachChild(geometry);
+    }
+
+    @Override
+    public void stateDetached(AppStateManager stateManager) {
+        super.stateDetached(stateManager);
+
+        for (int i = 0; i < active.length; i++) {
+            active[i] = false;
+            mesh.clear(i);
+        }
+        activeCount = 0;
+        mesh.update();
+        geometry.removeFromParent();
+    }
+
+    public void show(float x, float y, ColorRGBA color, int value) {
+        int slot = acquire();
+        int length = 0;
+        text[length++] = value < 0 ? '-' : '+';
+        int digits = Math.min(Math.abs(value), VALUE_MAX);
+        int divisor = 1;
+        while (digits / divisor >= 10) {
+            divisor *= 10;
+        }
+        while (divisor > 0) {
+            text[length++] = (char) ('0' + digits / divisor % 10);
+            divisor /= 10;
+        }
+        mesh.setText(slot, text, length, x, y, fontSize, color);
+        mesh.setOffset(slot, 0, 1);
+        mesh.update();
+    }
+
+    private int acquire() {
+        int oldest = 0;
+        for (int i = 0; i < active.length; i++) {
+            if (!active[i]) {
+                active[i] = true;
+                ages[i] = 0;
+                activeCount++;
+                return i;
+            }
+            if (ages[i] > ages[oldest]) {
+                oldest = i;
+            }
+        }
+        ages[oldest] = 0;
+        steals++;
+        return oldest;
+    }
+
+    @Override
+    public void update(float tpf) {
+        if (activeCount == 0) {
+            return;
+        }
+        float fadeTime = time / 2;
+        for (int i = 0; i < active.length; i++) {
+            if (!active[i]) {
+                continue;
+            }
+            float age = ages[i] + tpf;
+            if (age >= time) {
+                active[i] = false;
+                activeCount--;
+                mesh.clear(i);
+                continue;
+            }
+            ages[i] = age;
+            float alpha = age < fadeTime ? 1 : 1 - (age - fadeTime)
+                    / fadeTime;
+            mesh.setOffset(i, speed * age, alpha);
+        }
+        mesh.update();
+    }
+
+    public int getActive() {
+        return activeCount;
+    }
+
+    public int getCapacity() {
+        return active.length;
+    }
+
+    public int getSteals() {
+        return steals;
+    }
+}
@@ -0,0 +1,36 @@
+package game.state;
+
+import game.Game;
+import game.controller.GameController;
+
+import com.jme3.app.state.AbstractAppState;
+
+public class InputState extends AbstractAppState {
+
+    private final Game game;
+
+    public InputState(Game game) {
+        this.game = game;
+    }
+
+    @Override
+    public void update(float tpf) {
+        for (int i = 0; i < Game.MAX_PLAYERS; i++) {
+            GameController controller = game.getController(i);
+            if (controller == null) {
+                continue;
+            }
+            if (game.isPaused()) {
+                controller.discard();
+            } else {
+                controller.drain();
+            }
+        }
+        game.checkControllers();
+    }
+
+    @Override
+    public void postRender() {
+        game.getLatencyTracker().frameRendered(System.nanoTime());
+    }
+}
@@ -0,0 +1,82 @@
+package game.state;
+
+import game.Game;
+import game.latency.LatencyHistogram;
+import game.latency.LatencyTracker;
+
+import java.util.Formatter;
+
+import com.jme3.app.state.AbstractAppState;
+import com.jme3.app.state.AppStateManager;
+import com.jme3.font.BitmapText;
+import com.jme3.math.ColorRGBA;
+import com.jme3.scene.Node;
+import com.jme3.system.AppSettings;
+
+public class LatencyOverlayState extends AbstractAppState {
+
+    private static final ColorRGBA OVERLAY_COLOR = ColorRGBA.Yellow;
+    private static final float OVERLAY_FONT_SIZE = 18;
+    private static final float OVERLAY_PADDING = 10;
+
+    private static final float REFRESH_TIME = 0.5f;
+
+    private final LatencyTracker latency;
+    private final Node guiNode;
+    private final AppSettings settings;
+
+    private final BitmapText text;
+    private final StringBuilder builder = new StringBuilder();
+    private final Formatter formatter = new Formatter(builder);
+
+    private float time;
+
+    public LatencyOverlayState(Game game) {
+        this.latency = game.getLatencyTracker();
+        this.guiNode = game.getGuiNode();
+        this.settings = game.getContext().getSettings();
+
+        text = new BitmapText(game.getTextFont());
+        text.setSize(OVERLAY_FONT_SIZE);
+        text.setColor(OVERLAY_COLOR);
+    }
+
+    @Override
+    public void stateAttached(AppStateManager stateManager) {
+        super.stateAttached(stateManager);
+
+        time = REFRESH_TIME;
+        text.setLocalTranslation(OVERLAY_PADDING, settings.getHeight()
+                - OVERLAY_PADDING, 0);
+        guiNode.attachChild(text);
+    }
+
+    @Override
+    public void stateDetached(AppStateManager stateManager) {
+        super.stateDetached(stateManager);
+
+        text.removeFromParent();
+    }
+
+    @Override
+    public void update(float tpf) {
+        time += tpf;
+        if (time < REFRESH_TIME) {
+            return;
+        }
+        time = 0;
+
+        builder.setLength(0);
+        formatter.format("%-14s %6s %7s %7s %7s%n", "latency (ms)", "count",
+                "p50", "p99", "max");
+        for (int i = 0; i < latency.getStageCount(); i++) {
+            LatencyHistogram histogram = latency.getHistogram(i);
+            formatter.format("%-14s %6d %7.2f %7.2f %7.2f%n",
+                    latency.getStageName(i), histogram.getCount(),
+                    LatencyTracker.millis(histogram.getValueAtPercentile(50)),
+                    LatencyTracker.millis(histogram.getValueAtPercentile(99)),
+                    LatencyTracker.millis(histogram.getMax()));
+        }
+        text.setText(builder);
+    }
+}
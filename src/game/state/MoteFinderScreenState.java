@@ -1,23 +1,7 @@
 package game.state;
 
 import game.Game;
-import game.GameMoteFinder;
-import game.controller.GameController;
-
-import java.util.concurrent.Callable;
-
-import motej.Extension;
-import motej.Mote;
-import motej.event.CoreButtonEvent;
-import motej.event.CoreButtonListener;
-import motej.event.ExtensionEvent;
-import motej.event.ExtensionListener;
-import motej.request.ReportModeRequest;
-import motejx.extensions.motionplus.MotionPlusEvent;
-import motejx.extensions.motionplus.MotionPlusListener;
-import motejx.extensions.motionplusnunchuk.MotionPlusNunchuk;
-import motejx.extensions.nunchuk.NunchukButtonEvent;
-import motejx.extensions.nunchuk.NunchukButtonListener;
+import game.PlayerFinder;
 import tonegod.gui.controls.text.Label;
 import tonegod.gui.core.Element;
 import tonegod.gui.core.Screen;
@@ -39,8 +23,7 @@ import com.jme3.renderer.ViewPort;
 import com.jme3.system.AppSettings;
 
 public class MoteFinderScreenState extends AbstractAppState implements
-        ExtensionListener, CoreButtonListener, NunchukButtonListener,
-        MotionPlusListener {
+        PlayerFinder.Listener {
 
     private static final ColorRGBA BACKGROUND_COLOR = ColorRGBA.White;
     private static final ColorRGBA MOTE_FINDER_COLOR = ColorRGBA.Black;
@@ -62,9 +45,6 @@ public class MoteFinderScreenState extends AbstractAppState implements
     private final ViewPort viewPort;
     private final AppSettings settings;
 
-    private Mote mote;
-    private MotionPlusNunchuk motionPlusNunchuk;
-
     private boolean moteConnected;
     private boolean nunchukConnected;
     private boolean motionPlusConnected;
@@ -85,6 +65,8 @@ public class MoteFinderScreenState extends AbstractAppState implements
         this.screen = game.getScreen();
         this.viewPort = game.getViewPort();
         this.settings = game.getContext().getSettings();
+
+        initMoteFinderScreen();
     }
 
     @Override
@@ -95,10 +77,13 @@ public class MoteFinderScreenState extends AbstractAppState implements
         nunchukConnected = false;
         motionPlusConnected = false;
 
-        fadeEffect = new BatchEffect();
+        initFadeEffect();
         fadeStarted = false;
 
-        initMoteFinderScreen();
+        moteFinderLabel.setFontColor(MOTE_FINDER_COLOR);
+        moteLabel.setFontColor(DISCONNECTED_COLOR);
+        nunchukLabel.setFontColor(DISCONNECTED_COLOR);
+        motionPlusLabel.setFontColor(DISCONNECTED_COLOR);
 
         viewPort.setBackgroundColor(BACKGROUND_COLOR);
         screen.addElement(moteFinderLabel);
@@ -106,13 +91,17 @@ public class MoteFinderScreenState extends AbstractAppState implements
         screen.addElement(nunchukLabel);
         screen.addElement(motionPlusLabel);
 
-        findMote();
+        PlayerFinder playerFinder = game.getPlayerFinder();
+        playerFinder.setListener(this);
+        playerFinder.start();
     }
 
     @Override
     public void cleanup() {
         super.cleanup();
 
+        game.getPlayerFinder().setListener(null);
+
         screen.removeElement(moteFinderLabel);
         screen.removeElement(moteLabel);
         screen.removeElement(nunchukLabel);
@@ -126,8 +115,6 @@ public class MoteFinderScreenState extends AbstractAppState implements
     public void update(float tpf) {
         if (moteConnected && nunchukConnected && motionPlusConnected) {
             if (!fadeStarted) {
-                game.setController(new GameController(game, mote,
-                        motionPlusNunchuk));
                 screen.getEffectManager().applyBatchEffect(fadeEffect);
                 fadeStarted = true;
             } else {
@@ -151,7 +138,6 @@ public class MoteFinderScreenState extends AbstractAppState implements
         moteFinderLabel.setTextWrap(LineWrapMode.Word);
         moteFinderLabel
                 .setText("Connect the Wii remote by pressing 1 and 2.\n\nPlace the Wii remote on a flat surface until the MotionPlus is connected.");
-        addFadeEffect(moteFinderLabel);
 
         moteLabel = new Label(screen, "Mote Label", new Vector2f(0,
                 settings.getHeight() / 2), new Vector2f(settings.getWidth(),
@@ -162,7 +148,6 @@ public class MoteFinderScreenState extends AbstractAppState implements
         moteLabel.setTextAlign(Align.Center);
         moteLabel.setTextVAlign(VAlign.Center);
         moteLabel.setText("Wii Remote");
-        addFadeEffect(moteLabel);
 
         nunchukLabel = new Label(screen, "Nunchuk Label", new Vector2f(0,
                 settings.getHeight() / 2 + MOTE_SPACING), new Vector2f(
@@ -173,7 +158,6 @@ public class MoteFinderScreenState extends AbstractAppState implements
         nunchukLabel.setTextAlign(Align.Center);
         nunchukLabel.setTextVAlign(VAlign.Center);
         nunchukLabel.setText("Nunchuk");
-        addFadeEffect(nunchukLabel);
 
         motionPlusLabel = new Label(screen, "MotionPlus Label", new Vector2f(0,
                 settings.getHeight() / 2 + 2 * MOTE_SPACING), new Vector2f(
@@ -184,14 +168,12 @@ public class MoteFinderScreenState extends AbstractAppState implements
         motionPlusLabel.setTextAlign(Align.Center);
         motionPlusLabel.setTextVAlign(VAlign.Center);
         motionPlusLabel.setText("MotionPlus");
-        addFadeEffect(motionPlusLabel);
 
         moteCheckmark = new Element(screen, "Mote Checkmark", new Vector2f(
                 settings.getWidth() / 2 - CHECKMARK_SPACING,
                 settings.getHeight() / 2 + MOTE_SPACING / 2 - CHECKMARK_SIZE
                         / 2), new Vector2f(CHECKMARK_SIZE, CHECKMARK_SIZE),
                 Vector4f.ZERO, "Interface/checkmark.png");
-        addFadeEffect(moteCheckmark);
 
         nunchukCheckmark = new Element(screen, "Nunchuk Checkmark",
                 new Vector2f(settings.getWidth() / 2 - CHECKMARK_SPACING,
@@ -199,7 +181,6 @@ public class MoteFinderScreenState extends AbstractAppState implements
                                 - CHECKMARK_SIZE / 2), new Vector2f(
                         CHECKMARK_SIZE, CHECKMARK_SIZE), Vector4f.ZERO,
                 "Interface/checkmark.png");
-        addFadeEffect(nunchukCheckmark);
 
         motionPlusCheckmark = new Element(screen, "MotionPlus Checkmark",
                 new Vector2f(settings.getWidth() / 2 - CHECKMARK_SPACING,
@@ -207,6 +188,16 @@ public class MoteFinderScreenState extends AbstractAppState implements
                                 - CHECKMARK_SIZE / 2), new Vector2f(
                         CHECKMARK_SIZE, CHECKMARK_SIZE), Vector4f.ZERO,
                 "Interface/checkmark.png");
+    }
+
+    private void initFadeEffect() {
+        fadeEffect = new BatchEffect();
+        addFadeEffect(moteFinderLabel);
+        addFadeEffect(moteLabel);
+        addFadeEffect(nunchukLabel);
+        addFadeEffect(motionPlusLabel);
+        addFadeEffect(moteCheckmark);
+        addFadeEffect(nunchukCheckmark);
         addFadeEffect(motionPlusCheckmark);
     }
 
@@ -217,93 +208,30 @@ public class MoteFinderScreenState extends AbstractAppState implements
         fadeEffect.addEffect(effect);
     }
 
-    private void findMote() {
-        new Thread() {
-            @Override
-            public void run() {
-                try {
-                    GameMoteFinder finder = new GameMoteFinder();
-                    mote = finder.findMote();
-                    if (mote != null) {
-                        mote.addExtensionListener(MoteFinderScreenState.this);
-                        mote.addCoreButtonListener(MoteFinderScreenState.this);
-                        mote.activateMotionPlusNunchuk();
-                        mote.setReportMode(ReportModeRequest.DATA_REPORT_0x32);
-                    }
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                    game.stop();
-                }
-            }
-        }.start();
-    }
-
-    private void moteConnected() {
-        moteLabel.setFontColor(CONNECTED_COLOR);
-        screen.addElement(moteCheckmark);
-        moteConnected = true;
-    }
-
-    private void nunchukConnected() {
-        nunchukLabel.setFontColor(CONNECTED_COLOR);
-        screen.addElement(nunchukCheckmark);
-        nunchukConnected = true;
-    }
-
-    private void motionPlusConnected() {
-        motionPlusLabel.setFontColor(CONNECTED_COLOR);
-        screen.addElement(motionPlusCheckmark);
-        motionPlusConnected = true;
-    }
-
     @Override
-    public void extensionConnected(ExtensionEvent evt) {
-        final Extension ext = evt.getExtension();
-        if (ext instanceof MotionPlusNunchuk) {
-            motionPlusNunchuk = (MotionPlusNunchuk) ext;
-            motionPlusNunchuk.addMotionPlusEventListener(this);
-            motionPlusNunchuk.addNunchukButtonListener(this);
+    public void moteConnected(int player) {
+        if (player == 0) {
+            moteLabel.setFontColor(CONNECTED_COLOR);
+            screen.addElement(moteCheckmark);
+            moteConnected = true;
         }
     }
 
     @Override
-    public void extensionDisconnected(ExtensionEvent arg0) {
-    }
-
-    @Override
-    public void buttonPressed(CoreButtonEvent arg0) {
-        game.enqueue(new Callable<Void>() {
-            @Override
-            public Void call() throws Exception {
-                moteConnected();
-                return null;
-            }
-        });
-        mote.removeCoreButtonListener(this);
-    }
-
-    @Override
-    public void buttonPressed(NunchukButtonEvent arg0) {
-        game.enqueue(new Callable<Void>() {
-            @Override
-            public Void call() throws Exception {
-                nunchukConnected();
-                return null;
-            }
-        });
-        motionPlusNunchuk.removeNunchukButtonListener(this);
+    public void nunchukConnected(int player) {
+        if (player == 0) {
+            nunchukLabel.setFontColor(CONNECTED_COLOR);
+            screen.addElement(nunchukCheckmark);
+            nunchukConnected = true;
+        }
     }
 
     @Override
-    public void speedChanged(MotionPlusEvent arg0) {
-        game.enqueue(new Callable<Void>() {
-            @Override
-            public Void call() throws Exception {
-                motionPlusConnected();
-                return null;
-            }
-        });
-        motionPlusNunchuk.removeMotionPlusListener(this);
+    public void motionPlusConnected(int player) {
+        if (player == 0) {
+            motionPlusLabel.setFontColor(CONNECTED_COLOR);
+            screen.addElement(motionPlusCheckmark);
+            motionPlusConnected = true;
+        }
     }
-
 }
@@ -0,0 +1,84 @@
+package game.state;
+
+import game.Game;
+import tonegod.gui.controls.text.Label;
+import tonegod.gui.core.Screen;
+
+import com.jme3.app.Application;
+import com.jme3.app.state.AbstractAppState;
+import com.jme3.app.state.AppStateManager;
+import com.jme3.font.BitmapFont.Align;
+import com.jme3.font.BitmapFont.VAlign;
+import com.jme3.font.LineWrapMode;
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.Vector2f;
+import com.jme3.system.AppSettings;
+
+public class PauseScreenState extends AbstractAppState {
+
+    private static final float PAUSE_FONT_SIZE = 65;
+    private static final ColorRGBA PAUSE_FONT_COLOR = ColorRGBA.White;
+
+    private final Screen screen;
+    private final AppSettings settings;
+
+    private final StringBuilder text = new StringBuilder();
+
+    private Label pauseLabel;
+    private int players;
+
+    public PauseScreenState(Game game) {
+        this.screen = game.getScreen();
+        this.settings = game.getContext().getSettings();
+
+        initPauseScreen();
+    }
+
+    @Override
+    public void initialize(AppStateManager stateManager, Application app) {
+        super.initialize(stateManager, app);
+
+        updateText();
+        screen.addElement(pauseLabel);
+    }
+
+    @Override
+    public void cleanup() {
+        super.cleanup();
+
+        screen.removeElement(pauseLabel);
+    }
+
+    private void initPauseScreen() {
+        pauseLabel = new Label(screen, "Pause Label", new Vector2f(
+                settings.getWidth() / 8, 0), new Vector2f(
+                3 * settings.getWidth() / 4, settings.getHeight()));
+        pauseLabel.setFont("Interface/Fonts/text.fnt");
+        pauseLabel.setFontSize(PAUSE_FONT_SIZE);
+        pauseLabel.setFontColor(PAUSE_FONT_COLOR);
+        pauseLabel.setTextAlign(Align.Center);
+        pauseLabel.setTextVAlign(VAlign.Center);
+        pauseLabel.setTextWrap(LineWrapMode.Word);
+    }
+
+    public void setPlayers(int players) {
+        this.players = players;
+        if (isInitialized()) {
+            updateText();
+        }
+    }
+
+    private void updateText() {
+        text.setLength(0);
+        text.append("Reconnecting player");
+        String separator = " ";
+        for (int i = 0; i < Game.MAX_PLAYERS; i++) {
+            if ((players & (1 << i)) != 0) {
+                text.append(separator).append(i + 1);
+                separator = ", ";
+            }
+        }
+        text.append("...\n\nPress 1 and 2 on the Wii remote.");
+        pauseLabel.setText(text.toString());
+    }
+}
@@ -2,6 +2,8 @@ package game.state;
 
 import game.Game;
 import game.GameStats;
+import game.audio.AudioMixer;
+import game.audio.Sound;
 import tonegod.gui.controls.text.Label;
 import tonegod.gui.core.Element;
 import tonegod.gui.core.Screen;
@@ -13,7 +15,6 @@ import com.jme3.app.Application;
 import com.jme3.app.state.AbstractAppState;
 import com.jme3.app.state.AppStateManager;
 import com.jme3.asset.AssetManager;
-import com.jme3.audio.AudioNode;
 import com.jme3.font.BitmapFont.Align;
 import com.jme3.font.BitmapFont.VAlign;
 import com.jme3.math.ColorRGBA;
@@ -24,7 +25,8 @@ import com.jme3.post.filters.ColorOverlayFilter;
 import com.jme3.renderer.ViewPort;
 import com.jme3.system.AppSettings;
 
-public class ScoreScreenState extends AbstractAppState {
+public class ScoreScreenState extends AbstractAppState implements
+        SimulationClock.Listener {
 
     private static final float OVERLAY_INTENSITY = 0.4f;
 
@@ -41,6 +43,8 @@ public class ScoreScreenState extends AbstractAppState {
     private static final float SCORE_TEXT_SPACING = 30;
     private static final float SCORE_SPACING = 20;
 
+    private static final String PLAYER_SEPARATOR = "  ";
+
     private static final float BACKGROUND_EFFECT_TIME = 0.3f;
     private static final float SCORE_DELAY = 1.5f;
     private static final float SCORE_TIME = 12;
@@ -50,11 +54,11 @@ public class ScoreScreenState extends AbstractAppState {
     private final AssetManager assetManager;
     private final ViewPort viewPort;
     private final AppSettings settings;
+    private final SimulationClock clock;
+    private final AudioMixer audioMixer;
 
     private FilterPostProcessor colorOverlayProcessor;
-
-    private AudioNode statsSound;
-    private AudioNode scoreSound;
+    private ColorOverlayFilter colorOverlay;
 
     private Element background;
     private Label scoreTextLabel;
@@ -66,14 +70,17 @@ public class ScoreScreenState extends AbstractAppState {
     private Label trainingScoreTextLabel;
     private Label trainingScoreLabel;
 
-    private Effect backgroundEffect;
-
     private boolean statsAdded;
     private boolean scoreAdded;
 
     private float time;
 
-    private GameStats stats;
+    private GameStats[] stats;
+
+    private final StringBuilder scoreText = new StringBuilder();
+    private final StringBuilder accuracyText = new StringBuilder();
+    private final StringBuilder percentTargetsHitText = new StringBuilder();
+    private final StringBuilder trainingScoreText = new StringBuilder();
 
     public ScoreScreenState(Game game) {
         this.game = game;
@@ -81,51 +88,62 @@ public class ScoreScreenState extends AbstractAppState {
         this.assetManager = game.getAssetManager();
         this.viewPort = game.getViewPort();
         this.settings = game.getContext().getSettings();
+        this.clock = game.getSimulationClock();
+        this.audioMixer = game.getAudioMixer();
 
-        initSound();
         initOverlay();
+        initBackground();
+        initScoreScreen();
     }
 
     @Override
-    public void initialize(AppStateManager stateManager, Application app) {
-        super.initialize(stateManager, app);
+    public void stateAttached(AppStateManager stateManager) {
+        super.stateAttached(stateManager);
 
         statsAdded = false;
         scoreAdded = false;
 
         time = 0;
 
-        initBackground();
-        initScoreScreen();
+        clock.addListener(this);
+    }
+
+    @Override
+    public void stateDetached(AppStateManager stateManager) {
+        super.stateDetached(stateManager);
+
+        clock.removeListener(this);
+    }
+
+    @Override
+    public void initialize(AppStateManager stateManager, Application app) {
+        super.initialize(stateManager, app);
 
         updateStats();
 
-        viewPort.addProcessor(colorOverlayProcessor);
+        colorOverlay.setEnabled(true);
+        if (!viewPort.getProcessors().contains(colorOverlayProcessor)) {
+            viewPort.addProcessor(colorOverlayProcessor);
+        }
         screen.addElement(background);
+        Effect backgroundEffect = new Effect(EffectType.ZoomIn,
+                EffectEvent.Show, BACKGROUND_EFFECT_TIME);
+        backgroundEffect.setElement(background);
         screen.getEffectManager().applyEffect(backgroundEffect);
-        statsSound.playInstance();
+        audioMixer.play(Sound.STATS);
     }
 
     @Override
     public void cleanup() {
         super.cleanup();
 
-        viewPort.removeProcessor(colorOverlayProcessor);
+        colorOverlay.setEnabled(false);
         background.removeAllChildren();
         screen.removeElement(background);
-        screen.removeElement(scoreTextLabel);
-        screen.removeElement(scoreLabel);
-        screen.removeElement(accuracyTextLabel);
-        screen.removeElement(accuracyLabel);
-        screen.removeElement(percentTargetsHitTextLabel);
-        screen.removeElement(percentTargetsHitLabel);
-        screen.removeElement(trainingScoreTextLabel);
-        screen.removeElement(trainingScoreLabel);
     }
 
     @Override
     public void update(float tpf) {
-        time += tpf;
         if (time > BACKGROUND_EFFECT_TIME && !statsAdded) {
             background.addChild(scoreTextLabel);
             background.addChild(scoreLabel);
@@ -136,28 +154,25 @@ public class ScoreScreenState extends AbstractAppState {
             statsAdded = true;
         }
         if (time > BACKGROUND_EFFECT_TIME + SCORE_DELAY && !scoreAdded) {
-            scoreSound.playInstance();
+            audioMixer.play(Sound.SCORE);
             background.addChild(trainingScoreTextLabel);
             background.addChild(trainingScoreLabel);
             scoreAdded = true;
         }
+    }
+
+    @Override
+    public void simulate(float step) {
+        time += step;
         if (time > SCORE_TIME) {
             game.doStart();
         }
     }
 
-    private void initSound() {
-        statsSound = new AudioNode(assetManager, "Sounds/stats.wav");
-        statsSound.setPositional(false);
-
-        scoreSound = new AudioNode(assetManager, "Sounds/score.wav");
-        scoreSound.setPositional(false);
-    }
-
     private void initOverlay() {
         colorOverlayProcessor = new FilterPostProcessor(assetManager);
-        ColorOverlayFilter colorOverlay = new ColorOverlayFilter(new ColorRGBA(
-                OVERLAY_INTENSITY, OVERLAY_INTENSITY, OVERLAY_INTENSITY, 1));
+        colorOverlay = new ColorOverlayFilter(new ColorRGBA(OVERLAY_INTENSITY,
+                OVERLAY_INTENSITY, OVERLAY_INTENSITY, 1));
         colorOverlayProcessor.addFilter(colorOverlay);
     }
 
@@ -165,9 +180,6 @@ public class ScoreScreenState extends AbstractAppState {
         background = new Element(screen, "Score Background", Vector2f.ZERO,
                 new Vector2f(settings.getWidth(), settings.getHeight()),
                 Vector4f.ZERO, "Interface/score_background.png");
-        backgroundEffect = new Effect(EffectType.ZoomIn, EffectEvent.Show,
-                BACKGROUND_EFFECT_TIME);
-        backgroundEffect.setElement(background);
     }
 
     private void initScoreScreen() {
@@ -260,19 +272,34 @@ public class ScoreScreenState extends AbstractAppState {
         trainingScoreLabel.setTextVAlign(VAlign.Center);
     }
 
-    public void setStats(GameStats stats) {
+    public void setStats(GameStats[] stats) {
         this.stats = stats;
     }
 
     private void updateStats() {
-        scoreLabel.setText(String.format("%d", stats.getScore()));
-        accuracyLabel.setText(String.format("%d%%",
-                (int) (stats.getAccuracy() * 100)));
-        percentTargetsHitLabel.setText(String.format("%d%%",
-                (int) (stats.getPercentTargetsHit() * 100)));
+        scoreText.setLength(0);
+        accuracyText.setLength(0);
+        percentTargetsHitText.setLength(0);
+        trainingScoreText.setLength(0);
+        for (int i = 0; i < stats.length; i++) {
+            String separator = i > 0 ? PLAYER_SEPARATOR : "";
+            scoreText.append(separator).append(stats[i].getScore());
+            accuracyText.append(separator)
+                    .append((int) (stats[i].getAccuracy() * 100)).append('%');
+            percentTargetsHitText.append(separator)
+                    .append((int) (stats[i].getPercentTargetsHit() * 100))
+                    .append('%');
+            trainingScoreText.append(separator).append(
+                    getTrainingScore(stats[i]));
+        }
+        scoreLabel.setText(scoreText.toString());
+        accuracyLabel.setText(accuracyText.toString());
+        percentTargetsHitLabel.setText(percentTargetsHitText.toString());
+        trainingScoreLabel.setText(trainingScoreText.toString());
+    }
 
-        int trainingScore = (int) Math.round(Math.pow(stats.getAccuracy()
+    private static int getTrainingScore(GameStats stats) {
+        return (int) Math.round(Math.pow(stats.getAccuracy()
                 * stats.getPercentTargetsHit(), 0.7) * 11 + 1);
-        trainingScoreLabel.setText(String.format("%d", trainingScore));
     }
 }
@@ -0,0 +1,105 @@
+package game.state;
+
+import com.jme3.app.state.AbstractAppState;
+
+public class SimulationClock extends AbstractAppState {
+
+    public static interface Listener {
+        void simulate(float step);
+    }
+
+    public static final float STEP = 1f / 120;
+
+    private static final float MAX_FRAME_TIME = 0.25f;
+
+    private Listener[] listeners = new Listener[8];
+    private int listenerCount;
+    private boolean listenersRemoved;
+
+    private boolean paused;
+    private double accumulator;
+    private long tick;
+    private float alpha;
+    private long stateTime;
+
+    public void addListener(Listener listener) {
+        for (int i = 0; i < listenerCount; i++) {
+            if (listeners[i] == listener) {
+                return;
+            }
+        }
+        if (listenerCount == listeners.length) {
+            Listener[] grown = new Listener[listeners.length * 2];
+            System.arraycopy(listeners, 0, grown, 0, listenerCount);
+            listeners = grown;
+        }
+        listeners[listenerCount++] = listener;
+    }
+
+    public void removeListener(Listener listener) {
+        for (int i = 0; i < listenerCount; i++) {
+            if (listeners[i] == listener) {
+                listeners[i] = null;
+                listenersRemoved = true;
+            }
+        }
+    }
+
+    @Override
+    public void update(float tpf) {
+        if (!paused) {
+            accumulator += Math.min(tpf, MAX_FRAME_TIME);
+        }
+        while (accumulator >= STEP) {
+            for (int i = 0; i < listenerCount; i++) {
+                if (listeners[i] != null) {
+                    listeners[i].simulate(STEP);
+                }
+            }
+            accumulator -= STEP;
+            tick++;
+        }
+        alpha = (float) (accumulator / STEP);
+        stateTime = System.nanoTime() - (long) (accumulator * 1e9);
+
+        if (listenersRemoved) {
+            int j = 0;
+            for (int i = 0; i < listenerCount; i++) {
+                if (listeners[i] != null) {
+                    listeners[i - j] = listeners[i];
+                } else {
+                    j++;
+                }
+            }
+            for (int i = listenerCount - j; i < listenerCount; i++) {
+                listeners[i] = null;
+            }
+            listenerCount -= j;
+            listenersRemoved = false;
+        }
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public double getTime() {
+        return tick * (double) STEP;
+    }
+
+    public float getAlpha() {
+        return alpha;
+    }
+
+    public long getStateTime() {
+        return stateTime;
+    }
+}
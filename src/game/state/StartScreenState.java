@@ -12,19 +12,19 @@ import com.jme3.font.BitmapFont.Align;
 import com.jme3.font.BitmapFont.VAlign;
 import com.jme3.font.LineWrapMode;
 import com.jme3.math.ColorRGBA;
+import com.jme3.math.Quaternion;
 import com.jme3.math.Vector2f;
 import com.jme3.math.Vector3f;
 import com.jme3.renderer.Camera;
-import com.jme3.renderer.RenderManager;
 import com.jme3.renderer.ViewPort;
 import com.jme3.renderer.queue.RenderQueue.Bucket;
 import com.jme3.scene.Geometry;
 import com.jme3.scene.Node;
-import com.jme3.scene.control.AbstractControl;
 import com.jme3.scene.shape.Box;
 import com.jme3.system.AppSettings;
 
-public class StartScreenState extends AbstractAppState {
+public class StartScreenState extends AbstractAppState implements
+        SimulationClock.Listener {
 
     private static final ColorRGBA BACKGROUND_COLOR = ColorRGBA.DarkGray;
     private static final ColorRGBA START_TITLE_COLOR = ColorRGBA.White;
@@ -49,6 +49,9 @@ public class StartScreenState extends AbstractAppState {
     private final Camera cam;
     private final ViewPort viewPort;
     private final AppSettings settings;
+    private final SimulationClock clock;
+
+    private Geometry startButton;
 
     private Label startTitleLabel;
     private Label startLabel;
@@ -61,6 +64,27 @@ public class StartScreenState extends AbstractAppState {
         this.cam = game.getCamera();
         this.viewPort = game.getViewPort();
         this.settings = game.getContext().getSettings();
+        this.clock = game.getSimulationClock();
+
+        initStartButton();
+        initStartScreen();
+    }
+
+    @Override
+    public void stateAttached(AppStateManager stateManager) {
+        super.stateAttached(stateManager);
+
+        startButton.setLocalRotation(Quaternion.IDENTITY);
+        targetNode.attachChild(startButton);
+        clock.addListener(this);
+    }
+
+    @Override
+    public void stateDetached(AppStateManager stateManager) {
+        super.stateDetached(stateManager);
+
+        clock.removeListener(this);
+        startButton.removeFromParent();
     }
 
     @Override
@@ -68,11 +92,9 @@ public class StartScreenState extends AbstractAppState {
         super.initialize(stateManager, app);
 
         viewPort.setBackgroundColor(BACKGROUND_COLOR);
-        initStartScreen();
         screen.addElement(startTitleLabel);
         screen.addElement(startLabel);
         screen.addElement(startButtonLabel);
-        initStartButton();
     }
 
     @Override
@@ -127,28 +149,21 @@ public class StartScreenState extends AbstractAppState {
     }
 
     private void initStartButton() {
-        Geometry startButton = new Geometry("Start Button", new Box(1, 1, 1));
+        startButton = new Geometry("Start Button", new Box(1, 1, 1));
         startButton.setMaterial(game.getTargetMat());
         startButton.setQueueBucket(Bucket.Transparent);
         startButton.setLocalTranslation(START_BUTTON_LOCATION);
-        startButton.addControl(new StartButtonControl());
-        targetNode.attachChild(startButton);
+    }
+
+    @Override
+    public void simulate(float step) {
+        startButton.rotate(START_BUTTON_ROTATION.getX() * step,
+                START_BUTTON_ROTATION.getY() * step,
+                START_BUTTON_ROTATION.getZ() * step);
     }
 
     public void hit(CollisionResult collision) {
         collision.getGeometry().removeFromParent();
         game.doGame();
     }
-
-    private class StartButtonControl extends AbstractControl {
-        @Override
-        protected void controlUpdate(float tpf) {
-            Vector3f rotation = START_BUTTON_ROTATION.mult(tpf);
-            spatial.rotate(rotation.getX(), rotation.getY(), rotation.getZ());
-        }
-
-        @Override
-        protected void controlRender(RenderManager rm, ViewPort vp) {
-        }
-    }
 }
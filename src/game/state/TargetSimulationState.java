@@ -0,0 +1,400 @@
+package game.state;
+
+import game.Game;
+import game.mesh.TargetBatchMesh;
+import game.target.Target;
+import game.target.TargetHit;
+import game.target.TargetHitTester;
+import game.target.TargetRendering;
+
+import com.jme3.app.Application;
+import com.jme3.app.state.AbstractAppState;
+import com.jme3.app.state.AppStateManager;
+import com.jme3.bounding.BoundingBox;
+import com.jme3.material.Material;
+import com.jme3.math.FastMath;
+import com.jme3.math.Quaternion;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.queue.RenderQueue.Bucket;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial.CullHint;
+
+public class TargetSimulationState extends AbstractAppState implements
+        SimulationClock.Listener {
+
+    private static final float LIGHT_HEIGHT = 5;
+
+    private static final float UNSPAWNED_Z = 1e6f;
+    private static final float SPAWN_FADE_TIME = 0.25f;
+
+    private final GameRunningState gameRunningState;
+    private final SimulationClock clock;
+    private final Node rootNode;
+    private final TargetRendering rendering;
+    private final float removeZ;
+    private final TargetHitTester hitTester;
+
+    private final Quaternion rotation = new Quaternion();
+    private final Quaternion spin = new Quaternion();
+    private final Vector3f lightPosition = new Vector3f();
+
+    private Target[] targets;
+
+    private float[] posX;
+    private float[] posY;
+    private float[] posZ;
+    private float[] velX;
+    private float[] velY;
+    private float[] velZ;
+    private float[] angX;
+    private float[] angY;
+    private float[] angZ;
+    private float[] rotX;
+    private float[] rotY;
+    private float[] rotZ;
+    private float[] rotW;
+    private float[] prevX;
+    private float[] prevY;
+    private float[] prevZ;
+    private float[] prevRotX;
+    private float[] prevRotY;
+    private float[] prevRotZ;
+    private float[] prevRotW;
+    private long[] spawnTick;
+    private float[] shotX;
+    private float[] shotY;
+    private float[] shotZ;
+
+    private int count;
+    private boolean indexDirty = true;
+
+    private TargetBatchMesh batchMesh;
+    private Geometry batch;
+
+    public TargetSimulationState(Game game, GameRunningState gameRunningState,
+            int capacity, float targetSize) {
+        this.gameRunningState = gameRunningState;
+        this.clock = game.getSimulationClock();
+        this.rootNode = game.getRootNode();
+        this.rendering = game.getTargetRendering();
+        this.removeZ = targetSize;
+
+        float margin = 2 * targetSize;
+        hitTester = new TargetHitTester(targetSize, -game.getRoomX() - margin,
+                -margin, -game.getRoomZ() - margin, game.getRoomX() + margin,
+                game.getRoomY() + margin, margin);
+
+        allocate(capacity);
+
+        if (rendering == TargetRendering.BATCHED) {
+            initBatch(game, capacity, targetSize);
+        }
+    }
+
+    @Override
+    public void initialize(AppStateManager stateManager, Application app) {
+        super.initialize(stateManager, app);
+
+        if (batch != null) {
+            rootNode.attachChild(batch);
+        }
+    }
+
+    @Override
+    public void cleanup() {
+        super.cleanup();
+
+        if (batch != null) {
+            batch.removeFromParent();
+        }
+    }
+
+    @Override
+    public void stateAttached(AppStateManager stateManager) {
+        super.stateAttached(stateManager);
+
+        clock.addListener(this);
+    }
+
+    @Override
+    public void stateDetached(AppStateManager stateManager) {
+        super.stateDetached(stateManager);
+
+        clock.removeListener(this);
+    }
+
+    @Override
+    public void simulate(float step) {
+        System.arraycopy(posX, 0, prevX, 0, count);
+        System.arraycopy(posY, 0, prevY, 0, count);
+        System.arraycopy(posZ, 0, prevZ, 0, count);
+        System.arraycopy(rotX, 0, prevRotX, 0, count);
+        System.arraycopy(rotY, 0, prevRotY, 0, count);
+        System.arraycopy(rotZ, 0, prevRotZ, 0, count);
+        System.arraycopy(rotW, 0, prevRotW, 0, count);
+
+        for (int i = count - 1; i >= 0; i--) {
+            posX[i] += velX[i] * step;
+            posY[i] += velY[i] * step;
+            posZ[i] += velZ[i] * step;
+
+            rotation.set(rotX[i], rotY[i], rotZ[i], rotW[i]);
+            rotation.multLocal(spin.fromAngles(angX[i] * step, angY[i] * step,
+                    angZ[i] * step));
+            rotation.normalizeLocal();
+            rotX[i] = rotation.getX();
+            rotY[i] = rotation.getY();
+            rotZ[i] = rotation.getZ();
+            rotW[i] = rotation.getW();
+
+            if (posZ[i] > removeZ) {
+                gameRunningState.targetEscaped(targets[i]);
+            }
+        }
+        indexDirty = true;
+    }
+
+    @Override
+    public void update(float tpf) {
+        float blend = clock.getAlpha();
+        float keep = 1 - blend;
+        long tick = clock.getTick();
+
+        if (batchMesh != null) {
+            batchMesh.ensureCapacity(count);
+        }
+
+        for (int i = 0; i < count; i++) {
+            float x = prevX[i] * keep + posX[i] * blend;
+            float y = prevY[i] * keep + posY[i] * blend;
+            float z = prevZ[i] * keep + posZ[i] * blend;
+
+            float sign = prevRotX[i] * rotX[i] + prevRotY[i] * rotY[i]
+                    + prevRotZ[i] * rotZ[i] + prevRotW[i] * rotW[i] < 0 ? -1
+                    : 1;
+            rotation.set(prevRotX[i] * keep + rotX[i] * blend * sign,
+                    prevRotY[i] * keep + rotY[i] * blend * sign, prevRotZ[i]
+                            * keep + rotZ[i] * blend * sign, prevRotW[i]
+                            * keep + rotW[i] * blend * sign);
+            rotation.normalizeLocal();
+
+            Target target = targets[i];
+            target.setLocalTranslation(x, y, z);
+            target.setLocalRotation(rotation);
+            target.getLight().setPosition(
+                    lightPosition.set(x, LIGHT_HEIGHT, z));
+
+            if (batchMesh != null) {
+                float age = (tick - spawnTick[i] + blend)
+                        * SimulationClock.STEP;
+                float alpha = FastMath.clamp(age / SPAWN_FADE_TIME, 0, 1);
+                batchMesh.setInstance(i, x, y, z, rotation.getX(),
+                        rotation.getY(), rotation.getZ(), rotation.getW(),
+                        alpha);
+            }
+        }
+
+        if (batchMesh != null) {
+            batchMesh.setInstanceCount(count);
+        }
+    }
+
+    public void add(Target target, Vector3f position, Vector3f velocity,
+            Quaternion orientation, Vector3f angularVelocity) {
+        if (count == targets.length) {
+            grow();
+        }
+
+        int i = count++;
+        indexDirty = true;
+        targets[i] = target;
+        target.setSlot(i);
+
+        posX[i] = position.getX();
+        posY[i] = position.getY();
+        posZ[i] = position.getZ();
+        velX[i] = velocity.getX();
+        velY[i] = velocity.getY();
+        velZ[i] = velocity.getZ();
+        angX[i] = angularVelocity.getX();
+        angY[i] = angularVelocity.getY();
+        angZ[i] = angularVelocity.getZ();
+        rotX[i] = orientation.getX();
+        rotY[i] = orientation.getY();
+        rotZ[i] = orientation.getZ();
+        rotW[i] = orientation.getW();
+        prevX[i] = posX[i];
+        prevY[i] = posY[i];
+        prevZ[i] = posZ[i];
+        prevRotX[i] = rotX[i];
+        prevRotY[i] = rotY[i];
+        prevRotZ[i] = rotZ[i];
+        prevRotW[i] = rotW[i];
+        spawnTick[i] = clock.getTick() + 1;
+
+        if (batch != null) {
+            target.setCullHint(CullHint.Always);
+        }
+        target.setLocalTranslation(position);
+        target.setLocalRotation(orientation);
+        target.getLight().setPosition(
+                lightPosition.set(posX[i], LIGHT_HEIGHT, posZ[i]));
+    }
+
+    public void remove(Target target) {
+        int i = target.getSlot();
+        if (i < 0 || i >= count || targets[i] != target) {
+            return;
+        }
+
+        int last = --count;
+        indexDirty = true;
+        if (i != last) {
+            move(last, i);
+        }
+        targets[last] = null;
+        target.setSlot(-1);
+    }
+
+    public boolean pick(Vector3f origin, Vector3f direction,
+            float timeOffset, TargetHit hit) {
+        float[] x = posX;
+        float[] y = posY;
+        float[] z = posZ;
+        if (timeOffset != 0) {
+            rewind(timeOffset);
+            x = shotX;
+            y = shotY;
+            z = shotZ;
+            hitTester.build(count, x, y, z);
+            indexDirty = true;
+        } else if (indexDirty) {
+            hitTester.build(count, posX, posY, posZ);
+            indexDirty = false;
+        }
+
+        int slot = hitTester.intersect(origin, direction, x, y, z, rotX,
+                rotY, rotZ, rotW, hit.getContactPoint());
+        if (slot < 0) {
+            hit.clear();
+            return false;
+        }
+        hit.set(targets[slot], hitTester.getDistance());
+        return true;
+    }
+
+    private void rewind(float timeOffset) {
+        double shotTime = clock.getTime() + timeOffset;
+        for (int i = 0; i < count; i++) {
+            if (spawnTick[i] * (double) SimulationClock.STEP > shotTime) {
+                shotX[i] = 0;
+                shotY[i] = 0;
+                shotZ[i] = UNSPAWNED_Z;
+            } else {
+                shotX[i] = posX[i] + velX[i] * timeOffset;
+                shotY[i] = posY[i] + velY[i] * timeOffset;
+                shotZ[i] = posZ[i] + velZ[i] * timeOffset;
+            }
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public Target getTarget(int i) {
+        return targets[i];
+    }
+
+    private void move(int from, int to) {
+        targets[to] = targets[from];
+        targets[to].setSlot(to);
+
+        posX[to] = posX[from];
+        posY[to] = posY[from];
+        posZ[to] = posZ[from];
+        velX[to] = velX[from];
+        velY[to] = velY[from];
+        velZ[to] = velZ[from];
+        angX[to] = angX[from];
+        angY[to] = angY[from];
+        angZ[to] = angZ[from];
+        rotX[to] = rotX[from];
+        rotY[to] = rotY[from];
+        rotZ[to] = rotZ[from];
+        rotW[to] = rotW[from];
+        prevX[to] = prevX[from];
+        prevY[to] = prevY[from];
+        prevZ[to] = prevZ[from];
+        prevRotX[to] = prevRotX[from];
+        prevRotY[to] = prevRotY[from];
+        prevRotZ[to] = prevRotZ[from];
+        prevRotW[to] = prevRotW[from];
+        spawnTick[to] = spawnTick[from];
+    }
+
+    private void allocate(int capacity) {
+        targets = new Target[capacity];
+        posX = new float[capacity];
+        posY = new float[capacity];
+        posZ = new float[capacity];
+        velX = new float[capacity];
+        velY = new float[capacity];
+        velZ = new float[capacity];
+        angX = new float[capacity];
+        angY = new float[capacity];
+        angZ = new float[capacity];
+        rotX = new float[capacity];
+        rotY = new float[capacity];
+        rotZ = new float[capacity];
+        rotW = new float[capacity];
+        prevX = new float[capacity];
+        prevY = new float[capacity];
+        prevZ = new float[capacity];
+        prevRotX = new float[capacity];
+        prevRotY = new float[capacity];
+        prevRotZ = new float[capacity];
+        prevRotW = new float[capacity];
+        spawnTick = new long[capacity];
+        shotX = new float[capacity];
+        shotY = new float[capacity];
+        shotZ = new float[capacity];
+    }
+
+    private void grow() {
+        Target[] oldTargets = targets;
+        long[] oldSpawnTick = spawnTick;
+        float[][] old = { posX, posY, posZ, velX, velY, velZ, angX, angY,
+                angZ, rotX, rotY, rotZ, rotW, prevX, prevY, prevZ, prevRotX,
+                prevRotY, prevRotZ, prevRotW };
+
+        allocate(oldTargets.length * 2 + 1);
+
+        float[][] grown = { posX, posY, posZ, velX, velY, velZ, angX, angY,
+                angZ, rotX, rotY, rotZ, rotW, prevX, prevY, prevZ, prevRotX,
+                prevRotY, prevRotZ, prevRotW };
+        System.arraycopy(oldTargets, 0, targets, 0, count);
+        System.arraycopy(oldSpawnTick, 0, spawnTick, 0, count);
+        for (int j = 0; j < old.length; j++) {
+            System.arraycopy(old[j], 0, grown[j], 0, count);
+        }
+    }
+
+    private void initBatch(Game game, int capacity, float targetSize) {
+        float x = game.getRoomX();
+        float y = game.getRoomY();
+        float z = game.getRoomZ();
+        batchMesh = new TargetBatchMesh(capacity, targetSize,
+                new BoundingBox(new Vector3f(0, y / 2, -z / 2), x, y / 2 + 1,
+                        z / 2 + 1));
+
+        Material batchMat = game.getTargetMat().clone();
+        batchMat.setBoolean("UseVertexColor", true);
+
+        batch = new Geometry("Target Batch", batchMesh);
+        batch.setMaterial(batchMat);
+        batch.setQueueBucket(Bucket.Transparent);
+        batch.setCullHint(CullHint.Never);
+    }
+}
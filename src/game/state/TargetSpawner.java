@@ -0,0 +1,120 @@
+package game.state;
+
+import game.mesh.TiledFloor;
+import game.target.Target;
+import game.target.TargetPool;
+
+import java.util.Random;
+
+import com.jme3.light.SpotLight;
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.Quaternion;
+import com.jme3.math.Vector2f;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.Camera;
+import com.jme3.scene.Node;
+
+public class TargetSpawner {
+
+    private static final float START_PADDING = 3;
+    private static final float END_PADDING = 4;
+    private static final float SPEED = 25;
+
+    private final TargetPool pool;
+    private final TargetSimulationState simulation;
+    private final TiledFloor floor;
+    private final Node targetNode;
+    private final ColorRGBA lightColor;
+    private final boolean lights;
+    private final Random random;
+
+    private final Quaternion rotation = new Quaternion();
+    private final Vector3f start = new Vector3f();
+    private final Vector3f end = new Vector3f();
+    private final Vector3f velocity = new Vector3f();
+    private final Vector3f spin = new Vector3f();
+
+    private float startXMin;
+    private float startXMax;
+    private float startYMin;
+    private float startYMax;
+    private float startZMin;
+    private float startZMax;
+    private float endX;
+    private float endYMin;
+    private float endYMax;
+    private float endZ;
+
+    public TargetSpawner(TargetPool pool, TargetSimulationState simulation,
+            TiledFloor floor, Node targetNode, ColorRGBA lightColor,
+            boolean lights, Random random) {
+        this.pool = pool;
+        this.simulation = simulation;
+        this.floor = floor;
+        this.targetNode = targetNode;
+        this.lightColor = lightColor;
+        this.lights = lights;
+        this.random = random;
+    }
+
+    public void initBounds(Camera cam, int roomX, int roomZ, int height) {
+        startZMin = -roomZ + START_PADDING;
+        startZMax = -((roomX * cam.getFrustumNear() / cam.getFrustumRight())
+                - 1) - START_PADDING;
+
+        startXMin = -roomX + START_PADDING;
+        startXMax = roomX - START_PADDING;
+
+        startYMin = START_PADDING;
+        startYMax = cam.getWorldCoordinates(new Vector2f(0, height),
+                cam.getViewToProjectionZ(-startZMax + 1)).getY()
+                - START_PADDING;
+
+        endX = END_PADDING;
+
+        endYMin = cam.getWorldCoordinates(new Vector2f(0, 0), 0).getY();
+        endYMax = cam.getWorldCoordinates(new Vector2f(0, height), 0).getY();
+
+        endZ = 0;
+    }
+
+    public Target spawn() {
+        Target target = pool.acquire();
+
+        float startX = (random.nextFloat() * (startXMax - startXMin))
+                + startXMin;
+        float startY = (random.nextFloat() * (startYMax - startYMin))
+                + startYMin;
+        float startZ = (random.nextFloat() * (startZMax - startZMin))
+                + startZMin;
+        start.set(startX, startY, startZ);
+
+        float x = random.nextBoolean() ? endX : -endX;
+        float y = (random.nextFloat() * (endYMax - endYMin)) + endYMin;
+        end.set(x, y, endZ);
+
+        rotation.fromAngles(random.nextFloat(), random.nextFloat(),
+                random.nextFloat());
+
+        velocity.set(end).subtractLocal(start).normalizeLocal()
+                .multLocal(SPEED);
+        spin.set(random.nextFloat(), random.nextFloat(), random.nextFloat());
+
+        SpotLight light = target.getLight();
+        light.setColor(lightColor);
+        simulation.add(target, start, velocity, rotation, spin);
+
+        if (lights) {
+            floor.addTargetLight(light);
+        }
+        targetNode.attachChild(target);
+        return target;
+    }
+
+    public void remove(Target target) {
+        simulation.remove(target);
+        floor.removeTargetLight(target.getLight());
+        target.removeFromParent();
+        pool.release(target);
+    }
+}
@@ -0,0 +1,124 @@
+package game.target;
+
+import com.jme3.effect.ParticleEmitter;
+import com.jme3.effect.ParticleMesh;
+import com.jme3.material.Material;
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Node;
+
+public class DebrisPool {
+
+    private static final int PARTICLES = 8;
+
+    private final Node parent;
+    private final ParticleEmitter[] emitters;
+    private final long[] bursts;
+    private final int[] free;
+    private int freeCount;
+
+    private long burstCount;
+    private int steals;
+
+    public DebrisPool(int capacity, Material material, ColorRGBA color,
+            Node parent) {
+        this.parent = parent;
+
+        emitters = new ParticleEmitter[capacity];
+        bursts = new long[capacity];
+        free = new int[capacity];
+        ColorRGBA endColor = new ColorRGBA(color.getRed(), color.getGreen(),
+                color.getBlue(), 0.1f);
+        for (int i = 0; i < capacity; i++) {
+            emitters[i] = createEmitter(material, color, endColor);
+            free[freeCount++] = i;
+        }
+    }
+
+    private static ParticleEmitter createEmitter(Material material,
+            ColorRGBA startColor, ColorRGBA endColor) {
+        ParticleEmitter debris = new ParticleEmitter("Debris",
+                ParticleMesh.Type.Triangle, PARTICLES);
+        debris.setMaterial(material);
+
+        debris.setImagesX(10);
+        debris.setImagesY(1);
+        debris.setSelectRandomImage(true);
+
+        debris.setParticlesPerSec(0);
+
+        debris.setStartSize(0.75f);
+        debris.setEndSize(1.25f);
+
+        debris.setStartColor(startColor);
+        debris.setEndColor(endColor);
+
+        debris.getParticleInfluencer()
+                .setInitialVelocity(new Vector3f(2, 4, 0));
+        debris.getParticleInfluencer().setVelocityVariation(1);
+
+        debris.setLowLife(0.7f);
+        debris.setHighLife(1.4f);
+
+        debris.setRotateSpeed(3);
+        debris.setRandomAngle(true);
+
+        debris.setGravity(0, 10, 0);
+        return debris;
+    }
+
+    public void emit(Vector3f location) {
+        int index;
+        if (freeCount > 0) {
+            index = free[--freeCount];
+        } else {
+            index = oldest();
+            steals++;
+        }
+        ParticleEmitter debris = emitters[index];
+        debris.killAllParticles();
+        debris.setLocalTranslation(location);
+        if (debris.getParent() != parent) {
+            parent.attachChild(debris);
+        }
+        debris.emitAllParticles();
+        bursts[index] = ++burstCount;
+    }
+
+    public void update() {
+        for (int i = 0; i < emitters.length; i++) {
+            ParticleEmitter debris = emitters[i];
+            if (debris.getParent() == parent
+                    && debris.getNumVisibleParticles() == 0) {
+                parent.detachChild(debris);
+                free[freeCount++] = i;
+            }
+        }
+    }
+
+    private int oldest() {
+        int oldest = 0;
+        for (int i = 1; i < emitters.length; i++) {
+            if (bursts[i] < bursts[oldest]) {
+                oldest = i;
+            }
+        }
+        return oldest;
+    }
+
+    public int getSize() {
+        return emitters.length;
+    }
+
+    public int getFree() {
+        return freeCount;
+    }
+
+    public long getBursts() {
+        return burstCount;
+    }
+
+    public int getSteals() {
+        return steals;
+    }
+}
@@ -0,0 +1,58 @@
+package game.target;
+
+import com.jme3.light.SpotLight;
+import com.jme3.math.FastMath;
+import com.jme3.math.Quaternion;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.Spatial.CullHint;
+
+public class Target extends Geometry {
+
+    private static final float LIGHT_RANGE = 6;
+    private static final float LIGHT_INNER_ANGLE = 15 * FastMath.DEG_TO_RAD;
+    private static final float LIGHT_OUTER_ANGLE = 30 * FastMath.DEG_TO_RAD;
+
+    private final SpotLight light = new SpotLight();
+
+    private boolean active;
+    private int slot = -1;
+
+    public Target(String name, Mesh mesh) {
+        super(name, mesh);
+
+        light.setSpotRange(LIGHT_RANGE);
+        light.setSpotInnerAngle(LIGHT_INNER_ANGLE);
+        light.setSpotOuterAngle(LIGHT_OUTER_ANGLE);
+        light.setDirection(new Vector3f(0, -1, 0));
+    }
+
+    public SpotLight getLight() {
+        return light;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    void reset() {
+        setCullHint(CullHint.Inherit);
+        setLocalTranslation(Vector3f.ZERO);
+        setLocalRotation(Quaternion.IDENTITY);
+        slot = -1;
+        light.setPosition(Vector3f.ZERO);
+    }
+}
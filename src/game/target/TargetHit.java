@@ -0,0 +1,33 @@
+package game.target;
+
+import com.jme3.math.Vector3f;
+
+public class TargetHit {
+
+    private final Vector3f contactPoint = new Vector3f();
+
+    private Target target;
+    private float distance;
+
+    public Target getTarget() {
+        return target;
+    }
+
+    public float getDistance() {
+        return distance;
+    }
+
+    public Vector3f getContactPoint() {
+        return contactPoint;
+    }
+
+    public void set(Target target, float distance) {
+        this.target = target;
+        this.distance = distance;
+    }
+
+    public void clear() {
+        target = null;
+        distance = Float.POSITIVE_INFINITY;
+    }
+}
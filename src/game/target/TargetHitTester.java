@@ -0,0 +1,343 @@
+package game.target;
+
+import com.jme3.math.FastMath;
+import com.jme3.math.Vector3f;
+
+public class TargetHitTester {
+
+    private static final float EPSILON = 1e-6f;
+
+    private final float halfSize;
+    private final float radius;
+
+    private final float minX;
+    private final float minY;
+    private final float minZ;
+    private final float maxX;
+    private final float maxY;
+    private final float maxZ;
+    private final float cellSize;
+    private final int cellsX;
+    private final int cellsY;
+    private final int cellsZ;
+
+    private final int[] cellHead;
+    private int[] touchedCells;
+    private int touchedCount;
+
+    private int[] entryNext;
+    private int[] entrySlot;
+    private int entryCount;
+
+    private int[] overflow;
+    private int overflowCount;
+
+    private int[] stamps;
+    private int stamp;
+
+    private float clipEnter;
+    private float clipExit;
+
+    private float distance;
+
+    public TargetHitTester(float halfSize, float minX, float minY,
+            float minZ, float maxX, float maxY, float maxZ) {
+        this.halfSize = halfSize;
+        this.radius = halfSize * FastMath.sqrt(3);
+
+        this.cellSize = 2 * radius;
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.cellsX = cells(minX, maxX);
+        this.cellsY = cells(minY, maxY);
+        this.cellsZ = cells(minZ, maxZ);
+        this.maxX = minX + cellsX * cellSize;
+        this.maxY = minY + cellsY * cellSize;
+        this.maxZ = minZ + cellsZ * cellSize;
+
+        cellHead = new int[cellsX * cellsY * cellsZ];
+        for (int i = 0; i < cellHead.length; i++) {
+            cellHead[i] = -1;
+        }
+        touchedCells = new int[16];
+        entryNext = new int[16];
+        entrySlot = new int[16];
+        overflow = new int[16];
+        stamps = new int[16];
+    }
+
+    public void build(int count, float[] posX, float[] posY, float[] posZ) {
+        for (int i = 0; i < touchedCount; i++) {
+            cellHead[touchedCells[i]] = -1;
+        }
+        touchedCount = 0;
+        entryCount = 0;
+        overflowCount = 0;
+
+        if (stamps.length < count) {
+            stamps = new int[count * 2];
+            overflow = new int[count * 2];
+            stamp = 0;
+        }
+
+        for (int slot = 0; slot < count; slot++) {
+            int x0 = cell(posX[slot] - radius, minX);
+            int y0 = cell(posY[slot] - radius, minY);
+            int z0 = cell(posZ[slot] - radius, minZ);
+            int x1 = cell(posX[slot] + radius, minX);
+            int y1 = cell(posY[slot] + radius, minY);
+            int z1 = cell(posZ[slot] + radius, minZ);
+            if (x0 < 0 || y0 < 0 || z0 < 0 || x1 >= cellsX || y1 >= cellsY
+                    || z1 >= cellsZ) {
+                overflow[overflowCount++] = slot;
+                continue;
+            }
+            for (int x = x0; x <= x1; x++) {
+                for (int y = y0; y <= y1; y++) {
+                    for (int z = z0; z <= z1; z++) {
+                        insert((x * cellsY + y) * cellsZ + z, slot);
+                    }
+                }
+            }
+        }
+    }
+
+    public int intersect(Vector3f origin, Vector3f direction, float[] posX,
+            float[] posY, float[] posZ, float[] rotX, float[] rotY,
+            float[] rotZ, float[] rotW, Vector3f contactPoint) {
+        float ox = origin.getX();
+        float oy = origin.getY();
+        float oz = origin.getZ();
+        float dx = direction.getX();
+        float dy = direction.getY();
+        float dz = direction.getZ();
+
+        if (++stamp == 0) {
+            for (int i = 0; i < stamps.length; i++) {
+                stamps[i] = 0;
+            }
+            stamp = 1;
+        }
+
+        int best = -1;
+        float bestT = Float.POSITIVE_INFINITY;
+
+        for (int i = 0; i < overflowCount; i++) {
+            int slot = overflow[i];
+            float t = intersectBox(ox, oy, oz, dx, dy, dz, posX[slot],
+                    posY[slot], posZ[slot], rotX[slot], rotY[slot],
+                    rotZ[slot], rotW[slot]);
+            if (t >= 0 && t < bestT) {
+                best = slot;
+                bestT = t;
+            }
+        }
+
+        clipEnter = 0;
+        clipExit = Float.POSITIVE_INFINITY;
+        if (!clip(ox, dx, minX, maxX) || !clip(oy, dy, minY, maxY)
+                || !clip(oz, dz, minZ, maxZ)) {
+            return finish(best, bestT, origin, direction, contactPoint);
+        }
+        float tEnter = clipEnter;
+        float tExit = clipExit;
+
+        int x = clamp(cell(ox + dx * tEnter, minX), cellsX);
+        int y = clamp(cell(oy + dy * tEnter, minY), cellsY);
+        int z = clamp(cell(oz + dz * tEnter, minZ), cellsZ);
+
+        int stepX = dx > 0 ? 1 : -1;
+        int stepY = dy > 0 ? 1 : -1;
+        int stepZ = dz > 0 ? 1 : -1;
+        float deltaX = Math.abs(dx) > EPSILON ? cellSize / Math.abs(dx)
+                : Float.POSITIVE_INFINITY;
+        float deltaY = Math.abs(dy) > EPSILON ? cellSize / Math.abs(dy)
+                : Float.POSITIVE_INFINITY;
+        float deltaZ = Math.abs(dz) > EPSILON ? cellSize / Math.abs(dz)
+                : Float.POSITIVE_INFINITY;
+        float nextX = boundary(ox, dx, minX, x, stepX);
+        float nextY = boundary(oy, dy, minY, y, stepY);
+        float nextZ = boundary(oz, dz, minZ, z, stepZ);
+
+        while (true) {
+            int e = cellHead[(x * cellsY + y) * cellsZ + z];
+            for (; e >= 0; e = entryNext[e]) {
+                int slot = entrySlot[e];
+                if (stamps[slot] == stamp) {
+                    continue;
+                }
+                stamps[slot] = stamp;
+                float t = intersectBox(ox, oy, oz, dx, dy, dz, posX[slot],
+                        posY[slot], posZ[slot], rotX[slot], rotY[slot],
+                        rotZ[slot], rotW[slot]);
+                if (t >= 0 && t < bestT) {
+                    best = slot;
+                    bestT = t;
+                }
+            }
+
+            float cellExit = Math.min(nextX, Math.min(nextY, nextZ));
+            if (bestT <= cellExit || cellExit > tExit) {
+                break;
+            }
+            if (nextX <= nextY && nextX <= nextZ) {
+                x += stepX;
+                nextX += deltaX;
+                if (x < 0 || x >= cellsX) {
+                    break;
+                }
+            } else if (nextY <= nextZ) {
+                y += stepY;
+                nextY += deltaY;
+                if (y < 0 || y >= cellsY) {
+                    break;
+                }
+            } else {
+                z += stepZ;
+                nextZ += deltaZ;
+                if (z < 0 || z >= cellsZ) {
+                    break;
+                }
+            }
+        }
+
+        return finish(best, bestT, origin, direction, contactPoint);
+    }
+
+    public float getDistance() {
+        return distance;
+    }
+
+    private int finish(int best, float bestT, Vector3f origin,
+            Vector3f direction, Vector3f contactPoint) {
+        distance = bestT;
+        if (best >= 0) {
+            contactPoint.set(direction).multLocal(bestT).addLocal(origin);
+        }
+        return best;
+    }
+
+    private float intersectBox(float ox, float oy, float oz, float dx,
+            float dy, float dz, float cx, float cy, float cz, float qx,
+            float qy, float qz, float qw) {
+        float xx = qx * qx;
+        float yy = qy * qy;
+        float zz = qz * qz;
+        float xy = qx * qy;
+        float xz = qx * qz;
+        float yz = qy * qz;
+        float wx = qw * qx;
+        float wy = qw * qy;
+        float wz = qw * qz;
+
+        float px = cx - ox;
+        float py = cy - oy;
+        float pz = cz - oz;
+
+        float tMin = Float.NEGATIVE_INFINITY;
+        float tMax = Float.POSITIVE_INFINITY;
+
+        for (int axis = 0; axis < 3; axis++) {
+            float ax;
+            float ay;
+            float az;
+            if (axis == 0) {
+                ax = 1 - 2 * (yy + zz);
+                ay = 2 * (xy + wz);
+                az = 2 * (xz - wy);
+            } else if (axis == 1) {
+                ax = 2 * (xy - wz);
+                ay = 1 - 2 * (xx + zz);
+                az = 2 * (yz + wx);
+            } else {
+                ax = 2 * (xz + wy);
+                ay = 2 * (yz - wx);
+                az = 1 - 2 * (xx + yy);
+            }
+
+            float e = ax * px + ay * py + az * pz;
+            float f = ax * dx + ay * dy + az * dz;
+            if (Math.abs(f) > EPSILON) {
+                float t1 = (e + halfSize) / f;
+                float t2 = (e - halfSize) / f;
+                if (t1 > t2) {
+                    float swap = t1;
+                    t1 = t2;
+                    t2 = swap;
+                }
+                if (t1 > tMin) {
+                    tMin = t1;
+                }
+                if (t2 < tMax) {
+                    tMax = t2;
+                }
+                if (tMin > tMax || tMax < 0) {
+                    return -1;
+                }
+            } else if (-e - halfSize > 0 || -e + halfSize < 0) {
+                return -1;
+            }
+        }
+
+        return tMin > 0 ? tMin : tMax;
+    }
+
+    private boolean clip(float o, float d, float min, float max) {
+        if (Math.abs(d) < EPSILON) {
+            return o >= min && o <= max;
+        }
+        float t1 = (min - o) / d;
+        float t2 = (max - o) / d;
+        if (t1 > t2) {
+            float swap = t1;
+            t1 = t2;
+            t2 = swap;
+        }
+        clipEnter = Math.max(clipEnter, t1);
+        clipExit = Math.min(clipExit, t2);
+        return clipEnter <= clipExit;
+    }
+
+    private float boundary(float o, float d, float min, int cell, int step) {
+        if (Math.abs(d) <= EPSILON) {
+            return Float.POSITIVE_INFINITY;
+        }
+        float edge = min + (step > 0 ? cell + 1 : cell) * cellSize;
+        return (edge - o) / d;
+    }
+
+    private int cells(float min, float max) {
+        return Math.max(1, (int) FastMath.ceil((max - min) / cellSize));
+    }
+
+    private int cell(float value, float min) {
+        return (int) FastMath.floor((value - min) / cellSize);
+    }
+
+    private static int clamp(int cell, int cells) {
+        return cell < 0 ? 0 : cell >= cells ? cells - 1 : cell;
+    }
+
+    private void insert(int cell, int slot) {
+        if (entryCount == entrySlot.length) {
+            int[] next = new int[entryCount * 2];
+            int[] slots = new int[entryCount * 2];
+            System.arraycopy(entryNext, 0, next, 0, entryCount);
+            System.arraycopy(entrySlot, 0, slots, 0, entryCount);
+            entryNext = next;
+            entrySlot = slots;
+        }
+        if (cellHead[cell] < 0) {
+            if (touchedCount == touchedCells.length) {
+                int[] touched = new int[touchedCount * 2];
+                System.arraycopy(touchedCells, 0, touched, 0, touchedCount);
+                touchedCells = touched;
+            }
+            touchedCells[touchedCount++] = cell;
+        }
+        entrySlot[entryCount] = slot;
+        entryNext[entryCount] = cellHead[cell];
+        cellHead[cell] = entryCount++;
+    }
+}
@@ -0,0 +1,80 @@
+package game.target;
+
+import com.jme3.material.Material;
+import com.jme3.renderer.queue.RenderQueue.Bucket;
+import com.jme3.scene.shape.Box;
+
+public class TargetPool {
+
+    private final Box mesh;
+    private final Material material;
+
+    private Target[] free;
+    private int freeCount;
+    private int size;
+
+    private int hits;
+    private int misses;
+
+    public TargetPool(int capacity, float targetSize, Material material) {
+        this.mesh = new Box(targetSize, targetSize, targetSize);
+        this.material = material;
+
+        free = new Target[capacity];
+        for (int i = 0; i < capacity; i++) {
+            free[freeCount++] = createTarget();
+        }
+    }
+
+    private Target createTarget() {
+        Target target = new Target("Target", mesh);
+        target.setMaterial(material);
+        target.setQueueBucket(Bucket.Transparent);
+        size++;
+        return target;
+    }
+
+    public Target acquire() {
+        Target target;
+        if (freeCount > 0) {
+            target = free[--freeCount];
+            free[freeCount] = null;
+            hits++;
+        } else {
+            target = createTarget();
+            misses++;
+        }
+        target.setActive(true);
+        return target;
+    }
+
+    public void release(Target target) {
+        if (!target.isActive()) {
+            return;
+        }
+        target.setActive(false);
+        target.reset();
+        if (freeCount == free.length) {
+            Target[] grown = new Target[free.length * 2 + 1];
+            System.arraycopy(free, 0, grown, 0, freeCount);
+            free = grown;
+        }
+        free[freeCount++] = target;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getFree() {
+        return freeCount;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+}
@@ -0,0 +1,5 @@
+package game.target;
+
+public enum TargetRendering {
+    GEOMETRY, BATCHED
+}